@@ -2,6 +2,7 @@ package com.pi.core_auth.core.dtos;
 
 import com.pi.core_auth.core.enums.CommandType;
 import com.pi.utils.constants.Command;
+import com.pi.utils.constants.Request;
 import com.pi.core_auth.core.utils.validations.Validate;
 import com.pi.utils.enums.SystemCodeEnum;
 import com.pi.utils.exceptions.GlobalException;
@@ -18,14 +19,16 @@ public record CommandDto(
         String login,
         String code,
         String password,
-        String anonymousToken
+        String anonymousToken,
+        String keyLive,
+        Integer count
 ) implements IGValidationDto<Map<String, Object>> {
     private static final Logger LOG = LoggerFactory.getLogger(CommandDto.class);
     private static final String LOG_MESSAGE_FORMAT = "CommandDto - {} - : {}.";
 
     @Override
     public Map<String, Object> validate() throws GlobalException {
-        LOG.info(LOG_MESSAGE_FORMAT, commandType, this);
+        LOG.debug(LOG_MESSAGE_FORMAT, commandType, this);
         Validate.command(commandType);
 
         return switch (Utils.ifEnumGet(commandType, CommandType.class)) {
@@ -44,6 +47,15 @@ public record CommandDto(
             case COMMAND_POST_ANONYMOUS_TOKEN -> {
                 yield  Map.of();
             }
+            case COMMAND_POST_PUPIL_TOKEN -> {
+                Validate.keyLive(keyLive);
+                yield Map.of(Request.KEY_LIVE, keyLive);
+            }
+            case COMMAND_POST_PUPIL_TOKENS -> {
+                Validate.keyLive(keyLive);
+                Validate.count(count, Integer.MAX_VALUE);
+                yield Map.of(Request.KEY_LIVE, keyLive, Command.COUNT, count);
+            }
             default -> {
                 LOG.error("{} - Invalid command type.", SystemCodeEnum.C030PI.name());
                 throw GlobalException.builder()
@@ -64,6 +76,8 @@ public record CommandDto(
         private String code;
         private String password;
         private String anonymousToken;
+        private String keyLive;
+        private Integer count;
 
         public Builder commandType(String commandType) {
             this.commandType = commandType;
@@ -90,8 +104,18 @@ public record CommandDto(
             return this;
         }
 
+        public Builder keyLive(String keyLive) {
+            this.keyLive = keyLive;
+            return this;
+        }
+
+        public Builder count(Integer count) {
+            this.count = count;
+            return this;
+        }
+
         public CommandDto build() {
-            return new CommandDto(commandType, login, code, password, anonymousToken);
+            return new CommandDto(commandType, login, code, password, anonymousToken, keyLive, count);
         }
     }
 }
@@ -34,6 +34,24 @@ public enum CommandType {
     COMMAND_POST_ANONYMOUS_TOKEN(
         "Post an anonymous token. Use this command to provide guest access.",
         EnumSet.of(ScopeType.ANONYMOUS)
+    ),
+
+    /**
+     * Command to post a pupil token of a live.
+     * Suggested for use when a pupil joins a live, the token is only accepted on that live.
+     */
+    COMMAND_POST_PUPIL_TOKEN(
+        "Post a pupil token of a live. Use this command to join a live as a guest pupil.",
+        EnumSet.of(ScopeType.ANONYMOUS)
+    ),
+
+    /**
+     * Command to post the pupil tokens of a whole lobby.
+     * Suggested for use by a teacher before a live, to hand out the sessions of the class.
+     */
+    COMMAND_POST_PUPIL_TOKENS(
+        "Post the pupil tokens of a live. Use this command to prepare the sessions of a class.",
+        EnumSet.of(ScopeType.TEACHER)
     );
 
     private final String description;
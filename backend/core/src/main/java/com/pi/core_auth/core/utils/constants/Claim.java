@@ -23,4 +23,10 @@ public class Claim {
      * Used to verify the identity of the user associated with the token.
      */
     public static final String CODE = "code";
+
+    /**
+     * The claim key representing the key of the live of a pupil token.
+     * The token is only accepted on the commands of this live.
+     */
+    public static final String LIVE = "live";
 }
@@ -37,4 +37,16 @@ public class Router {
      * This route points to the "/auth/v1/post/anonymous/token" endpoint.
      */
     public static final String ROUTER_POST_ANONYMOUS_TOKEN = "/auth/v1/post/anonymous/token";
+
+    /**
+     * The route for postPupilToken.
+     * This route points to the "/auth/v1/post/pupil/token" endpoint.
+     */
+    public static final String ROUTER_POST_PUPIL_TOKEN = "/auth/v1/post/pupil/token";
+
+    /**
+     * The route for postPupilTokens.
+     * This route points to the "/auth/v1/post/pupil/tokens" endpoint.
+     */
+    public static final String ROUTER_POST_PUPIL_TOKENS = "/auth/v1/post/pupil/tokens";
 }
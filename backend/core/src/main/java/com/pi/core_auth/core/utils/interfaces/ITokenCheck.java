@@ -2,6 +2,7 @@ package com.pi.core_auth.core.utils.interfaces;
 
 import com.pi.core_auth.core.dtos.QueryDto;
 import com.pi.core_auth.core.enums.QueryType;
+import com.pi.core_auth.core.utils.models.Response;
 import com.pi.core_auth.usecases.CaseGetScopeToken;
 import com.pi.utils.enums.SystemCodeEnum;
 import com.pi.utils.exceptions.GlobalException;
@@ -20,7 +21,8 @@ public interface ITokenCheck {
      * Checks that the credentials are valid.
      *
      * <p>This method creates an instance of {@link CaseGetScopeToken} and calls it to obtain the
-     * teacher's login and code. It then calls the {@link #checkLogin(String, String)} and
+     * teacher's login and code, from the token already verified for the current request when it is
+     * the same one, otherwise through the decoder. It then calls the {@link #checkLogin(String, String)} and
      * {@link #checkCode(String, String)} methods to verify that the credentials are valid.
      *
      * @param jwtDecoder the JwtDecoder to use for validating the JWT token.
@@ -42,6 +44,81 @@ public interface ITokenCheck {
         checkCode(response.code, code);
     }
 
+    /**
+     * Checks that the credentials are valid on a live.
+     *
+     * <p>As {@link #checkCredentials(JwtDecoder, String, String, String)}, and the token must also be a
+     * token of this live when it is the token of a pupil of a live.
+     *
+     * @param jwtDecoder the JwtDecoder to use for validating the JWT token.
+     * @param token the JWT token to validate.
+     * @param login the login
+     * @param code the code
+     * @param keyLive the key of the live of the command
+     *
+     * @throws GlobalException if the credentials are invalid.
+     */
+    default void checkCredentials(JwtDecoder jwtDecoder, String token, String login, String code, String keyLive) throws GlobalException {
+        var useCase = new CaseGetScopeToken(jwtDecoder);
+        var caseDto = QueryDto.builder()
+                .queryType(QueryType.QUERY_GET_SCOPE_TOKEN.name())
+                .token(token)
+                .build();
+        useCase.setQueryDto(caseDto);
+        checkCredentials(useCase.call(), login, code, keyLive);
+    }
+
+    /**
+     * Checks that the credentials are valid against a token already decoded.
+     *
+     * <p>Used by connections that authenticate once, like the live channel, so the token
+     * is not decoded again on each command.</p>
+     *
+     * @param credentials the scope, login and code decoded from the token.
+     * @param login the login
+     * @param code the code
+     *
+     * @throws GlobalException if the credentials are invalid.
+     */
+    default void checkCredentials(Response credentials, String login, String code) throws GlobalException {
+        checkLogin(credentials.login, login);
+        checkCode(credentials.code, code);
+    }
+
+    /**
+     * Checks that the credentials are valid on a live against a token already decoded.
+     *
+     * @param credentials the scope, login, code and live decoded from the token.
+     * @param login the login
+     * @param code the code
+     * @param keyLive the key of the live of the command
+     *
+     * @throws GlobalException if the credentials are invalid.
+     */
+    default void checkCredentials(Response credentials, String login, String code, String keyLive) throws GlobalException {
+        checkCredentials(credentials, login, code);
+        checkLive(credentials.live, keyLive);
+    }
+
+    /**
+     * Checks that a pupil token is used on its live.
+     *
+     * <p>The tokens without a live, of the users and the anonymous sessions, are accepted on any live.<p/>
+     *
+     * @param currentLive the live of the token, or null
+     * @param keyLive the key of the live of the command
+     *
+     * @throws GlobalException if the token is of another live
+     */
+    default void checkLive(String currentLive, String keyLive) {
+        if (currentLive != null && !currentLive.equals(keyLive))
+            throw GlobalException.builder()
+                    .status(403)
+                    .details("Live is not match token")
+                    .alert(new CustomAlert(SystemCodeEnum.C003PI))
+                    .build();
+    }
+
     /**
      * Checks that the login is valid.
      *
@@ -1,9 +1,11 @@
 package com.pi.core_auth.core.utils.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.pi.core_auth.core.enums.ScopeType;
 import com.pi.core_auth.core.enums.StatusType;
 
+import java.time.Instant;
 import java.util.EnumSet;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -28,6 +30,17 @@ public class Response {
      */
     public StatusType status;
 
+    /**
+     * The key of the live of a pupil token, the only live it is accepted on.
+     */
+    public String live;
+
+    /**
+     * The instant the token expires, for the connections that outlive the request of the token.
+     */
+    @JsonIgnore
+    public Instant expiresAt;
+
     /**
      * Constructor for the Response class.
      *
@@ -38,6 +51,8 @@ public class Response {
         this.login = builder.login;
         this.code = builder.code;
         this.status = builder.status;
+        this.live = builder.live;
+        this.expiresAt = builder.expiresAt;
     }
 
     /**
@@ -57,6 +72,8 @@ public class Response {
         private String login;
         private String code;
         private StatusType status;
+        private String live;
+        private Instant expiresAt;
 
         public Builder scope(EnumSet<ScopeType> scope) {
             this.scope = scope;
@@ -78,6 +95,16 @@ public class Response {
             return this;
         }
 
+        public Builder live(String live) {
+            this.live = live;
+            return this;
+        }
+
+        public Builder expiresAt(Instant expiresAt) {
+            this.expiresAt = expiresAt;
+            return this;
+        }
+
         public Response build() {
             return new Response(this);
         }
@@ -31,7 +31,7 @@ public class Validate extends ValidationCommon {
     }
 
     public static void command(String command) {
-        LOG.info("Init auth validate command format: {}", command);
+        LOG.debug("Init auth validate command format: {}", command);
         if (ObjectUtils.isEmpty(command) || EnumSet.allOf(CommandType.class).stream().noneMatch(c -> c.name().equals(command))) {
             LOG.warn("{} - Invalid command type.", SystemCodeEnum.C030PI.name());
             throw GlobalException.builder()
@@ -40,4 +40,27 @@ public class Validate extends ValidationCommon {
                     .build();
         }
     }
+
+    public static void keyLive(String keyLive) {
+        LOG.debug("Init auth validate keyLive format: {}", keyLive);
+        if (ObjectUtils.isEmpty(keyLive)) {
+            LOG.warn("{} - Invalid keyLive.", SystemCodeEnum.C034PI.name());
+            throw GlobalException.builder()
+                    .status(400)
+                    .alert(new CustomAlert(SystemCodeEnum.C034PI))
+                    .build();
+        }
+    }
+
+    public static void count(Integer count, int max) {
+        LOG.debug("Init auth validate count format: {}", count);
+        if (count == null || count < 1 || count > max) {
+            LOG.warn("{} - Invalid count.", SystemCodeEnum.C035PI.name());
+            throw GlobalException.builder()
+                    .status(400)
+                    .alert(new CustomAlert(SystemCodeEnum.C035PI))
+                    .details("Count must be between 1 and " + max)
+                    .build();
+        }
+    }
 }
@@ -18,13 +18,16 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 
+import java.util.List;
+
 /**
  * Interface for handling authentication-related commands.
  * <p>
  * This interface defines the contract for executing authentication-related
- * operations, such as generating tokens for sign-in or anonymous access.
+ * operations, such as generating tokens for sign-in, anonymous access or the pupils of a live.
  * </p>
  */
 @Tag(name = "Auth Commands: port In")
@@ -224,4 +227,157 @@ public interface IAuthCommandIn {
     ResponseEntity<Token> postAnonymousToken(
             @PathVariable(name = Request.COMMAND_TYPE) String commandType
     ) throws GlobalException;
+
+    /**
+     * Generates the token of a pupil joining a live.
+     * <p>
+     * This endpoint is used to join a live as a guest pupil. The command type must be
+     * {@code COMMAND_POST_PUPIL_TOKEN}. The token is signed with HMAC-SHA256, so it is made and
+     * verified in microseconds, and it is only accepted on the commands of the given live.
+     * </p>
+     * <p>
+     * Example Request Body Parts JSON:
+     * <pre>
+     * {
+     *     "keyLive": "Live-ABC123-login#code"
+     * }
+     * </pre>
+     * </p>
+     *
+     * @param commandType the type of command being executed, must be {@code COMMAND_POST_PUPIL_TOKEN}
+     * @param keyLive the key of the live the pupil joins
+     * @return a {@link ResponseEntity} containing the generated token details
+     * @throws GlobalException if an error occurs
+     */
+    @Operation(
+            description = """
+            ### Generate Token of a pupil of a live
+            Use this endpoint to join a live as a guest pupil, the token is only accepted on that live.
+            - The commandType must be COMMAND_POST_PUPIL_TOKEN.
+            - The keyLive must be the key of the live.
+
+            **Example Path JSON:**
+            ```json
+            {
+                path: "/auth/v1/post/pupil/token/COMMAND_POST_PUPIL_TOKEN"
+            }
+            ```
+
+            **Example Request Body Parts JSON:**
+            ```json
+            {
+                "keyLive": "Live-ABC123-login#code"
+            }
+            ```
+
+            **Example Response Body JSON:**
+            ```json
+            {
+                "token": "<your-pupil-access-token>",
+                "createAt": "2024-09-23T10:00:00Z",
+                "expiryAt": "2024-09-23T14:00:00Z",
+                "status": "ACTIVE"
+            }
+            ```
+
+            For more details, contact the developer team.
+            """,
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Token generated successfully", content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = Token.class))
+                    }),
+                    @ApiResponse(responseCode = "400", description = "Error", content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class))
+                    }),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class))
+                    })
+            }
+    )
+    @PostMapping(path = Router.ROUTER_POST_PUPIL_TOKEN + "/{commandType}", produces = "application/json", consumes = "multipart/form-data")
+    ResponseEntity<Token> postPupilToken(
+            @PathVariable(name = Request.COMMAND_TYPE) String commandType,
+            @RequestPart(name = Request.KEY_LIVE) String keyLive
+    ) throws GlobalException;
+
+    /**
+     * Generates the tokens of the pupils of a whole lobby.
+     * <p>
+     * This endpoint is used by a teacher to prepare the sessions of a class before a live. The
+     * command type must be {@code COMMAND_POST_PUPIL_TOKENS}. Each token has its own login and
+     * code and is only accepted on the commands of the given live.
+     * </p>
+     *
+     * @param commandType the type of command being executed, must be {@code COMMAND_POST_PUPIL_TOKENS}
+     * @param authorization the token of the teacher
+     * @param keyLive the key of the live of the lobby
+     * @param count the number of pupil tokens
+     * @return a {@link ResponseEntity} containing the generated tokens
+     * @throws GlobalException if an error occurs
+     */
+    @Operation(
+            security = @SecurityRequirement(name = "bearer-key"),
+            description = """
+            ### Generate the Tokens of the pupils of a live
+            Use this endpoint to prepare the sessions of a class, each token is only accepted on that live.
+            - The commandType must be COMMAND_POST_PUPIL_TOKENS.
+            - The token must be the token of a teacher.
+            - The keyLive must be the key of the live.
+            - The count must be between 1 and the limit of a lobby, 500 by default.
+
+            **Example Path JSON:**
+            ```json
+            {
+                path: "/auth/v1/post/pupil/tokens/COMMAND_POST_PUPIL_TOKENS"
+            }
+            ```
+
+            **Example Request Body Parts JSON:**
+            ```json
+            {
+                "keyLive": "Live-ABC123-login#code",
+                "count": 30
+            }
+            ```
+
+            **Example Response Body JSON:**
+            ```json
+            [
+                {
+                    "token": "<pupil-access-token>",
+                    "createAt": "2024-09-23T10:00:00Z",
+                    "expiryAt": "2024-09-23T14:00:00Z",
+                    "status": "ACTIVE"
+                }
+            ]
+            ```
+
+            For more details, contact the developer team.
+            """,
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Tokens generated successfully", content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = Token.class))
+                    }),
+                    @ApiResponse(responseCode = "400", description = "Error", content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class))
+                    }),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class))
+                    }),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class))
+                    }),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class))
+                    })
+            }
+    )
+    @PostMapping(path = Router.ROUTER_POST_PUPIL_TOKENS + "/{commandType}", produces = "application/json", consumes = "multipart/form-data")
+    @PreAuthorize("hasAnyAuthority('SCOPE_TEACHER')")
+    ResponseEntity<List<Token>> postPupilTokens(
+            @PathVariable(name = Request.COMMAND_TYPE) String commandType,
+            @RequestHeader(name = Request.AUTHORIZATION) String authorization,
+            @RequestPart(name = Request.KEY_LIVE) String keyLive,
+            @RequestParam(name = Command.COUNT) Integer count
+    ) throws GlobalException;
 }
@@ -9,7 +9,10 @@ import com.pi.utils.exceptions.GlobalException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -81,20 +84,38 @@ public class CaseGetScopeToken implements Callable<Response> {
      * @return a {@link Response} object containing the scope of the token.
      */
     protected Response getScopeTokenData(String token) {
-        LOG.info("Init Get scope token from token: {}", token);
-        var jwt = jwtDecoder.decode(token);
+        LOG.info("Init Get scope token.");
+        var jwt = decode(token);
         var scopes = jwt.getClaimAsStringList(Claim.SCOPE);
         var login = jwt.getClaimAsString(Claim.LOGIN);
         var code = jwt.getClaimAsString(Claim.CODE);
+        var live = jwt.getClaimAsString(Claim.LIVE);
         var scopeSet = convertToEnumSet(scopes);
-        LOG.info("End Get scope token from token: {}", token);
+        LOG.info("End Get scope token.");
         return Response.builder()
                 .scope(scopeSet)
                 .login(login)
                 .code(code)
+                .live(live)
+                .expiresAt(jwt.getExpiresAt())
                 .build();
     }
 
+    /**
+     * Decodes a JWT token, reusing the token the resource server already verified for the current request
+     * when it is the same, so the signature is not verified twice.
+     *
+     * @param token the JWT token string to decode.
+     * @return the decoded {@link Jwt}.
+     */
+    protected Jwt decode(String token) {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken verified && verified.getToken().getTokenValue().equals(token)) {
+            return verified.getToken();
+        }
+        return jwtDecoder.decode(token);
+    }
+
     /**
      * Converts a list of scope strings to an {@link EnumSet} of {@link ScopeType}.
      *
@@ -81,7 +81,7 @@ public class CaseGetStatusToken implements Callable<Response> {
      */
     protected Response validateTokenStatus(String token) {
         try {
-            LOG.info("Init Check status token from token: {}", token);
+            LOG.info("Init Check status token.");
             jwtDecoder.decode(token);
             LOG.info("Token is valid.");
             return Response.builder()
@@ -87,11 +87,11 @@ public class CasePostAnonymousToken implements Callable<Token> {
      */
     @Override
     public Token call() throws GlobalException {
-        LOG.info("Init CasePostAnonymousToken call.");
+        LOG.debug("Init CasePostAnonymousToken call.");
         commandDto.validate();
         var claims = buildClaims();
         var token = generateToken(claims);
-        LOG.info("End CasePostAnonymousToken call.");
+        LOG.debug("End CasePostAnonymousToken call.");
         return token;
     }
 
@@ -101,7 +101,7 @@ public class CasePostAnonymousToken implements Callable<Token> {
      * @return the {@link JwtClaimsSet} containing the token claims.
      */
     protected JwtClaimsSet buildClaims() {
-        LOG.info("Init Build claims for token.");
+        LOG.debug("Init Build claims for token.");
         var pupil = Utils.generatePupilRandom();
         var code = Utils.generateRandom6Digits();
         var now = Instant.now();
@@ -125,7 +125,7 @@ public class CasePostAnonymousToken implements Callable<Token> {
      */
     protected Token generateToken(JwtClaimsSet claims) {
         try {
-            LOG.info("Init Generate token.");
+            LOG.debug("Init Generate token.");
             var now = Instant.now();
             var jwtToken = encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
             return Token.builder()
@@ -149,7 +149,7 @@ public class CasePostAnonymousToken implements Callable<Token> {
      * @return a {@link Set} of {@link GrantedAuthority} representing the user's scopes.
      */
     protected Set<GrantedAuthority> getAuthoritiesScopes() {
-        LOG.info("Get authorities scopes for anonymous session.");
+        LOG.debug("Get authorities scopes for anonymous session.");
         var scopes = EnumSet.of(ScopeType.ANONYMOUS);
         return scopes.stream()
                 .map(role -> new SimpleGrantedAuthority(role.name()))
@@ -0,0 +1,120 @@
+package com.pi.core_auth.usecases;
+
+import com.pi.core_auth.core.domains.Token;
+import com.pi.core_auth.core.dtos.CommandDto;
+import com.pi.core_auth.core.enums.CommandType;
+import com.pi.core_auth.core.enums.StatusType;
+import com.pi.core_auth.core.utils.validations.Validate;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+import com.pi.utils.security.PupilTokens;
+import com.pi.utils.services.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Service class for handling the generation of pupil tokens.
+ * <p>
+ * This class implements the {@link Callable} interface to generate the tokens of the pupils
+ * joining a live: one token for {@code COMMAND_POST_PUPIL_TOKEN}, or the tokens of a whole
+ * lobby for {@code COMMAND_POST_PUPIL_TOKENS}. Each pupil gets a random login and code, as an
+ * anonymous user, and a token signed by {@link PupilTokens}, only accepted on that live.
+ * </p>
+ */
+@Service
+public class CasePostPupilToken implements Callable<List<Token>> {
+    private static final Logger LOG = LoggerFactory.getLogger(CasePostPupilToken.class);
+
+    /**
+     * Signer of the pupil tokens.
+     */
+    private final PupilTokens pupilTokens;
+
+    /**
+     * Data transfer object containing the command details.
+     */
+    private CommandDto commandDto;
+
+    /**
+     * Constructs a {@code CasePostPupilToken} instance with the provided {@link PupilTokens}.
+     *
+     * @param pupilTokens the {@link PupilTokens} used to sign the tokens.
+     */
+    public CasePostPupilToken(PupilTokens pupilTokens) {
+        this.pupilTokens = pupilTokens;
+    }
+
+    /**
+     * Sets the command data transfer object.
+     *
+     * @param commandDto the {@link CommandDto} containing the command details.
+     */
+    public void setCommandDto(CommandDto commandDto) {
+        this.commandDto = Objects.requireNonNull(commandDto, "CommandDto cannot be null");
+    }
+
+    /**
+     * Executes the token generation process.
+     *
+     * @return the generated {@link Token}s, one per pupil.
+     * @throws GlobalException if validation fails or an error occurs.
+     */
+    @Override
+    public List<Token> call() throws GlobalException {
+        LOG.debug("Init CasePostPupilToken call.");
+        commandDto.validate();
+        var count = 1;
+        if (Utils.ifEnumGet(commandDto.commandType(), CommandType.class) == CommandType.COMMAND_POST_PUPIL_TOKENS) {
+            Validate.count(commandDto.count(), pupilTokens.getBatchMax());
+            count = commandDto.count();
+        }
+        var tokens = generateTokens(commandDto.keyLive(), count);
+        LOG.debug("End CasePostPupilToken call.");
+        return tokens;
+    }
+
+    /**
+     * Generates the tokens of pupils with distinct logins and codes.
+     *
+     * @param keyLive the key of the live of the tokens.
+     * @param count the number of tokens.
+     * @return the generated {@link Token}s.
+     * @throws GlobalException if an error occurs during token generation.
+     */
+    protected List<Token> generateTokens(String keyLive, int count) {
+        try {
+            var now = Instant.now();
+            var expiryAt = now.plus(pupilTokens.getExpiry()).toString();
+            var pupils = new HashSet<String>(count * 2);
+            List<Token> tokens = new ArrayList<>(count);
+            while (tokens.size() < count) {
+                var login = Utils.generatePupilRandom();
+                var code = Utils.generateRandom6Digits();
+                if (!pupils.add(login + "#" + code)) continue;
+                tokens.add(Token.builder()
+                        .token(pupilTokens.sign(keyLive, login, code, now))
+                        .createAt(now.toString())
+                        .expiryAt(expiryAt)
+                        .status(StatusType.ACTIVE)
+                        .build());
+            }
+            return tokens;
+        } catch (Exception e) {
+            LOG.error("Error generating pupil token: {}", e.getMessage());
+            throw GlobalException.builder()
+                    .status(500)
+                    .alert(new CustomAlert(SystemCodeEnum.C050PI))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.pi.core_live.core.domain;
+
+import org.springframework.data.annotation.Transient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The answers of a live by participant and position.
+ *
+ * <p>Each position is a column of primitive arrays indexed by the id of the participant, see
+ * {@link Participants}: the answer as an index in the table of distinct answers and the hit as a bit.
+ * The answers are interned in the table, so the pupils that gave the same answer share it and
+ * the size of the live follows the number of answers. Only the table and the columns are stored, the index
+ * of the table is rebuilt when the matrix is read back.</p>
+ */
+public class AnswerMatrix {
+    private static final int NONE = 0;
+
+    private List<List<String>> tokens;
+    private TreeMap<Integer, Column> columns;
+
+    @Transient
+    private final Map<List<String>, Integer> tokenIds;
+
+    public AnswerMatrix() {
+        this.tokens = new ArrayList<>();
+        this.columns = new TreeMap<>();
+        this.tokenIds = new HashMap<>();
+    }
+
+    /**
+     * Records the answer of a participant to a position, replacing its previous answer.
+     *
+     * @return the previous answer, or {@code null} when the participant had not answered the position
+     */
+    public Evaluation.Answer put(int participant, Integer position, List<String> answer, Boolean hit) {
+        var column = columns.computeIfAbsent(position, key -> new Column());
+        var previous = get(participant, position);
+        column.put(participant, intern(answer) + 1, Boolean.TRUE.equals(hit));
+        return previous;
+    }
+
+    /**
+     * @return the answer of a participant to a position, or {@code null} when it did not answer
+     */
+    public Evaluation.Answer get(int participant, Integer position) {
+        var column = columns.get(position);
+        if (column == null) return null;
+        var token = column.token(participant);
+        return token == NONE ? null : new Evaluation.Answer(position, tokens.get(token - 1), column.hit(participant));
+    }
+
+    /**
+     * @return the answers of a participant in the order of the positions
+     */
+    public List<Evaluation.Answer> answers(int participant) {
+        var answers = new ArrayList<Evaluation.Answer>();
+        columns.keySet().forEach(position -> {
+            var answer = get(participant, position);
+            if (answer != null) answers.add(answer);
+        });
+        return answers;
+    }
+
+    private int intern(List<String> answer) {
+        var value = answer == null ? List.<String>of() : answer;
+        if (tokenIds.size() != tokens.size()) {
+            tokenIds.clear();
+            for (int token = 0; token < tokens.size(); token++) tokenIds.put(tokens.get(token), token);
+        }
+        var token = tokenIds.get(value);
+        if (token != null) return token;
+        tokens.add(Collections.unmodifiableList(new ArrayList<>(value)));
+        tokenIds.put(tokens.get(tokens.size() - 1), tokens.size() - 1);
+        return tokens.size() - 1;
+    }
+
+    public static class Column {
+        private int[] answers;
+        private long[] hits;
+
+        public Column() {
+            this.answers = new int[8];
+            this.hits = new long[1];
+        }
+
+        protected void put(int participant, int token, boolean hit) {
+            if (participant >= answers.length) answers = Arrays.copyOf(answers, Math.max(answers.length * 2, participant + 1));
+            if (participant >> 6 >= hits.length) hits = Arrays.copyOf(hits, Math.max(hits.length * 2, (participant >> 6) + 1));
+            answers[participant] = token;
+            if (hit) hits[participant >> 6] |= 1L << participant; else hits[participant >> 6] &= ~(1L << participant);
+        }
+
+        protected int token(int participant) {
+            return participant < answers.length ? answers[participant] : NONE;
+        }
+
+        protected boolean hit(int participant) {
+            return participant >> 6 < hits.length && (hits[participant >> 6] & 1L << participant) != 0;
+        }
+    }
+}
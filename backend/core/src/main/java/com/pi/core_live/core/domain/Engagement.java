@@ -1,25 +1,21 @@
 package com.pi.core_live.core.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(value = { "correctPercentual", "incorrectPercentual", "unansweredPercentual" }, allowGetters = true)
 public class Engagement {
     private Integer participantCount;
     private Integer answersCorrect;
     private Integer answersIncorrect;
     private Integer answersUnanswered;
-    private Integer correctPercentual;
-    private Integer incorrectPercentual;
-    private Integer unansweredPercentual;
 
     public Engagement() {
         this.participantCount = 0;
         this.answersCorrect = 0;
         this.answersIncorrect = 0;
         this.answersUnanswered = 0;
-        this.correctPercentual = 0;
-        this.incorrectPercentual = 0;
-        this.unansweredPercentual = 0;
     }
 
     public void update(Integer participantCount, Integer answersCorrect, Integer answersIncorrect, Integer answersUnanswered) {
@@ -27,9 +23,10 @@ public class Engagement {
         this.answersCorrect = answersCorrect;
         this.answersIncorrect = answersIncorrect;
         this.answersUnanswered = answersUnanswered;
-        this.correctPercentual = calculateCorrectPercentual();
-        this.incorrectPercentual = calculateIncorrectPercentual();
-        this.unansweredPercentual = calculateUnansweredPercentual();
+    }
+
+    public void update(Integer participantCount, Evaluation.Outcome totals) {
+        update(participantCount, totals.getCorrect(), totals.getIncorrect(), totals.getUnanswered());
     }
 
     protected Integer getTotalAnswers() {
@@ -59,16 +56,13 @@ public class Engagement {
     public Integer getAnswersCorrect() { return answersCorrect; }
     public Integer getAnswersIncorrect() { return answersIncorrect; }
     public Integer getAnswersUnanswered() { return answersUnanswered; }
-    public Integer getCorrectPercentual() { return correctPercentual; }
-    public Integer getIncorrectPercentual() { return incorrectPercentual; }
-    public Integer getUnansweredPercentual() { return unansweredPercentual; }
+    public Integer getCorrectPercentual() { return calculateCorrectPercentual(); }
+    public Integer getIncorrectPercentual() { return calculateIncorrectPercentual(); }
+    public Integer getUnansweredPercentual() { return calculateUnansweredPercentual(); }
 
     // Setters
     public void setParticipantCount(Integer participantCount) { this.participantCount = participantCount; }
     public void setAnswersCorrect(Integer answersCorrect) { this.answersCorrect = answersCorrect; }
     public void setAnswersIncorrect(Integer answersIncorrect) { this.answersIncorrect = answersIncorrect; }
     public void setAnswersUnanswered(Integer answersUnanswered) { this.answersUnanswered = answersUnanswered; }
-    public void setCorrectPercentual(Integer correctPercentual) { this.correctPercentual = correctPercentual; }
-    public void setIncorrectPercentual(Integer incorrectPercentual) { this.incorrectPercentual = incorrectPercentual; }
-    public void setUnansweredPercentual(Integer unansweredPercentual) { this.unansweredPercentual = unansweredPercentual; }
 }
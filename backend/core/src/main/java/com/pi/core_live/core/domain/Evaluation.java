@@ -1,51 +1,128 @@
 package com.pi.core_live.core.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSetter;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
+/**
+ * The answers of the pupils of a live and their outcome by position and in total.
+ *
+ * <p>The pupils get a dense id in {@link Participants} and their answers are kept in an {@link AnswerMatrix}
+ * by id and position. The answers by pupil are still written to JSON as {@code evaluation}, built from the matrix.</p>
+ */
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(value = {"positions", "totals"}, allowGetters = true)
 public class Evaluation {
-    private final Map<String, Set<Answer>> evaluation;
+    private Participants participants;
+    private AnswerMatrix answers;
+    private TreeMap<Integer, Outcome> positions;
+    private Outcome totals;
 
-    public Evaluation() { this.evaluation = new HashMap<>(); }
+    public Evaluation() {
+        this.participants = new Participants();
+        this.answers = new AnswerMatrix();
+        this.positions = new TreeMap<>();
+        this.totals = new Outcome();
+    }
 
-    public Map<String, Set<Answer>> getEvaluation() { return evaluation; }
+    public Map<Integer, Outcome> getPositions() { return positions; }
+    public Outcome getTotals() { return totals; }
 
-    public void addEvaluation(String pupil, Integer positionItem, List<String> answerItem, Boolean hit) {
-        if (evaluation.containsKey(pupil)) {
-            evaluation.get(pupil).add(new Answer(positionItem, answerItem, hit));
-        } else {
-            var answers = new HashSet<Answer>();
-            answers.add(new Answer(positionItem, answerItem, hit));
-            evaluation.put(pupil, answers);
+    /**
+     * The answers of each pupil, in the order the pupils answered first and by position.
+     */
+    public Map<String, Set<Answer>> getEvaluation() {
+        var evaluation = new LinkedHashMap<String, Set<Answer>>();
+        for (int id = 0; id < participants.size(); id++) {
+            evaluation.put(participants.pupil(id), new LinkedHashSet<>(answers.answers(id)));
         }
+        return evaluation;
+    }
+
+    /**
+     * Reads the answers of each pupil written by {@link #getEvaluation()}, the outcomes are counted again.
+     */
+    @JsonSetter("evaluation")
+    protected void readEvaluation(Map<String, List<Answer>> evaluation) {
+        evaluation.forEach((pupil, answered) -> answered.forEach(answer -> addEvaluation(pupil, answer.position(), answer.answer(), answer.hit())));
+    }
+
+    /**
+     * Registers a pupil of the live.
+     *
+     * @return the {@code login#code} of the pupil held by the live, to be shared by everything that refers to the pupil
+     */
+    public String register(String login, String code) {
+        return register(login + "#" + code);
     }
 
-    public Integer countCorrectAnswers() {
-        return (int) evaluation.values().stream()
-                .flatMap(Set::stream)
-                .filter(Answer::hit)
-                .count();
+    public String register(String pupil) {
+        return participants.pupil(participants.register(pupil));
     }
 
-    public Integer countIncorrectAnswers() {
-        return (int) evaluation.values().stream()
-                .flatMap(Set::stream)
-                .filter(answer -> !answer.hit())
-                .count();
+    /**
+     * Records the answer of a pupil to an item. A pupil has one answer per item, so a resubmission
+     * replaces the previous answer and its outcome is taken back from the counters.
+     */
+    public void addEvaluation(String pupil, Integer positionItem, List<String> answerItem, Boolean hit) {
+        var previous = answers.put(participants.register(pupil), positionItem, answerItem, hit);
+        if (previous != null) count(previous, -1);
+        count(new Answer(positionItem, answerItem, hit), 1);
     }
 
-    public Integer countUnansweredAnswers() {
-        return (int) evaluation.values().stream()
-                .flatMap(Set::stream)
-                .filter(answer -> answer.answer().isEmpty())
-                .count();
+    /**
+     * @return the answer of a pupil to an item, shared with the pupils that gave the same answer, or {@code null}
+     */
+    public List<String> getAnswer(String pupil, Integer positionItem) {
+        var id = participants.id(pupil);
+        var answer = id == null ? null : answers.get(id, positionItem);
+        return answer == null ? null : answer.answer();
+    }
+
+    public Integer countCorrectAnswers() { return totals.getCorrect(); }
+    public Integer countIncorrectAnswers() { return totals.getIncorrect(); }
+    public Integer countUnansweredAnswers() { return totals.getUnanswered(); }
+
+    public Outcome getPosition(Integer position) { return positions.getOrDefault(position, new Outcome()); }
+
+    private void count(Answer answer, int delta) {
+        totals.add(answer, delta);
+        positions.computeIfAbsent(answer.position(), key -> new Outcome()).add(answer, delta);
     }
 
     public record Answer(Integer position, List<String> answer, Boolean hit) { }
+
+    public static class Outcome {
+        private Integer correct;
+        private Integer incorrect;
+        private Integer unanswered;
+
+        public Outcome() {
+            this.correct = 0;
+            this.incorrect = 0;
+            this.unanswered = 0;
+        }
+
+        protected void add(Answer answer, int delta) {
+            if (Boolean.TRUE.equals(answer.hit())) correct += delta; else incorrect += delta;
+            if (answer.answer() == null || answer.answer().isEmpty()) unanswered += delta;
+        }
+
+        // Getters
+        public Integer getCorrect() { return correct; }
+        public Integer getIncorrect() { return incorrect; }
+        public Integer getUnanswered() { return unanswered; }
+
+        // Setters
+        public void setCorrect(Integer correct) { this.correct = correct; }
+        public void setIncorrect(Integer incorrect) { this.incorrect = incorrect; }
+        public void setUnanswered(Integer unanswered) { this.unanswered = unanswered; }
+    }
 }
@@ -0,0 +1,46 @@
+package com.pi.core_live.core.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * The ranking of the pupils of a live by the rewards of the items they hit.
+ *
+ * <p>The scores are kept by the answer script in a sorted set of the live, so the top of the ranking
+ * and the standing of a pupil are read in O(log n) without going through the evaluation. The
+ * {@code pupil} standing is only present when the standing of a pupil was asked.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Leaderboard {
+    private String key;
+    private Long pupils;
+    private List<Standing> top;
+    private Standing pupil;
+
+    public Leaderboard() {}
+
+    // Builder
+    public static Leaderboard builder() { return new Leaderboard(); }
+    public Leaderboard key(String key) { this.key = key; return this; }
+    public Leaderboard pupils(Long pupils) { this.pupils = pupils; return this; }
+    public Leaderboard top(List<Standing> top) { this.top = top; return this; }
+    public Leaderboard pupil(Standing pupil) { this.pupil = pupil; return this; }
+
+    public Leaderboard build() { return this; }
+
+    // Getters
+    public String getKey() { return key; }
+    public Long getPupils() { return pupils; }
+    public List<Standing> getTop() { return top; }
+    public Standing getPupil() { return pupil; }
+
+    /**
+     * The standing of a pupil in the ranking.
+     *
+     * @param pupil the {@code login#code} of the pupil
+     * @param score the sum of the rewards of the pupil
+     * @param rank the position of the pupil in the ranking, starting at 1
+     */
+    public record Standing(String pupil, Long score, Long rank) { }
+}
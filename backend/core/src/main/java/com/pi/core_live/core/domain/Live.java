@@ -7,10 +7,13 @@ import com.pi.core_quiz.core.domain.itens.IQuizItem;
 import com.pi.core_quiz.core.domain.quiz.QuizOpen;
 import com.pi.core_quiz.core.domain.quiz.QuizWordCloud;
 import com.pi.core_quiz.core.enums.QuizType;
+import com.pi.core_quiz.core.enums.StatusItem;
 import com.pi.utils.services.Utils;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -25,6 +28,8 @@ public class Live {
     private Quiz quiz;
     private Teacher teacher;
     private Set<String> lobby;
+    private Long version;
+    private Map<String, Integer> points;
 
     public Live() {}
 
@@ -59,14 +64,16 @@ public class Live {
 
     // Pupil operations
     public void addPupilAnswerToQuiz(String login, String code, List<String> answerItem) {
-        quiz.getQuizes().stream().filter(item -> item.getPosition().equals(teacher.getControl().getCurrentPosition())).forEach(item -> {
+        var item = quiz.getQuizItem(teacher.getControl().getCurrentPosition());
+        if (item != null) {
             Utils.ifEnumGet(item.getType(), QuizType.class);
-            if (item instanceof IOperationsQuiz<?>) {
-                ((IOperationsQuiz<?>) item).addAnswerOperationLive(login, code, answerItem);
-                validateAnswer(login, code, answerItem, item);
+            if (item instanceof IOperationsQuiz<?> operations) {
+                var pupil = evaluation.register(login, code);
+                validateAnswer(pupil, answerItem, item);
+                operations.addAnswerOperationLive(pupil, evaluation.getAnswer(pupil, item.getPosition()));
                 calculateEngagementAndUpdate();
             }
-        });
+        }
         updateOn = Utils.now();
     }
 
@@ -86,10 +93,57 @@ public class Live {
         completedOn = Utils.now();
     }
 
-    protected void validateAnswer(String login, String code, List<String> answerItem, IQuizItem item) {
+    /**
+     * Replays on the live a change event published by the live scripts, so a copy of the live kept in
+     * memory follows the live stored in Redis without reading it again. The events must be replayed
+     * in the order of their versions.
+     *
+     * @param event the change event of the live
+     */
+    public void apply(LiveEvent event) {
+        switch (event.getType()) {
+            case POSITION_CHANGED -> {
+                teacher.getControl().setCurrentPosition(event.getCurrentPosition());
+                status = event.getStatus();
+            }
+            case PUPIL_JOINED -> {
+                lobby.add(event.getPupil());
+                engagement.update(event.getParticipantCount(), engagement.getAnswersCorrect(), engagement.getAnswersIncorrect(), engagement.getAnswersUnanswered());
+            }
+            case PUPIL_LEFT -> {
+                lobby.remove(event.getPupil());
+                engagement.update(event.getParticipantCount(), engagement.getAnswersCorrect(), engagement.getAnswersIncorrect(), engagement.getAnswersUnanswered());
+            }
+            case ANSWER_COUNTED -> {
+                var pupil = evaluation.register(event.getPupil());
+                evaluation.addEvaluation(pupil, event.getPosition(), Objects.requireNonNullElse(event.getAnswer(), List.of()), event.getHit());
+                if (quiz.getQuizItem(event.getPosition()) instanceof IOperationsQuiz<?> operations) {
+                    operations.addAnswerOperationLive(pupil, evaluation.getAnswer(pupil, event.getPosition()));
+                }
+            }
+            case ENGAGEMENT_UPDATED -> engagement = event.getEngagement();
+            case ITEM_CLOSED -> {
+                if (quiz.getQuizItem(event.getPosition()) instanceof IOperationsQuiz<?> operations) operations.setStatus(StatusItem.DONE);
+            }
+            case LIVE_COMPLETED -> {
+                teacher.getControl().setCurrentPosition(event.getCurrentPosition());
+                status = StatusLive.COMPLETED;
+                completedOn = event.getCompletedOn();
+            }
+            case LIVE_ENDED -> {
+                status = StatusLive.COMPLETED;
+                completedOn = Objects.requireNonNullElse(completedOn, event.getUpdateOn());
+            }
+            default -> { }
+        }
+        if (event.getUpdateOn() != null) updateOn = event.getUpdateOn();
+        version = event.getVersion();
+    }
+
+    protected void validateAnswer(String pupil, List<String> answerItem, IQuizItem item) {
         var answers = ((IOperationsQuiz<?>) item).getAnswers();
         boolean hit = isHit(answerItem, item, answers);
-        evaluation.addEvaluation(login + "#" + code, item.getPosition(), answerItem, hit);
+        evaluation.addEvaluation(pupil, item.getPosition(), answerItem, hit);
         updateOn = Utils.now();
     }
 
@@ -101,11 +155,7 @@ public class Live {
     }
 
     protected void calculateEngagementAndUpdate() {
-        var participantCount = lobby.size();
-        var answersCorrect = evaluation.countCorrectAnswers();
-        var answersIncorrect = evaluation.countIncorrectAnswers();
-        var answersUnanswered = evaluation.countUnansweredAnswers();
-        engagement.update(participantCount, answersCorrect, answersIncorrect, answersUnanswered);
+        engagement.update(lobby.size(), evaluation.getTotals());
         updateOn = Utils.now();
     }
 
@@ -125,6 +175,8 @@ public class Live {
     public Live quiz(Quiz quiz) { this.quiz = quiz; return this; }
     public Live teacher(Teacher teacher) { this.teacher = teacher; return this; }
     public Live lobby(Set<String> lobby) { this.lobby = lobby; return this; }
+    public Live version(Long version) { this.version = version; return this; }
+    public Live points(Map<String, Integer> points) { this.points = points; return this; }
 
     public Live build() { return this; }
 
@@ -139,4 +191,11 @@ public class Live {
     public Quiz getQuiz() { return quiz; }
     public Teacher getTeacher() { return teacher; }
     public Set<String> getLobby() { return lobby; }
+    public Long getVersion() { return version; }
+
+    /**
+     * The points scored by each hit, by {@code position|pupil}, only read for the checkpoints of the live,
+     * so a live restored from its checkpoint keeps the scores weighted by time.
+     */
+    public Map<String, Integer> getPoints() { return points; }
 }
\ No newline at end of file
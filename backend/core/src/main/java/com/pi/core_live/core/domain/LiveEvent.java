@@ -0,0 +1,83 @@
+package com.pi.core_live.core.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pi.core_live.core.enums.EventType;
+
+import java.util.List;
+
+/**
+ * A change of a live, as published by the live scripts.
+ *
+ * <p>Every event carries the key, the version and the instant of the change, the version being
+ * a sequence number without gaps per live. The other fields depend on the {@link EventType}
+ * and are left out when they do not apply, so an event weighs what changed, not the whole live.
+ * Only {@link EventType#SNAPSHOT} carries the full {@link Live}.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LiveEvent {
+    private String key;
+    private Long version;
+    private EventType type;
+    private String updateOn;
+    private Integer currentPosition;
+    private Long deadline;
+    private StatusLive status;
+    private String completedOn;
+    private String pupil;
+    private Integer participantCount;
+    private Integer position;
+    private List<String> answer;
+    private Boolean hit;
+    private Engagement engagement;
+    private Integer points;
+    private Long score;
+    private Long rank;
+    private Live live;
+
+    public LiveEvent() {}
+
+    // Builder
+    public static LiveEvent builder() { return new LiveEvent(); }
+    public LiveEvent key(String key) { this.key = key; return this; }
+    public LiveEvent version(Long version) { this.version = version; return this; }
+    public LiveEvent type(EventType type) { this.type = type; return this; }
+    public LiveEvent updateOn(String updateOn) { this.updateOn = updateOn; return this; }
+    public LiveEvent currentPosition(Integer currentPosition) { this.currentPosition = currentPosition; return this; }
+    public LiveEvent deadline(Long deadline) { this.deadline = deadline; return this; }
+    public LiveEvent status(StatusLive status) { this.status = status; return this; }
+    public LiveEvent completedOn(String completedOn) { this.completedOn = completedOn; return this; }
+    public LiveEvent pupil(String pupil) { this.pupil = pupil; return this; }
+    public LiveEvent participantCount(Integer participantCount) { this.participantCount = participantCount; return this; }
+    public LiveEvent position(Integer position) { this.position = position; return this; }
+    public LiveEvent answer(List<String> answer) { this.answer = answer; return this; }
+    public LiveEvent hit(Boolean hit) { this.hit = hit; return this; }
+    public LiveEvent engagement(Engagement engagement) { this.engagement = engagement; return this; }
+    public LiveEvent points(Integer points) { this.points = points; return this; }
+    public LiveEvent score(Long score) { this.score = score; return this; }
+    public LiveEvent rank(Long rank) { this.rank = rank; return this; }
+    public LiveEvent live(Live live) { this.live = live; return this; }
+
+    public LiveEvent build() { return this; }
+
+    // Getters
+    public String getKey() { return key; }
+    public Long getVersion() { return version; }
+    public EventType getType() { return type; }
+    public String getUpdateOn() { return updateOn; }
+    public Integer getCurrentPosition() { return currentPosition; }
+    public Long getDeadline() { return deadline; }
+    public StatusLive getStatus() { return status; }
+    public String getCompletedOn() { return completedOn; }
+    public String getPupil() { return pupil; }
+    public Integer getParticipantCount() { return participantCount; }
+    public Integer getPosition() { return position; }
+    public List<String> getAnswer() { return answer; }
+    public Boolean getHit() { return hit; }
+    public Engagement getEngagement() { return engagement; }
+    public Integer getPoints() { return points; }
+    public Long getScore() { return score; }
+    public Long getRank() { return rank; }
+    public Live getLive() { return live; }
+}
@@ -0,0 +1,48 @@
+package com.pi.core_live.core.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A command sent by a client on the channel of a live.
+ *
+ * <p>The frame carries the fields of the command only: the live is the one of the channel
+ * and the token is the one given when the channel was opened. The {@code id} is chosen by
+ * the client and sent back on the {@link LiveReply} of the command.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LiveFrame {
+    private String id;
+    private String commandType;
+    private String login;
+    private String code;
+    private String pupilLogin;
+    private String pupilCode;
+    private List<String> answerItem;
+
+    public LiveFrame() {}
+
+    // Builder
+    public static LiveFrame builder() { return new LiveFrame(); }
+    public LiveFrame id(String id) { this.id = id; return this; }
+    public LiveFrame commandType(String commandType) { this.commandType = commandType; return this; }
+    public LiveFrame login(String login) { this.login = login; return this; }
+    public LiveFrame code(String code) { this.code = code; return this; }
+    public LiveFrame pupilLogin(String pupilLogin) { this.pupilLogin = pupilLogin; return this; }
+    public LiveFrame pupilCode(String pupilCode) { this.pupilCode = pupilCode; return this; }
+    public LiveFrame answerItem(List<String> answerItem) { this.answerItem = answerItem; return this; }
+
+    public LiveFrame build() { return this; }
+
+    // Getters
+    public String getId() { return id; }
+    public String getCommandType() { return commandType; }
+    public String getLogin() { return login; }
+    public String getCode() { return code; }
+    public String getPupilLogin() { return pupilLogin; }
+    public String getPupilCode() { return pupilCode; }
+    public List<String> getAnswerItem() { return answerItem; }
+}
@@ -0,0 +1,64 @@
+package com.pi.core_live.core.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+
+/**
+ * The reply to a {@link LiveFrame} on the channel of a live.
+ *
+ * <p>A reply has the type {@code REPLY}, so clients tell it apart from the {@link LiveEvent}
+ * sent on the same channel. A successful command is replied with the status 200 and the version
+ * of the live after it, the change itself arrives as an event. A failed command is replied with
+ * the status, alert and details of its {@link GlobalException}, and the seconds to wait in
+ * {@code retryAfter} when the live was too busy to take it.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveReply {
+    public static final String TYPE = "REPLY";
+
+    private String id;
+    private Integer status;
+    private Long version;
+    private String message;
+    private String details;
+    private CustomAlert alert;
+    private Long retryAfter;
+
+    public LiveReply() {}
+
+    public static LiveReply ok(String id, Live live) {
+        return builder().id(id).status(200).version(live.getVersion());
+    }
+
+    public static LiveReply error(String id, GlobalException exception) {
+        return builder().id(id)
+                .status(exception.getStatus())
+                .message(exception.getMessage())
+                .details(exception.getDetails())
+                .alert(exception.getAlert())
+                .retryAfter(exception.getRetryAfter());
+    }
+
+    // Builder
+    public static LiveReply builder() { return new LiveReply(); }
+    public LiveReply id(String id) { this.id = id; return this; }
+    public LiveReply status(Integer status) { this.status = status; return this; }
+    public LiveReply version(Long version) { this.version = version; return this; }
+    public LiveReply message(String message) { this.message = message; return this; }
+    public LiveReply details(String details) { this.details = details; return this; }
+    public LiveReply alert(CustomAlert alert) { this.alert = alert; return this; }
+    public LiveReply retryAfter(Long retryAfter) { this.retryAfter = retryAfter; return this; }
+
+    public LiveReply build() { return this; }
+
+    // Getters
+    public String getType() { return TYPE; }
+    public String getId() { return id; }
+    public Integer getStatus() { return status; }
+    public Long getVersion() { return version; }
+    public String getMessage() { return message; }
+    public String getDetails() { return details; }
+    public CustomAlert getAlert() { return alert; }
+    public Long getRetryAfter() { return retryAfter; }
+}
@@ -0,0 +1,53 @@
+package com.pi.core_live.core.domain;
+
+import org.springframework.data.annotation.Transient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pupils that answered in a live, each one with a dense id.
+ *
+ * <p>The id of a pupil is its index in the order it was registered, so the answers of the live are
+ * kept by id in {@link AnswerMatrix} and the {@code login#code} of the pupil is held once, by this registry.
+ * Only the pupils are stored, the index by pupil is rebuilt when the registry is read back.</p>
+ */
+public class Participants {
+    private List<String> pupils;
+
+    @Transient
+    private final Map<String, Integer> ids;
+
+    public Participants() {
+        this.pupils = new ArrayList<>();
+        this.ids = new HashMap<>();
+    }
+
+    /**
+     * Registers a pupil, if it is not registered yet.
+     *
+     * @param pupil the {@code login#code} of the pupil
+     * @return the id of the pupil
+     */
+    public int register(String pupil) {
+        var id = ids().get(pupil);
+        if (id != null) return id;
+        pupils.add(pupil);
+        ids.put(pupil, pupils.size() - 1);
+        return pupils.size() - 1;
+    }
+
+    public Integer id(String pupil) { return ids().get(pupil); }
+    public String pupil(int id) { return pupils.get(id); }
+    public int size() { return pupils.size(); }
+
+    private Map<String, Integer> ids() {
+        if (ids.size() != pupils.size()) {
+            ids.clear();
+            for (int id = 0; id < pupils.size(); id++) ids.put(pupils.get(id), id);
+        }
+        return ids;
+    }
+}
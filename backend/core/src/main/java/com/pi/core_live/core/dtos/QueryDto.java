@@ -14,7 +14,13 @@ import org.slf4j.LoggerFactory;
 public record QueryDto(
         String keyLive,
         String queryType,
-        String token
+        String token,
+        String login,
+        String code,
+        String cursor,
+        Integer size,
+        String pupilLogin,
+        String pupilCode
 ) implements IGValidationDto<Void> {
     private static final Logger LOG = LoggerFactory.getLogger(QueryDto.class);
     private static final String LOG_MESSAGE_FORMAT = "QueryDto - {} - : {}.";
@@ -28,10 +34,28 @@ public record QueryDto(
                 Validate.token(token);
                 yield null;
             }
-            case QUERY_GET_LIVE_STREAM -> {
+            case QUERY_GET_LIVE_STREAM, QUERY_GET_LIVE_EVENTS -> {
                 Validate.key(keyLive);
                 yield null;
             }
+            case QUERY_GET_ACTIVE_LIVES -> {
+                Validate.token(token);
+                Validate.login(login);
+                Validate.code(code);
+                Validate.cursor(cursor);
+                Validate.size(size);
+                yield null;
+            }
+            case QUERY_GET_LEADERBOARD -> {
+                Validate.key(keyLive);
+                Validate.token(token);
+                Validate.size(size);
+                if (pupilLogin != null || pupilCode != null) {
+                    Validate.login(pupilLogin);
+                    Validate.code(pupilCode);
+                }
+                yield null;
+            }
             default -> {
                 LOG.error("{} - Invalid query type.", SystemCodeEnum.C120PI.name());
                 throw GlobalException.builder()
@@ -50,6 +74,12 @@ public record QueryDto(
         private String keyLive;
         private String queryType;
         private String token;
+        private String login;
+        private String code;
+        private String cursor;
+        private Integer size;
+        private String pupilLogin;
+        private String pupilCode;
 
         public Builder keyLive(String keyLive) {
             this.keyLive = keyLive;
@@ -66,8 +96,38 @@ public record QueryDto(
             return this;
         }
 
+        public Builder login(String login) {
+            this.login = login;
+            return this;
+        }
+
+        public Builder code(String code) {
+            this.code = code;
+            return this;
+        }
+
+        public Builder cursor(String cursor) {
+            this.cursor = cursor;
+            return this;
+        }
+
+        public Builder size(Integer size) {
+            this.size = size;
+            return this;
+        }
+
+        public Builder pupilLogin(String pupilLogin) {
+            this.pupilLogin = pupilLogin;
+            return this;
+        }
+
+        public Builder pupilCode(String pupilCode) {
+            this.pupilCode = pupilCode;
+            return this;
+        }
+
         public QueryDto build() {
-            return new QueryDto(keyLive, queryType, token);
+            return new QueryDto(keyLive, queryType, token, login, code, cursor, size, pupilLogin, pupilCode);
         }
     }
 }
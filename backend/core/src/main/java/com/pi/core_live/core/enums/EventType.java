@@ -0,0 +1,81 @@
+package com.pi.core_live.core.enums;
+
+/**
+ * Enum representing the types of change events published when a live is mutated.
+ * Each event type includes a description of the change it represents.
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * EventType event = EventType.POSITION_CHANGED;
+ * System.out.println("Event: " + event.name());
+ * System.out.println("Description: " + event.getDescription());
+ * }</pre>
+ *
+ * @since 1.0
+ */
+public enum EventType {
+    /**
+     * The full live sent once to a subscriber before the changes.
+     */
+    SNAPSHOT("The full live, sent once when a subscriber joins the stream."),
+
+    /**
+     * The teacher moved to the next or the previous position.
+     */
+    POSITION_CHANGED("The teacher moved the live to another position."),
+
+    /**
+     * A pupil joined the lobby.
+     */
+    PUPIL_JOINED("A pupil joined the lobby of the live."),
+
+    /**
+     * A pupil left the lobby.
+     */
+    PUPIL_LEFT("A pupil left the lobby of the live."),
+
+    /**
+     * The answer of a pupil was counted.
+     */
+    ANSWER_COUNTED("The answer of a pupil was counted in the evaluation."),
+
+    /**
+     * The engagement counters changed after an answer.
+     */
+    ENGAGEMENT_UPDATED("The engagement counters of the live changed."),
+
+    /**
+     * The score of a pupil in the leaderboard changed after an answer.
+     */
+    LEADERBOARD_UPDATED("The score and rank of a pupil in the leaderboard of the live changed."),
+
+    /**
+     * The timer of the item at the current position ran out.
+     */
+    ITEM_CLOSED("The timer of the current item ran out and the item was closed to answers."),
+
+    /**
+     * The teacher passed the last item and the live was completed.
+     */
+    LIVE_COMPLETED("The live passed its last item and was completed."),
+
+    /**
+     * The teacher ended the live and it was removed from the cache.
+     */
+    LIVE_ENDED("The live was ended and removed from the cache.");
+
+    private final String description;
+
+    EventType(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns the description of the event type.
+     *
+     * @return A string representing the description of the event type.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
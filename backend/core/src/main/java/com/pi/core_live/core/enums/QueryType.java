@@ -34,7 +34,28 @@ public enum QueryType {
      *
      * @since 1.0
      */
-    QUERY_GET_LIVE_STREAM("Retrieve a live stream.", EnumSet.of(ScopeType.ANONYMOUS, ScopeType.STUDENT, ScopeType.TEACHER));
+    QUERY_GET_LIVE_STREAM("Retrieve a live stream.", EnumSet.of(ScopeType.ANONYMOUS, ScopeType.STUDENT, ScopeType.TEACHER)),
+
+    /**
+     * Query to retrieve the change events of a live.
+     *
+     * @since 1.0
+     */
+    QUERY_GET_LIVE_EVENTS("Retrieve the change events of a live.", EnumSet.of(ScopeType.ANONYMOUS, ScopeType.STUDENT, ScopeType.TEACHER)),
+
+    /**
+     * Query to retrieve the active lives of a teacher.
+     *
+     * @since 1.0
+     */
+    QUERY_GET_ACTIVE_LIVES("Retrieve the active lives of a teacher.", EnumSet.of(ScopeType.TEACHER)),
+
+    /**
+     * Query to retrieve the leaderboard of a live.
+     *
+     * @since 1.0
+     */
+    QUERY_GET_LEADERBOARD("Retrieve the leaderboard of a live.", EnumSet.of(ScopeType.ANONYMOUS, ScopeType.STUDENT, ScopeType.TEACHER));
 
     private final String description;
     private final Set<ScopeType> permissions;
@@ -24,6 +24,26 @@ public class Router {
      */
     public static final String ROUTER_GET_LIVE_STREAM = "/live/v1/get/live/stream";
 
+    /**
+     * The route for fetching the change events of a specific live.
+     */
+    public static final String ROUTER_GET_LIVE_EVENTS = "/live/v1/get/live/events";
+
+    /**
+     * The route of the WebSocket channel of a specific live.
+     */
+    public static final String ROUTER_LIVE_CHANNEL = "/live/v1/channel";
+
+    /**
+     * The route for fetching the active lives of a teacher.
+     */
+    public static final String ROUTER_GET_ACTIVE_LIVES = "/live/v1/get/active/lives";
+
+    /**
+     * The route for fetching the leaderboard of a specific live.
+     */
+    public static final String ROUTER_GET_LEADERBOARD = "/live/v1/get/leaderboard";
+
     /**
      * The route for creating a new live.
      */
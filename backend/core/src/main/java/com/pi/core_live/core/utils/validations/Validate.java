@@ -65,4 +65,26 @@ public class Validate extends ValidationCommon {
                     .build();
         }
     }
+
+    public static void cursor(String cursor) {
+        LOG.info("Init validate cursor format: {}", cursor);
+        if (ObjectUtils.isEmpty(cursor) || !cursor.matches("\\d+")) {
+            LOG.warn("{} - Invalid cursor type.", SystemCodeEnum.C122PI.name());
+            throw GlobalException.builder()
+                    .status(400)
+                    .alert(new CustomAlert(SystemCodeEnum.C122PI))
+                    .build();
+        }
+    }
+
+    public static void size(Integer size) {
+        LOG.info("Init validate size format: {}", size);
+        if (ObjectUtils.isEmpty(size) || size < 1 || size > 100) {
+            LOG.warn("{} - Invalid size type.", SystemCodeEnum.C123PI.name());
+            throw GlobalException.builder()
+                    .status(400)
+                    .alert(new CustomAlert(SystemCodeEnum.C123PI))
+                    .build();
+        }
+    }
 }
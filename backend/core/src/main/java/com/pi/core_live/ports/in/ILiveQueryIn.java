@@ -1,9 +1,12 @@
 package com.pi.core_live.ports.in;
 
+import com.pi.core_live.core.domain.Leaderboard;
 import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveEvent;
 import com.pi.core_live.core.utils.constants.Router;
 import com.pi.utils.constants.Request;
 import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CursorPageable;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +17,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -132,6 +136,8 @@ public interface ILiveQueryIn {
             Use this endpoint to retrieve the live class
             - The queryType must be QUERY_GET_LIVE_STREAM.
             - The token must be a valid token.
+            - The live is sent on subscribe and again after each change.
+            - The subscribers of a live share one stream, each change is serialized once for all of them.
             
             **Example Path JSON:**
             ```json
@@ -207,8 +213,196 @@ public interface ILiveQueryIn {
             }
     )
     @GetMapping(path = Router.ROUTER_GET_LIVE_STREAM + "/{queryType}" + "/{keyLive}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    Flux<Live> getLiveStream(
+    Flux<byte[]> getLiveStream(
             @PathVariable(Request.QUERY_TYPE) String queryType,
             @PathVariable(Request.KEY_LIVE) String keyLive
     ) throws GlobalException;
+
+    @Operation(
+            description = """
+            ### Retrieve live class change events
+            Use this endpoint to follow a live class by its changes instead of the full live
+            - The queryType must be QUERY_GET_LIVE_EVENTS.
+            - The first event is a SNAPSHOT with the full live and its version.
+            - Then each change is sent as a small typed event: POSITION_CHANGED, PUPIL_JOINED, PUPIL_LEFT,
+              ANSWER_COUNTED, LEADERBOARD_UPDATED, ENGAGEMENT_UPDATED, ITEM_CLOSED, LIVE_COMPLETED and LIVE_ENDED, the last one.
+            - The id of each event is the version of the live, increasing by one on each change,
+              so a gap means an event was lost and the client must subscribe again.
+            
+            **Example Path JSON:**
+            ```json
+            {
+                path: "/live/v1/get/live/events/QUERY_GET_LIVE_EVENTS/<key-live>"
+            }
+            ```
+            **Example Path Params JSON:**
+            ```json
+            {
+                "keyLive": "<key-live>",
+            }
+            ```
+            
+            **Example Response Events:**
+            ```text
+                id:12
+                event:SNAPSHOT
+                data:{"key":"Live-ABC123-login#code","version":12,"type":"SNAPSHOT","updateOn":"2025-04-27T14:45:00Z","live":{ ... }}
+            
+                id:13
+                event:ANSWER_COUNTED
+                data:{"key":"Live-ABC123-login#code","version":13,"type":"ANSWER_COUNTED","updateOn":"2025-04-27T14:45:02Z","pupil":"user1#code","position":1,"answer":["A"],"hit":true}
+            
+                id:14
+                event:LEADERBOARD_UPDATED
+                data:{"key":"Live-ABC123-login#code","version":14,"type":"LEADERBOARD_UPDATED","updateOn":"2025-04-27T14:45:02Z","pupil":"user1#code","points":25,"score":75,"rank":1}
+            
+                id:15
+                event:ENGAGEMENT_UPDATED
+                data:{"key":"Live-ABC123-login#code","version":15,"type":"ENGAGEMENT_UPDATED","updateOn":"2025-04-27T14:45:02Z","engagement":{"participantCount":2,"answersCorrect":6,"answersIncorrect":1,"answersUnanswered":0,"correctPercentual":86,"incorrectPercentual":14,"unansweredPercentual":0}}
+            ```
+
+            For more details, contact the developer team.
+            """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stream de eventos", content = { @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = LiveEvent.class)) }),
+                    @ApiResponse(responseCode = "400", description = "Error", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "404", description = "Not Found", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) })
+            }
+    )
+    @GetMapping(path = Router.ROUTER_GET_LIVE_EVENTS + "/{queryType}" + "/{keyLive}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<LiveEvent>> getLiveEvents(
+            @PathVariable(Request.QUERY_TYPE) String queryType,
+            @PathVariable(Request.KEY_LIVE) String keyLive
+    ) throws GlobalException;
+
+    @Operation(
+            security = @SecurityRequirement(name = "bearer-key"),
+            description = """
+            ### Retrieve active lives of a teacher
+            Use this endpoint to page through the lives of the teacher that are still in cache
+            - The queryType must be QUERY_GET_ACTIVE_LIVES.
+            - The token must be a valid token of the teacher.
+            - The cursor must be 0 on the first page, then the cursor returned by the previous page.
+            - The listing is finished when the returned cursor is 0.
+            
+            **Example Path JSON:**
+            ```json
+            {
+                path: "/live/v1/get/active/lives/QUERY_GET_ACTIVE_LIVES?login=<login>&code=<code>&cursor=0&size=10",
+            }
+            ```
+            
+            **Example Headers JSON:**
+            ```json
+            {
+                "Authorization": "Bearer <your-token>",
+            }
+            ```
+            
+            **Example Response Body JSON:**
+            ```json
+                {
+                      "content": [
+                            {
+                                  "key": "Live-ABC123-login#code",
+                                  "status": "PROGRESS",
+                                  "teacher": {
+                                        "login": "login",
+                                        "code": "code",
+                                        "control": {
+                                          "currentPosition": 1
+                                        }
+                                  },
+                                  "lobby": [
+                                        "user1#code"
+                                  ]
+                            }
+                      ],
+                      "cursor": "0",
+                      "finished": true
+                }
+            ```
+
+            For more details, contact the developer team.
+            """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lives get successfully", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageable.class)) }),
+                    @ApiResponse(responseCode = "400", description = "Error", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) })
+            }
+    )
+    @GetMapping(path = Router.ROUTER_GET_ACTIVE_LIVES + "/{queryType}", produces = "application/json")
+    @PreAuthorize("hasAnyAuthority('SCOPE_TEACHER')")
+    Mono<ResponseEntity<CursorPageable<Live>>> getActiveLives(
+            @PathVariable(Request.QUERY_TYPE) String queryType,
+            @RequestHeader(Request.AUTHORIZATION) String authorization,
+            @RequestParam(name = Request.LOGIN) String login,
+            @RequestParam(name = Request.CODE) String code,
+            @RequestParam(name = Request.CURSOR, required = false, defaultValue = "0") String cursor,
+            @RequestParam(name = Request.SIZE, required = false, defaultValue = "10") Integer size
+    ) throws GlobalException;
+
+    @Operation(
+            security = @SecurityRequirement(name = "bearer-key"),
+            description = """
+            ### Retrieve the leaderboard of a live class
+            Use this endpoint to retrieve the pupils with the highest scores of the live class
+            - The queryType must be QUERY_GET_LEADERBOARD.
+            - The token must be a valid token.
+            - Each hit scores the reward of its item, the rank starts at 1.
+            - The size is the number of pupils of the top, between 1 and 100.
+            - With pupilLogin and pupilCode the standing of that pupil is returned too, when the pupil answered.
+            
+            **Example Path JSON:**
+            ```json
+            {
+                path: "/live/v1/get/leaderboard/QUERY_GET_LEADERBOARD/<key-live>?size=3&pupilLogin=<login>&pupilCode=<code>",
+            }
+            ```
+            
+            **Example Headers JSON:**
+            ```json
+            {
+                "Authorization": "Bearer <your-token>",
+            }
+            ```
+            
+            **Example Response Body JSON:**
+            ```json
+                {
+                      "key": "Live-ABC123-login#code",
+                      "pupils": 24,
+                      "top": [
+                            { "pupil": "user1#code", "score": 75, "rank": 1 },
+                            { "pupil": "user2#code", "score": 50, "rank": 2 },
+                            { "pupil": "user3#code", "score": 25, "rank": 3 }
+                      ],
+                      "pupil": { "pupil": "user9#code", "score": 10, "rank": 12 }
+                }
+            ```
+
+            For more details, contact the developer team.
+            """,
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Leaderboard get successfully", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = Leaderboard.class)) }),
+                    @ApiResponse(responseCode = "400", description = "Error", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "404", description = "Not Found", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) }),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = { @Content(mediaType = "application/json", schema = @Schema(implementation = GlobalException.class)) })
+            }
+    )
+    @GetMapping(path = Router.ROUTER_GET_LEADERBOARD + "/{queryType}" + "/{keyLive}", produces = "application/json")
+    @PreAuthorize("hasAnyAuthority('SCOPE_ANONYMOUS', 'SCOPE_TEACHER', 'SCOPE_STUDENT')")
+    Mono<ResponseEntity<Leaderboard>> getLeaderboard(
+            @PathVariable(Request.QUERY_TYPE) String queryType,
+            @PathVariable(Request.KEY_LIVE) String keyLive,
+            @RequestHeader(Request.AUTHORIZATION) String authorization,
+            @RequestParam(name = Request.SIZE, required = false, defaultValue = "10") Integer size,
+            @RequestParam(name = Request.PUPIL_LOGIN, required = false) String pupilLogin,
+            @RequestParam(name = Request.PUPIL_CODE, required = false) String pupilCode
+    ) throws GlobalException;
 }
@@ -1,8 +1,12 @@
 package com.pi.core_live.ports.out;
 
+import com.pi.core_live.core.domain.Leaderboard;
 import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveEvent;
 
 import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CursorPageable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -18,4 +22,50 @@ public interface ILiveQueryCacheOut {
      * @Trhows GlobalException
      */
     Mono<Live> fetchLive(final String keyLive) throws GlobalException;
+
+    /**
+     * This method is used to page through the lives of a teacher that are still running, PENDING or PROGRESS.
+     * A page may be empty before the last one, the paging ends when the cursor is 0.
+     *
+     * @param loginTeacher the login of the teacher
+     * @param codeTeacher the code of the teacher
+     * @param cursor the cursor returned by the previous page, 0 on the first page
+     * @param size the hint of lives per page
+     * @return a Mono that emits the lives of the page and the next cursor, 0 when finished
+     * @Trhows GlobalException
+     */
+    Mono<CursorPageable<Live>> fetchActiveLives(final String loginTeacher, final String codeTeacher, final String cursor, final Integer size) throws GlobalException;
+
+    /**
+     * This method is used to fetch the top of the leaderboard of a live class and, when a pupil is given,
+     * the standing of that pupil.
+     *
+     * @param keyLive the key of the live class
+     * @param size the number of pupils of the top
+     * @param pupilLogin the login of the pupil, or null
+     * @param pupilCode the code of the pupil, or null
+     * @return a Mono that emits the leaderboard of the live class
+     * @Trhows GlobalException
+     */
+    Mono<Leaderboard> fetchLeaderboard(final String keyLive, final Integer size, final String pupilLogin, final String pupilCode) throws GlobalException;
+
+    /**
+     * This method is used to stream a live class. The current live is emitted on subscribe
+     * and again each time a change event of the live is published, until the live ends.
+     *
+     * @param keyLive the key of the live class
+     * @return a Flux that emits the live class on subscribe and after each change
+     * @Trhows GlobalException
+     */
+    Flux<Live> streamLive(final String keyLive) throws GlobalException;
+
+    /**
+     * This method is used to stream the changes of a live class. A snapshot of the live is emitted
+     * on subscribe, then only the change events with a version greater than the snapshot, until the live ends.
+     *
+     * @param keyLive the key of the live class
+     * @return a Flux that emits the snapshot of the live class and then its change events
+     * @Trhows GlobalException
+     */
+    Flux<LiveEvent> streamLiveEvents(final String keyLive) throws GlobalException;
 }
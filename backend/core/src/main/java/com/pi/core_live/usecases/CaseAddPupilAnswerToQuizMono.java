@@ -64,7 +64,7 @@ public class CaseAddPupilAnswerToQuizMono implements Callable<Mono<Live>>, IToke
     public Mono<Live> call() throws GlobalException {
         LOG.info("Init CaseAddPupilAnswerToQuizMono call.");
         dto.validate();
-        checkCredentials(jwtDecoder, dto.token(), dto.pupilLogin(), dto.pupilCode());
+        checkCredentials(jwtDecoder, dto.token(), dto.pupilLogin(), dto.pupilCode(), dto.keyLive());
         var response = liveCommandOut.addPupilAnswerToQuiz(dto.pupilLogin(), dto.pupilCode(), dto.keyLive(), dto.answerItem());
         LOG.info("End CaseAddPupilAnswerToQuizMono call.");
         return response;
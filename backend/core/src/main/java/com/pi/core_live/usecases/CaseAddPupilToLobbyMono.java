@@ -74,7 +74,7 @@ public class CaseAddPupilToLobbyMono implements Callable<Mono<Live>>, ITokenChec
     public Mono<Live> call() throws GlobalException {
         LOG.info("Init CaseAddPupilToLobbyMono call.");
         dto.validate();
-        checkCredentials(jwtDecoder, dto.token(), dto.pupilLogin(), dto.pupilCode());
+        checkCredentials(jwtDecoder, dto.token(), dto.pupilLogin(), dto.pupilCode(), dto.keyLive());
         var response = liveCommandOut.addPupilToLobby(dto.pupilLogin(), dto.pupilCode(), dto.keyLive());
         LOG.info("End CaseAddPupilToLobbyMono call.");
         return response;
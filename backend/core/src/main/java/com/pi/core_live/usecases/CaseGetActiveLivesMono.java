@@ -0,0 +1,73 @@
+package com.pi.core_live.usecases;
+
+import com.pi.core_auth.core.utils.interfaces.ITokenCheck;
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.dtos.QueryDto;
+import com.pi.core_live.ports.out.ILiveQueryCacheOut;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CursorPageable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+@Service
+public class CaseGetActiveLivesMono implements Callable<Mono<CursorPageable<Live>>>, ITokenCheck {
+    private static final Logger LOG = LoggerFactory.getLogger(CaseGetActiveLivesMono.class);
+
+    private ILiveQueryCacheOut liveQueryOut;
+    private JwtDecoder jwtDecoder;
+    private QueryDto dto;
+
+    public CaseGetActiveLivesMono() { }
+
+    /**
+     * Sets the ILiveQueryCacheOut that will be used to page through the active lives.
+     *
+     * @param liveQueryOut ILiveQueryCacheOut that will be used to page through the active lives.
+     */
+    public void setServices(ILiveQueryCacheOut liveQueryOut) {
+        this.liveQueryOut = liveQueryOut;
+    }
+
+    /**
+     * Sets the JwtDecoder to use for validating the JWT token.
+     * @param jwtDecoder the JwtDecoder to use for validating the JWT token.
+     */
+    public void setDecoder(JwtDecoder jwtDecoder) { this.jwtDecoder = jwtDecoder; }
+
+    /**
+     * Sets the QueryDto that will be used to page through the active lives.
+     *
+     * @param dto the QueryDto to use for paging through the active lives.
+     * @throws NullPointerException if {@code dto} is null.
+     */
+    public void setDto(QueryDto dto) {
+        this.dto = Objects.requireNonNull(dto, "Dto cannot be null");
+    }
+
+    /**
+     * Executes the use case to page through the active lives of a teacher.
+     *
+     * <p>This use case validates the {@link QueryDto} and checks the teacher's credentials.
+     *
+     * @return a {@link Mono} that emits a {@link CursorPageable} with the lives of the page.
+     *
+     * @throws GlobalException if the use case fails.
+     */
+    @Override
+    public Mono<CursorPageable<Live>> call() throws GlobalException {
+        LOG.info("Init CaseGetActiveLivesMono call.");
+        dto.validate();
+        checkCredentials(jwtDecoder, dto.token(), dto.login(), dto.code());
+        var response = liveQueryOut.fetchActiveLives(dto.login(), dto.code(), dto.cursor(), dto.size());
+        LOG.info("End CaseGetActiveLivesMono call.");
+        return response;
+    }
+}
@@ -0,0 +1,43 @@
+package com.pi.core_live.usecases;
+
+import com.pi.core_live.core.domain.Leaderboard;
+import com.pi.core_live.core.dtos.QueryDto;
+import com.pi.core_live.ports.out.ILiveQueryCacheOut;
+import com.pi.utils.exceptions.GlobalException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+@Service
+public class CaseGetLeaderboardMono implements Callable<Mono<Leaderboard>> {
+    private static final Logger LOG = LoggerFactory.getLogger(CaseGetLeaderboardMono.class);
+
+    private ILiveQueryCacheOut liveQueryOut;
+
+    private QueryDto dto;
+
+    public CaseGetLeaderboardMono() { }
+
+    public void setServices(ILiveQueryCacheOut liveQueryOut) {
+        this.liveQueryOut = liveQueryOut;
+    }
+
+    public void setDto(QueryDto dto) {
+        this.dto = Objects.requireNonNull(dto, "Dto cannot be null");
+    }
+
+    @Override
+    public Mono<Leaderboard> call() throws GlobalException {
+        LOG.info("Init CaseGetLeaderboardMono call.");
+        dto.validate();
+        var response = liveQueryOut.fetchLeaderboard(dto.keyLive(), dto.size(), dto.pupilLogin(), dto.pupilCode());
+        LOG.info("End CaseGetLeaderboardMono call.");
+        return response;
+    }
+}
@@ -0,0 +1,43 @@
+package com.pi.core_live.usecases;
+
+import com.pi.core_live.core.domain.LiveEvent;
+import com.pi.core_live.core.dtos.QueryDto;
+import com.pi.core_live.ports.out.ILiveQueryCacheOut;
+import com.pi.utils.exceptions.GlobalException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+@Service
+public class CaseGetLiveEventsFlux implements Callable<Flux<LiveEvent>> {
+    private static final Logger LOG = LoggerFactory.getLogger(CaseGetLiveEventsFlux.class);
+
+    private ILiveQueryCacheOut liveQueryOut;
+
+    private QueryDto dto;
+
+    public CaseGetLiveEventsFlux() { }
+
+    public void setServices(ILiveQueryCacheOut liveQueryOut) {
+        this.liveQueryOut = liveQueryOut;
+    }
+
+    public void setDto(QueryDto dto) {
+        this.dto = Objects.requireNonNull(dto, "Dto cannot be null");
+    }
+
+    @Override
+    public Flux<LiveEvent> call() throws GlobalException {
+        LOG.info("Init CaseGetLiveEventsFlux call.");
+        dto.validate();
+        var response = liveQueryOut.streamLiveEvents(dto.keyLive());
+        LOG.info("End CaseGetLiveEventsFlux call.");
+        return response;
+    }
+}
@@ -0,0 +1,43 @@
+package com.pi.core_live.usecases;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.dtos.QueryDto;
+import com.pi.core_live.ports.out.ILiveQueryCacheOut;
+import com.pi.utils.exceptions.GlobalException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+@Service
+public class CaseGetLiveStreamFlux implements Callable<Flux<Live>> {
+    private static final Logger LOG = LoggerFactory.getLogger(CaseGetLiveStreamFlux.class);
+
+    private ILiveQueryCacheOut liveQueryOut;
+
+    private QueryDto dto;
+
+    public CaseGetLiveStreamFlux() { }
+
+    public void setServices(ILiveQueryCacheOut liveQueryOut) {
+        this.liveQueryOut = liveQueryOut;
+    }
+
+    public void setDto(QueryDto dto) {
+        this.dto = Objects.requireNonNull(dto, "Dto cannot be null");
+    }
+
+    @Override
+    public Flux<Live> call() throws GlobalException {
+        LOG.info("Init CaseGetLiveStreamFlux call.");
+        dto.validate();
+        var response = liveQueryOut.streamLive(dto.keyLive());
+        LOG.info("End CaseGetLiveStreamFlux call.");
+        return response;
+    }
+}
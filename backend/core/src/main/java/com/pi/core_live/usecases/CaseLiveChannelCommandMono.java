@@ -0,0 +1,126 @@
+package com.pi.core_live.usecases;
+
+import com.pi.core_auth.core.utils.interfaces.ITokenCheck;
+import com.pi.core_auth.core.utils.models.Response;
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.dtos.CommandDto;
+import com.pi.core_live.core.enums.CommandType;
+import com.pi.core_live.ports.out.ILiveCommandCacheOut;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+import com.pi.utils.services.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+@Service
+public class CaseLiveChannelCommandMono implements Callable<Mono<Live>>, ITokenCheck {
+    private static final Logger LOG = LoggerFactory.getLogger(CaseLiveChannelCommandMono.class);
+
+    private ILiveCommandCacheOut liveCommandOut;
+    private Response credentials;
+    private CommandDto dto;
+
+    public CaseLiveChannelCommandMono() { }
+
+    /**
+     * Sets the ILiveCommandCacheOut that will be used to run the commands of the channel.
+     *
+     * @param liveCommandOut the ILiveCommandCacheOut to use for running the commands.
+     */
+    public void setServices(ILiveCommandCacheOut liveCommandOut) {
+        this.liveCommandOut = liveCommandOut;
+    }
+
+    /**
+     * Sets the credentials decoded from the token when the channel was opened.
+     *
+     * @param credentials the scope, login and code of the token of the channel.
+     * @throws NullPointerException if {@code credentials} is null.
+     */
+    public void setCredentials(Response credentials) {
+        this.credentials = Objects.requireNonNull(credentials, "Credentials cannot be null");
+    }
+
+    /**
+     * Sets the CommandDto built from a frame of the channel.
+     *
+     * @param dto the CommandDto to run.
+     * @throws NullPointerException if {@code dto} is null.
+     */
+    public void setDto(CommandDto dto) {
+        this.dto = Objects.requireNonNull(dto, "Dto cannot be null");
+    }
+
+    /**
+     * Runs a command received on the channel of a live.
+     *
+     * <p>The command is validated as on its REST endpoint and checked against the credentials of the
+     * channel, its scopes and then its login and code, without decoding the token again. Only the
+     * commands sent while a live runs are accepted: the navigation of the teacher, the lobby and the
+     * answers of the pupils.</p>
+     *
+     * @return a {@link Mono} that emits the live after the command.
+     *
+     * @throws GlobalException if the command is not accepted or fails.
+     */
+    @Override
+    public Mono<Live> call() throws GlobalException {
+        LOG.info("Init CaseLiveChannelCommandMono call.");
+        dto.validate();
+        var commandType = Utils.ifEnumGet(dto.commandType(), CommandType.class);
+        checkScope(commandType);
+        var response = switch (commandType) {
+            case COMMAND_PATCH_NEXT_POSITION -> {
+                checkCredentials(credentials, dto.login(), dto.code());
+                yield liveCommandOut.nextPosition(dto.keyLive());
+            }
+            case COMMAND_PATCH_PREVIOUS_POSITION -> {
+                checkCredentials(credentials, dto.login(), dto.code());
+                yield liveCommandOut.previousPosition(dto.keyLive());
+            }
+            case COMMAND_PATCH_REMOVE_PUPIL_FROM_LOBBY -> {
+                checkCredentials(credentials, dto.login(), dto.code());
+                yield liveCommandOut.removePupilFromLobby(dto.pupilLogin(), dto.pupilCode(), dto.keyLive());
+            }
+            case COMMAND_PATCH_ADD_PUPIL_TO_LOBBY -> {
+                checkCredentials(credentials, dto.pupilLogin(), dto.pupilCode(), dto.keyLive());
+                yield liveCommandOut.addPupilToLobby(dto.pupilLogin(), dto.pupilCode(), dto.keyLive());
+            }
+            case COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ -> {
+                checkCredentials(credentials, dto.pupilLogin(), dto.pupilCode(), dto.keyLive());
+                yield liveCommandOut.addPupilAnswerToQuiz(dto.pupilLogin(), dto.pupilCode(), dto.keyLive(), dto.answerItem());
+            }
+            default -> {
+                LOG.warn("{} - Command not accepted on the live channel.", SystemCodeEnum.C131PI.name());
+                throw GlobalException.builder()
+                        .status(400)
+                        .alert(new CustomAlert(SystemCodeEnum.C131PI))
+                        .build();
+            }
+        };
+        LOG.info("End CaseLiveChannelCommandMono call.");
+        return response;
+    }
+
+    /**
+     * Checks that the token of the channel has one of the scopes allowed for the command,
+     * as the {@code PreAuthorize} of its REST endpoint does.
+     */
+    protected void checkScope(CommandType commandType) {
+        if (credentials.scope == null || Collections.disjoint(credentials.scope, commandType.getPermissions()))
+            throw GlobalException.builder()
+                    .status(403)
+                    .details("Scope is not allowed for " + commandType.name())
+                    .alert(new CustomAlert(SystemCodeEnum.C051PI))
+                    .build();
+    }
+}
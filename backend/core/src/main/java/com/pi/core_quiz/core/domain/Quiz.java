@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.pi.core_quiz.core.domain.itens.IQuizItem;
 import com.pi.utils.services.Utils;
 
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -13,7 +12,7 @@ public class Quiz {
     private String login;
     private String code;
     private String name;
-    private Set<IQuizItem> quizes;
+    private QuizItems quizes;
     private Set<String> categories;
 
     public Quiz() { }
@@ -23,7 +22,7 @@ public class Quiz {
         this.login = login;
         this.code = code;
         this.name = name;
-        this.quizes = new LinkedHashSet<>();
+        this.quizes = new QuizItems();
         this.categories = categories;
     }
 
@@ -32,7 +31,7 @@ public class Quiz {
     public Quiz login(String login) { this.login = login; return this; }
     public Quiz code(String code) { this.code = code; return this; }
     public Quiz name(String name) { this.name = name; return this; }
-    public Quiz quizes(Set<IQuizItem> quizes) { this.quizes = quizes; return this; }
+    public Quiz quizes(Set<IQuizItem> quizes) { this.quizes = quizes == null ? null : quizes instanceof QuizItems items ? items : new QuizItems(quizes); return this; }
     public Quiz categories(Set<String> categories) { this.categories = categories; return this; }
 
     public Quiz build() { return this; }
@@ -44,22 +43,25 @@ public class Quiz {
     public Set<IQuizItem> getQuizes() { return quizes; }
     public Set<String> getCategories() { return categories; }
 
+    public IQuizItem getQuizItem(Integer position) {
+        return quizes.get(position);
+    }
+
     public void addQuizItem(Integer position, IQuizItem quizItem) {
         quizItem.setPosition(position);
         quizes.add(quizItem);
     }
 
     public void updateQuizItem(Integer position, IQuizItem item) {
-        quizes.removeIf(quizItem -> quizItem.getPosition().equals(position));
         item.setPosition(position);
         quizes.add(item);
     }
 
     public void deleteQuizItem(Integer position) {
-        quizes.removeIf(quizItem -> quizItem.getPosition().equals(position));
+        quizes.removePosition(position);
     }
 
     public Boolean exist(Integer position) {
-        return quizes.stream().anyMatch(quizItem -> quizItem.getPosition().equals(position));
+        return quizes.containsPosition(position);
     }
 }
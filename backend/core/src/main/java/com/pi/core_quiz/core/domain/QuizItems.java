@@ -0,0 +1,76 @@
+package com.pi.core_quiz.core.domain;
+
+import com.pi.core_quiz.core.domain.itens.IQuizItem;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The items of a quiz, indexed by position.
+ *
+ * <p>The items are kept in a map by position instead of a hash set, their hash changes with the
+ * answers of the live, so the lookups by position are O(log n) and the iteration follows the positions.
+ * It is still a {@link java.util.Set} of items, so it is written to JSON and Mongo as the same array,
+ * and adding an item replaces the item at its position.</p>
+ */
+public class QuizItems extends AbstractSet<IQuizItem> {
+    private final TreeMap<Integer, IQuizItem> items = new TreeMap<>();
+
+    public QuizItems() { }
+
+    public QuizItems(Collection<? extends IQuizItem> items) {
+        addAll(items);
+    }
+
+    /**
+     * Puts the item at its position, replacing the item at the same position.
+     *
+     * @param item the item with its position
+     * @return {@code true} unless the same item was already at the position
+     */
+    @Override
+    public boolean add(IQuizItem item) {
+        var position = Objects.requireNonNull(item.getPosition(), "Quiz item position cannot be null");
+        return !item.equals(items.put(position, item));
+    }
+
+    public IQuizItem get(Integer position) {
+        return position == null ? null : items.get(position);
+    }
+
+    public boolean containsPosition(Integer position) {
+        return position != null && items.containsKey(position);
+    }
+
+    public IQuizItem removePosition(Integer position) {
+        return position == null ? null : items.remove(position);
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return object instanceof IQuizItem item && item.equals(get(item.getPosition()));
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        return contains(object) && removePosition(((IQuizItem) object).getPosition()) != null;
+    }
+
+    @Override
+    public Iterator<IQuizItem> iterator() {
+        return items.values().iterator();
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public void clear() {
+        items.clear();
+    }
+}
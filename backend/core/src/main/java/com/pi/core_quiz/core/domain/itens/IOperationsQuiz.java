@@ -1,15 +1,26 @@
 package com.pi.core_quiz.core.domain.itens;
 
+import com.pi.core_quiz.core.enums.StatusItem;
+
 import java.util.List;
 import java.util.Map;
 
 public interface IOperationsQuiz<T> {
     List<String> getAnswers();
     Map<String, List<T>> getAnswersLive();
+    Integer getTimerSeconds();
+    StatusItem getStatus();
+    void setStatus(StatusItem status);
 
-    void addAnswerOperationLive(String login, String code, List<String> answerItem);
+    /**
+     * Records the answer of a pupil in the live.
+     *
+     * @param pupil the {@code login#code} of the pupil, as registered in the evaluation of the live
+     * @param answerItem the answer of the pupil
+     */
+    void addAnswerOperationLive(String pupil, List<String> answerItem);
 
-    default void addAnswerLive(String login, String code, List<T> value) {
-        getAnswersLive().put(login + "#" + code, value);
+    default void addAnswerLive(String pupil, List<T> value) {
+        getAnswersLive().put(pupil, value);
     }
 }
@@ -94,7 +94,7 @@ public final class QuizMultipleChoice implements IQuizItem, IOperationsQuiz<Stri
     public void setStatus(StatusItem status) { this.status = status; }
 
     @Override
-    public void addAnswerOperationLive(String login, String code, List<String> value) { addAnswerLive(login,code,value); }
+    public void addAnswerOperationLive(String pupil, List<String> value) { addAnswerLive(pupil, value); }
 
     @Override
     public boolean equals(Object obj) {
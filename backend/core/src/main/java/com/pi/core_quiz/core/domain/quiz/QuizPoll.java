@@ -78,7 +78,7 @@ public final class QuizPoll implements IQuizItem, IOperationsQuiz<String> {
     public void setStatus(StatusItem status) { this.status = status; }
 
     @Override
-    public void addAnswerOperationLive(String login, String code, List<String> value) { addAnswerLive(login,code,value); }
+    public void addAnswerOperationLive(String pupil, List<String> value) { addAnswerLive(pupil, value); }
 
     @Override
     public boolean equals(Object obj) {
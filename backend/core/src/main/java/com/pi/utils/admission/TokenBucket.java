@@ -0,0 +1,70 @@
+package com.pi.utils.admission;
+
+/**
+ * Token bucket rate limiter.
+ *
+ * <p>The bucket holds up to {@code burst} tokens and gains {@code rate} tokens per second, refilled lazily on each
+ * call from the time elapsed since the previous one, so an idle bucket costs nothing. Each admitted request takes
+ * a token, which lets a burst through at once and then holds the requests to the rate. The bucket is not thread
+ * safe, the callers guard it.</p>
+ */
+public class TokenBucket {
+    private final double rate;
+    private final double burst;
+    private double tokens;
+    private long last;
+
+    /**
+     * Builds a full bucket.
+     *
+     * @param rate the tokens gained per second
+     * @param burst the most tokens the bucket holds
+     * @param now the current time in milliseconds
+     */
+    public TokenBucket(double rate, double burst, long now) {
+        this.rate = rate;
+        this.burst = burst;
+        this.tokens = burst;
+        this.last = now;
+    }
+
+    /**
+     * Takes a token.
+     *
+     * @param now the current time in milliseconds
+     * @return 0 when a token was taken, otherwise the milliseconds until the next token
+     */
+    public long take(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * 1000 / rate);
+    }
+
+    /**
+     * Gives back a token taken for a request that was not run after all.
+     */
+    public void giveBack() {
+        tokens = Math.min(burst, tokens + 1);
+    }
+
+    /**
+     * Tells whether the bucket is full, so dropping it and building a new one changes nothing.
+     *
+     * @param now the current time in milliseconds
+     * @return {@code true} when the bucket holds {@code burst} tokens
+     */
+    public boolean isFull(long now) {
+        refill(now);
+        return tokens >= burst;
+    }
+
+    private void refill(long now) {
+        if (now > last) {
+            tokens = Math.min(burst, tokens + (now - last) * rate / 1000);
+            last = now;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.pi.utils.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring of the nodes of a cluster.
+ *
+ * <p>Each node is placed on the ring at several points, its virtual nodes, and a key belongs to the
+ * first point found clockwise from its hash. When a node joins or leaves, only the keys of the arcs
+ * it gains or loses change owner, about one key in the number of nodes, and the virtual nodes spread
+ * the keys evenly between the nodes. The ring is immutable, a new ring is built on each change of
+ * the nodes.</p>
+ */
+public class HashRing {
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes;
+
+    /**
+     * Builds a ring.
+     *
+     * @param nodes the ids of the nodes
+     * @param replicas the number of virtual nodes of each node
+     */
+    public HashRing(Collection<String> nodes, int replicas) {
+        this.nodes = nodes.stream().distinct().sorted().toList();
+        for (var node : this.nodes) {
+            for (int i = 0; i < replicas; i++) ring.put(hash(node + "#" + i), node);
+        }
+    }
+
+    /**
+     * Finds the node that owns a key.
+     *
+     * @param key the key
+     * @return the id of the owner, or {@code null} when the ring has no node
+     */
+    public String owner(String key) {
+        if (ring.isEmpty()) return null;
+        var point = ring.ceilingEntry(hash(key));
+        return (point == null ? ring.firstEntry() : point).getValue();
+    }
+
+    public List<String> getNodes() { return nodes; }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes, with the finalizer of MurmurHash3 so close strings land far apart.
+     */
+    static long hash(String value) {
+        var hash = 0xcbf29ce484222325L;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
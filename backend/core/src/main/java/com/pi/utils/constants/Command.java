@@ -61,4 +61,9 @@ public class Command {
      * Represents the "quiz item type" value, typically used for quiz item operations.
      */
     public static final String TYPE_ITEM = "typeItem";
+
+    /**
+     * Represents the "count" value, typically used for the number of items to create at once.
+     */
+    public static final String COUNT = "count";
 }
\ No newline at end of file
@@ -39,11 +39,23 @@ public class Request {
      */
     public static final String SIZE = "size";
 
+    /**
+     * Represents the "cursor" request parameter, used to specify the cursor returned
+     * by the previous page for cursor pagination.
+     */
+    public static final String CURSOR = "cursor";
+
     /**
      * Represents the "keyLive" request parameter, used to specify the key of the live class.
      */
     public static final String KEY_LIVE = "keyLive";
 
+    /**
+     * Represents the "access_token" request parameter, used to send the token on requests
+     * that cannot set the Authorization header, like the WebSocket handshake of a browser.
+     */
+    public static final String ACCESS_TOKEN = "access_token";
+
     /**
      * Represents the "quizKey" request parameter, used to specify the key of the quiz.
      */
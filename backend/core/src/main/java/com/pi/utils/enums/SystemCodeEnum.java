@@ -38,10 +38,12 @@ public enum SystemCodeEnum {
     C011PI("Field token is necessary", "Provide correct value, string example: | Bearer <your_token> |"),
 
     // RANGE Command dto auth---- //
-    C030PI("Field command is necessary", "Provide correct value, string example: | POST_SIGN_IN_TOKEN or POST_ANONYMOUS_TOKEN |"),
+    C030PI("Field command is necessary", "Provide correct value, string example: | POST_SIGN_IN_TOKEN, POST_ANONYMOUS_TOKEN, POST_PUPIL_TOKEN or POST_PUPIL_TOKENS |"),
     C031PI("Field login is necessary", "Provide correct value, the login must be between 8 and 15 characters uppercase letters"),
     C032PI("Field code is necessary", "Provide correct value, the code must be at least 6 numbers"),
     C033PI("Field password is necessary", "Provide correct value, the password must between 15 and 25 characters long, containing at least one lowercase letter, one uppercase letter, one digit, and one special character !?@#$%&"),
+    C034PI("Field keyLive is necessary", "Provide the key of the live the pupil joins"),
+    C035PI("Field count is necessary", "Provide the number of pupil tokens, at least 1 and at most the limit of a lobby"),
 
     // RANGE Authorization and Authentication ---- //
     C050PI("Error in Authentication", "Your user not have access to this resource"),
@@ -49,6 +51,7 @@ public enum SystemCodeEnum {
     C052PI("User email already exist", "Introduce another credentials email to create a new user"),
     C053PI("User login and code already exist", "Introduce another credentials login and code to create a new user"),
     CO54PI("Old password not match", "Check your password"),
+    C055PI("Too many passwords to check at once", "Send the request again after the seconds of the Retry-After header"),
 
     // RANGE Token ---- //
     C060PI("Unknown result token validation", "Check your token format"),
@@ -79,11 +82,17 @@ public enum SystemCodeEnum {
     C110PI("Field queryType is necessary", "Provide correct value, string example: | QUERY_GET_QUIZ, QUERY_GET_QUIZ_PROJECTION, QUERY_GET_QUIZ_ITEM |"),
 
     // RAGE Query dto live ---- //
-    C120PI("Field queryType is necessary", "Provide correct value, string example: | QUERY_GET_LIVE |"),
+    C120PI("Field queryType is necessary", "Provide correct value, string example: | QUERY_GET_LIVE, QUERY_GET_LIVE_STREAM, QUERY_GET_LIVE_EVENTS, QUERY_GET_ACTIVE_LIVES, QUERY_GET_LEADERBOARD |"),
     C121PI("Field key is necessary", "Provide key live value, string example: | <key_quiz> |"),
+    C122PI("Field cursor is necessary", "Provide cursor value returned by the previous page, string example: | 0 |"),
+    C123PI("Field size is invalid", "Provide size value between 1 and 100, integer example: | 10 |"),
 
     // RAGE Command dto live ---- //
     C130PI("Field commandType is necessary", "Provide correct value, string example: | COMMAND_POST_NEW_LIVE, COMMAND_PATCH_NEXT_POSITION, COMMAND_PATCH_PREVIOUS_POSITION, COMMAND_PATCH_REMOVE_PUPIL_FROM_LOBBY, COMMAND_PATCH_ADD_PUPIL_TO_LOBBY, COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ, COMMAND_PATCH_END_LIVE |"),
+    C131PI("Field commandType is not accepted on the live channel", "Provide correct value, string example: | COMMAND_PATCH_NEXT_POSITION, COMMAND_PATCH_PREVIOUS_POSITION, COMMAND_PATCH_REMOVE_PUPIL_FROM_LOBBY, COMMAND_PATCH_ADD_PUPIL_TO_LOBBY, COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ |"),
+    C132PI("Frame is invalid", "Provide a json text frame, example: | {\"id\":\"1\",\"commandType\":\"COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ\",\"pupilLogin\":\"<login>\",\"pupilCode\":\"<code>\",\"answerItem\":[\"A\"]} |"),
+    C133PI("Item is closed to answers", "The timer of the item ran out, wait for the next item of the live"),
+    C134PI("Live is too busy to take the command", "Send the command again after the seconds of the Retry-After header"),
     ;
 
     private final String problem;
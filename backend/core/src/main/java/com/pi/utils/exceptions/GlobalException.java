@@ -52,6 +52,7 @@ public class GlobalException extends RuntimeException {
     private String message;
     private Integer status;
     private CustomAlert alert;
+    private Long retryAfter;
 
     // Construct Pattern - Builder
     public static GlobalException builder() { return new GlobalException(); }
@@ -64,6 +65,7 @@ public class GlobalException extends RuntimeException {
     }
 
     public GlobalException details(String details) { this.details = details; return this; }
+    public GlobalException retryAfter(Long retryAfter) { this.retryAfter = retryAfter; return this; }
 
     public GlobalException build() { return this; }
 
@@ -72,6 +74,7 @@ public class GlobalException extends RuntimeException {
     public Integer getStatus() { return this.status; }
     public CustomAlert getAlert() { return this.alert; }
     public String getDetails() { return this.details; }
+    public Long getRetryAfter() { return this.retryAfter; }
 
     // Mapper to Json
     public Map<String, Object> toJson() {
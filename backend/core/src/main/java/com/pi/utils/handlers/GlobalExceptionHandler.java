@@ -5,6 +5,7 @@ import java.util.Map;
 import com.pi.utils.enums.SystemCodeEnum;
 import com.pi.utils.exceptions.GlobalException;
 import com.pi.utils.models.CustomAlert;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
@@ -71,13 +72,16 @@ public class GlobalExceptionHandler {
 
     /**
      * Handles exceptions of type {@link GlobalException}.
+     * The seconds of {@code retryAfter}, when present, are sent in the {@code Retry-After} header.
      *
      * @param ex the {@link GlobalException} to handle
      * @return a {@link ResponseEntity} containing the error details in JSON format
      */
     @ExceptionHandler(GlobalException.class)
     public ResponseEntity<Map<String, Object>> handleGlobalException(GlobalException ex) {
-        return ResponseEntity.status(ex.getStatus()).body(ex.toJson());
+        var response = ResponseEntity.status(ex.getStatus());
+        if (ex.getRetryAfter() != null) response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter()));
+        return response.body(ex.toJson());
     }
 
     /**
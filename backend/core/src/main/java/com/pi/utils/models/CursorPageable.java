@@ -0,0 +1,20 @@
+package com.pi.utils.models;
+
+import java.util.List;
+
+public class CursorPageable<T> {
+    private List<T> content;
+    private String cursor;
+
+    public static <T> CursorPageable<T> builder() { return new CursorPageable<T>(); }
+
+    public CursorPageable<T> content(List<T> content) { this.content = content; return this; }
+    public CursorPageable<T> cursor(String cursor) { this.cursor = cursor; return this; }
+
+    public CursorPageable<T> build() { return this; }
+
+    // Getters
+    public List<T> getContent() { return content; }
+    public String getCursor() { return cursor; }
+    public boolean isFinished() { return "0".equals(cursor); }
+}
@@ -0,0 +1,145 @@
+package com.pi.utils.mongo.checkpoint;
+
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+import com.pi.utils.services.Utils;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incremental checkpoints of the running lives in Mongo.
+ *
+ * <p>The document of a live is flattened into the paths of its fields, down to the columns of the
+ * answer matrix, and the fingerprint of each path is kept for the lives checkpointed lately. A new
+ * checkpoint of a live only {@code $set}s the paths that changed since the last one written and
+ * {@code $unset}s the paths that are gone, so a pupil answer costs the column of its position and the
+ * counters it moved. The fields that never change, as the quiz, are only sent with the first checkpoint
+ * and written on insert. A live not remembered, after a restart or an eviction, is written whole.</p>
+ */
+public class LiveCheckpoints {
+    public static final String CHECKPOINT_ON = "checkpointOn";
+
+    private static final Set<String> INSERT_ONLY = Set.of("_class", "startedOn", "quiz");
+    private static final Set<String> IGNORED = Set.of("_id", "key");
+    private static final int DEPTH = 4;
+
+    private final Map<String, Map<String, Long>> written;
+
+    public LiveCheckpoints(int capacity) {
+        this.written = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Long>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Prepares the update of the checkpoint of a live.
+     *
+     * @param key the canonical key of the live
+     * @param document the live written by the Mongo converter
+     * @return the checkpoint, or {@code null} when nothing changed since the last checkpoint written
+     */
+    public Checkpoint prepare(String key, Document document) {
+        var paths = new LinkedHashMap<String, Object>();
+        document.forEach((field, value) -> {
+            if (!INSERT_ONLY.contains(field) && !IGNORED.contains(field)) flatten(field, value, 1, paths);
+        });
+        var fingerprints = new HashMap<String, Long>();
+        paths.forEach((path, value) -> fingerprints.put(path, fingerprint(value)));
+
+        var previous = written(key);
+        var update = new Update();
+        var changed = false;
+        for (var path : paths.entrySet()) {
+            if (previous == null || !fingerprints.get(path.getKey()).equals(previous.get(path.getKey()))) {
+                update.set(path.getKey(), path.getValue());
+                changed = true;
+            }
+        }
+        if (previous != null) {
+            for (var path : previous.keySet()) {
+                if (!fingerprints.containsKey(path) && fingerprints.keySet().stream().noneMatch(current -> nested(path, current))) {
+                    update.unset(path);
+                    changed = true;
+                }
+            }
+        }
+        if (!changed) return null;
+
+        if (previous == null) {
+            INSERT_ONLY.stream().filter(document::containsKey).forEach(field -> update.setOnInsert(field, document.get(field)));
+        }
+        update.set(CHECKPOINT_ON, Utils.now());
+        return new Checkpoint(key, update, fingerprints);
+    }
+
+    /**
+     * Remembers a checkpoint once Mongo acknowledged it, the next one is compared with it.
+     *
+     * @param checkpoint the checkpoint written
+     */
+    public synchronized void written(Checkpoint checkpoint) {
+        written.put(checkpoint.key(), checkpoint.fingerprints());
+    }
+
+    /**
+     * Forgets every checkpoint written, the next checkpoint of each live is written whole.
+     */
+    public synchronized void clear() {
+        written.clear();
+    }
+
+    private synchronized Map<String, Long> written(String key) {
+        return written.get(key);
+    }
+
+    /**
+     * Puts the paths of the leaves of a value, a non-empty document above the depth limit is not a leaf.
+     */
+    private static void flatten(String path, Object value, int depth, Map<String, Object> paths) {
+        if (value instanceof Document document && !document.isEmpty() && depth < DEPTH) {
+            document.forEach((field, child) -> flatten(path + "." + field, child, depth + 1, paths));
+        } else {
+            paths.put(path, value);
+        }
+    }
+
+    /**
+     * Whether one path is inside the other, an {@code $unset} of one and a {@code $set} of the other conflict.
+     */
+    private static boolean nested(String path, String other) {
+        return path.startsWith(other + ".") || other.startsWith(path + ".");
+    }
+
+    private static Long fingerprint(Object value) {
+        try {
+            var json = new Document("v", value).toJson();
+            var digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to hash live checkpoint: " + e.getMessage()).build();
+        }
+    }
+
+    /**
+     * The update of the checkpoint of a live.
+     *
+     * @param key the canonical key of the live
+     * @param update the {@code $set}, {@code $unset} and {@code $setOnInsert} of the changed paths
+     * @param fingerprints the fingerprints of every path of the live
+     */
+    public record Checkpoint(String key, Update update, Map<String, Long> fingerprints) { }
+}
@@ -2,12 +2,15 @@ package com.pi.utils.mongo.documents;
 
 import com.pi.core_live.core.domain.Live;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.util.ObjectUtils;
 
 import static com.pi.utils.mongo.constants.Collections.COLLECTION_LIVES;
 
 @Document(collection = COLLECTION_LIVES)
+@CompoundIndex(name = "key", def = "{'key': 1}", unique = true)
+@CompoundIndex(name = "checkpoint", def = "{'checkpointOn': -1}", partialFilter = "{'checkpointOn': {'$exists': true}}")
 public class LiveDocument extends Live {
     @Id String id;
 
@@ -29,6 +32,8 @@ public class LiveDocument extends Live {
         doc.quiz(live.getQuiz());
         doc.teacher(live.getTeacher());
         doc.lobby(live.getLobby());
+        doc.version(live.getVersion());
+        doc.points(live.getPoints());
         return doc;
     }
 
@@ -45,6 +50,8 @@ public class LiveDocument extends Live {
                 .quiz(liveDocument.getQuiz())
                 .teacher(liveDocument.getTeacher())
                 .lobby(liveDocument.getLobby())
+                .version(liveDocument.getVersion())
+                .points(liveDocument.getPoints())
                 .build();
     }
 }
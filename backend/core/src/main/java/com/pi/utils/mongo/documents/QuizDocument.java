@@ -2,12 +2,16 @@ package com.pi.utils.mongo.documents;
 
 import com.pi.core_quiz.core.domain.Quiz;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.util.ObjectUtils;
 
 import static com.pi.utils.mongo.constants.Collections.COLLECTION_QUIZ;
 
 @Document(collection = COLLECTION_QUIZ)
+@CompoundIndex(name = "key", def = "{'key': 1}", unique = true)
+@CompoundIndex(name = "login_code", def = "{'login': 1, 'code': 1}")
+@CompoundIndex(name = "categories", def = "{'categories': 1}")
 public class QuizDocument extends Quiz {
     @Id
     String id;
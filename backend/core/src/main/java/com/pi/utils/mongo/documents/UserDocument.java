@@ -3,12 +3,15 @@ package com.pi.utils.mongo.documents;
 import com.pi.core_user.core.domains.User;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.util.ObjectUtils;
 
 import static com.pi.utils.mongo.constants.Collections.COLLECTION_USERS;
 
 @Document(collection = COLLECTION_USERS)
+@CompoundIndex(name = "login_code", def = "{'login': 1, 'code': 1}", unique = true)
+@CompoundIndex(name = "email", def = "{'email': 1}", unique = true)
 public class UserDocument extends User {
     @Id String id;
 
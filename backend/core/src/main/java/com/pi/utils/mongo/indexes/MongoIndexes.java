@@ -0,0 +1,209 @@
+package com.pi.utils.mongo.indexes;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Indexes of the Mongo collections of a service.
+ *
+ * <p>The indexes are declared on the documents with {@code @CompoundIndex}, and {@link #reconcile()} brings the
+ * collections to them at startup: a missing index is created, an index of the same name with other keys or options
+ * is dropped and created again, and an index already there is left as is, so it runs on every start and from every
+ * service that reads the collection. The indexes not declared are reported, and only dropped when asked to.
+ * A failure, as duplicates under a unique index, is reported and logged without stopping the service.</p>
+ *
+ * <p>{@link #usage()} reads {@code $indexStats}, so an index never used, or a collection scanned, shows up on the
+ * actuator.</p>
+ */
+public class MongoIndexes {
+    private static final Logger LOG = LoggerFactory.getLogger(MongoIndexes.class);
+    private static final String ID_INDEX = "_id_";
+    private static final String NAME = "name";
+    private static final String KEY = "key";
+    private static final List<String> OPTIONS = List.of("unique", "sparse", "partialFilterExpression", "expireAfterSeconds");
+
+    /**
+     * State of an index after a reconciliation.
+     */
+    public enum State { CREATED, UNCHANGED, REPLACED, UNDECLARED, DROPPED, FAILED }
+
+    /**
+     * An index of a collection after a reconciliation.
+     *
+     * @param name the name of the index
+     * @param keys the keys of the index
+     * @param state what the reconciliation did
+     * @param error the error of a failed index, or null
+     */
+    public record Reconciled(String name, String keys, State state, String error) { }
+
+    /**
+     * The usage of an index since it was created or the server started.
+     *
+     * @param name the name of the index
+     * @param keys the keys of the index
+     * @param declared whether the index is declared on the document
+     * @param ops the number of operations that used the index
+     * @param since the time the counting started
+     */
+    public record Usage(String name, String keys, boolean declared, long ops, Date since) { }
+
+    private final MongoTemplate template;
+    private final IndexResolver resolver;
+    private final Map<String, Class<?>> collections;
+    private final boolean dropUndeclared;
+    private volatile Map<String, List<Reconciled>> reconciled = Map.of();
+
+    /**
+     * Builds the indexes of the collections of a service.
+     *
+     * @param template the template of the database
+     * @param collections the documents of the collections, by the name of the collection
+     * @param dropUndeclared whether the indexes not declared on the documents are dropped
+     */
+    public MongoIndexes(MongoTemplate template, Map<String, Class<?>> collections, boolean dropUndeclared) {
+        this.template = template;
+        this.resolver = IndexResolver.create(template.getConverter().getMappingContext());
+        this.collections = new LinkedHashMap<>(collections);
+        this.dropUndeclared = dropUndeclared;
+    }
+
+    /**
+     * Creates the missing collections and brings their indexes to the ones declared on the documents.
+     *
+     * @return the indexes of each collection and what was done to them
+     */
+    public Map<String, List<Reconciled>> reconcile() {
+        var result = new LinkedHashMap<String, List<Reconciled>>();
+        collections.forEach((collection, document) -> result.put(collection, reconcile(collection, document)));
+        reconciled = result;
+        return result;
+    }
+
+    /**
+     * The indexes of the last reconciliation.
+     *
+     * @return the indexes of each collection, empty before the first reconciliation
+     */
+    public Map<String, List<Reconciled>> reconciled() {
+        return reconciled;
+    }
+
+    /**
+     * Reads the usage of the indexes of the collections with {@code $indexStats}.
+     *
+     * @return the usage of the indexes of each collection
+     */
+    public Map<String, List<Usage>> usage() {
+        var result = new LinkedHashMap<String, List<Usage>>();
+        collections.forEach((collection, document) -> {
+            var declared = new HashSet<String>();
+            declared(document).forEach(index -> declared.add(index.getIndexOptions().getString(NAME)));
+            var usage = new ArrayList<Usage>();
+            template.getCollection(collection)
+                    .aggregate(List.of(new Document("$indexStats", new Document())))
+                    .forEach(stats -> {
+                        var accesses = stats.get("accesses", Document.class);
+                        var ops = accesses == null ? null : accesses.get("ops", Number.class);
+                        usage.add(new Usage(
+                                stats.getString(NAME),
+                                stats.get(KEY, Document.class).toJson(),
+                                declared.contains(stats.getString(NAME)),
+                                ops == null ? 0L : ops.longValue(),
+                                accesses == null ? null : accesses.getDate("since")));
+                    });
+            result.put(collection, usage);
+        });
+        return result;
+    }
+
+    protected List<Reconciled> reconcile(String collection, Class<?> document) {
+        var result = new ArrayList<Reconciled>();
+        if (!template.collectionExists(collection)) template.createCollection(collection);
+        var existing = new LinkedHashMap<String, Document>();
+        template.getCollection(collection).listIndexes().forEach(index -> existing.put(index.getString(NAME), index));
+
+        for (var index : declared(document)) {
+            var name = index.getIndexOptions().getString(NAME);
+            var keys = index.getIndexKeys().toJson();
+            var current = existing.remove(name);
+            try {
+                if (current != null && matches(current, index)) {
+                    result.add(new Reconciled(name, keys, State.UNCHANGED, null));
+                    continue;
+                }
+                if (current != null) template.indexOps(collection).dropIndex(name);
+                template.indexOps(collection).ensureIndex(index);
+                var state = current == null ? State.CREATED : State.REPLACED;
+                LOG.info("Index {} {} on {} {}.", name, keys, collection, state.name().toLowerCase());
+                result.add(new Reconciled(name, keys, state, null));
+            } catch (RuntimeException e) {
+                LOG.error("Index {} {} on {} failed: {}", name, keys, collection, e.getMessage());
+                result.add(new Reconciled(name, keys, State.FAILED, e.getMessage()));
+            }
+        }
+
+        existing.remove(ID_INDEX);
+        existing.forEach((name, index) -> {
+            var keys = index.get(KEY, Document.class).toJson();
+            if (!dropUndeclared) {
+                LOG.warn("Index {} {} on {} is not declared on {}.", name, keys, collection, document.getSimpleName());
+                result.add(new Reconciled(name, keys, State.UNDECLARED, null));
+                return;
+            }
+            try {
+                template.indexOps(collection).dropIndex(name);
+                LOG.info("Index {} {} on {} dropped.", name, keys, collection);
+                result.add(new Reconciled(name, keys, State.DROPPED, null));
+            } catch (RuntimeException e) {
+                LOG.error("Index {} {} on {} failed to drop: {}", name, keys, collection, e.getMessage());
+                result.add(new Reconciled(name, keys, State.FAILED, e.getMessage()));
+            }
+        });
+        return result;
+    }
+
+    protected List<IndexDefinition> declared(Class<?> document) {
+        var indexes = new ArrayList<IndexDefinition>();
+        resolver.resolveIndexFor(document).forEach(indexes::add);
+        return indexes;
+    }
+
+    /**
+     * Compares an index of the collection with a declared one, the keys in their order and the options that change
+     * what the index holds.
+     */
+    protected static boolean matches(Document current, IndexDefinition declared) {
+        if (!keys(current.get(KEY, Document.class)).equals(keys(declared.getIndexKeys()))) return false;
+        var options = declared.getIndexOptions();
+        for (var option : OPTIONS) {
+            if (!Objects.equals(option(current.get(option)), option(options.get(option)))) return false;
+        }
+        return true;
+    }
+
+    private static List<String> keys(Document keys) {
+        var result = new ArrayList<String>();
+        keys.forEach((field, direction) -> result.add(field + ":" + option(direction)));
+        return result;
+    }
+
+    private static Object option(Object value) {
+        if (value instanceof Boolean bool) return bool ? Boolean.TRUE : null;
+        if (value instanceof Number number) return number.longValue();
+        if (value instanceof Document document) return document.toJson();
+        return value;
+    }
+}
@@ -0,0 +1,28 @@
+package com.pi.utils.mongo.indexes;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint {@code /actuator/mongoindexes} with the indexes of the collections of the service: what the last
+ * reconciliation did to each one, and how many operations used each one since it was created.
+ */
+@Endpoint(id = "mongoindexes")
+public class MongoIndexesEndpoint {
+    private final MongoIndexes indexes;
+
+    public MongoIndexesEndpoint(MongoIndexes indexes) {
+        this.indexes = indexes;
+    }
+
+    @ReadOperation
+    public Map<String, Object> indexes() {
+        var result = new LinkedHashMap<String, Object>();
+        result.put("reconciled", indexes.reconciled());
+        result.put("usage", indexes.usage());
+        return result;
+    }
+}
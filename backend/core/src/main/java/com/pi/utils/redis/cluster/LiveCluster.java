@@ -0,0 +1,61 @@
+package com.pi.utils.redis.cluster;
+
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.constants.Scripts;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Membership of the cluster of lives, in Redis.
+ *
+ * <p>Each node renews a lease in {@link LiveKeys#CLUSTER_MEMBERS} and reads back the nodes whose lease
+ * is still valid, from which every node builds the same ring of owners.</p>
+ */
+public class LiveCluster {
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> HEARTBEAT = RedisScript.of(Scripts.HEARTBEAT, List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public LiveCluster(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Renews the lease of a node.
+     *
+     * @param node the id of the node
+     * @param lease the duration of the lease
+     * @return a Mono that emits the nodes with a valid lease, this one included
+     */
+    public Mono<List<String>> heartbeat(String node, Duration lease) {
+        return redisTemplate.execute(HEARTBEAT, List.of(LiveKeys.CLUSTER_MEMBERS), List.of(node, String.valueOf(lease.toMillis()))).next()
+                .map(LiveCluster::nodes);
+    }
+
+    /**
+     * Reads the nodes of the reply of {@link Scripts#HEARTBEAT} one by one, the script result being an untyped list.
+     */
+    private static List<String> nodes(List<?> members) {
+        var nodes = new ArrayList<String>(members.size());
+        members.forEach(member -> nodes.add(String.valueOf(member)));
+        return nodes;
+    }
+
+    /**
+     * Drops the lease of a node, its lives move to the other nodes on their next heartbeat.
+     *
+     * @param node the id of the node
+     * @return a Mono that emits the number of nodes removed
+     */
+    public Mono<Long> leave(String node) {
+        return redisTemplate.opsForZSet().remove(LiveKeys.CLUSTER_MEMBERS, node);
+    }
+}
@@ -0,0 +1,265 @@
+package com.pi.utils.redis.constants;
+
+import com.pi.core_live.core.domain.StatusLive;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class contains the key names used in the Redis database for the lives.
+ * It is used to define the registry keys that index the lives stored by the application.
+ */
+public class LiveKeys {
+
+    /**
+     * Prefix of every key used by the live registry.
+     */
+    public static final String REGISTRY_PREFIX = "live:registry:";
+
+    /**
+     * Hash that maps the client alias {@code LIVE<login>CODE<code>} to the canonical key of the live.
+     */
+    public static final String REGISTRY_ALIAS = REGISTRY_PREFIX + "alias";
+
+    /**
+     * Prefix of the sets that index the lives of a teacher.
+     */
+    public static final String REGISTRY_TEACHER = REGISTRY_PREFIX + "teacher:";
+
+    /**
+     * Prefix of the sets that index the lives by status.
+     */
+    public static final String REGISTRY_STATUS = REGISTRY_PREFIX + "status:";
+
+    /**
+     * Suffix of the hash with the mutable state of a live: status, current position and dates.
+     */
+    public static final String STATE = ":state";
+
+    /**
+     * Suffix of the set with the pupils in the lobby of a live.
+     */
+    public static final String LOBBY = ":lobby";
+
+    /**
+     * Suffix of the hash with the answers of a live, field {@code <position>|<login#code>}.
+     */
+    public static final String ANSWERS = ":answers";
+
+    /**
+     * Suffix of the hash with the engagement counters of a live.
+     */
+    public static final String ENGAGEMENT = ":engagement";
+
+    /**
+     * Suffix of the hash with the correct answers of each quiz item of a live, field {@code <position>}.
+     */
+    public static final String ANSWER_KEY = ":answerkey";
+
+    /**
+     * Suffix of the sorted set with the score of each pupil of a live, member {@code <login#code>}.
+     */
+    public static final String LEADERBOARD = ":leaderboard";
+
+    /**
+     * Suffix of the hash with the points each answer of a live scored, field {@code <position>|<login#code>}.
+     */
+    public static final String POINTS = ":points";
+
+    /**
+     * Suffix of the pub/sub channel where the change events of a live are published.
+     */
+    public static final String EVENTS = ":events";
+
+    /**
+     * Prefix of the hashes with the quiz snapshots shared by the lives, by content hash.
+     */
+    public static final String SNAPSHOT_PREFIX = "quiz:snapshot:";
+
+    /**
+     * Stream used as the outbox of the ended lives waiting to be archived in Mongo.
+     */
+    public static final String ARCHIVE = "live:archive";
+
+    /**
+     * Consumer group of the workers that archive the ended lives.
+     */
+    public static final String ARCHIVE_GROUP = "archivers";
+
+    /**
+     * Sorted set of the lives with a question timer running, by deadline in epoch milliseconds.
+     */
+    public static final String TIMERS = "live:timers";
+
+    /**
+     * Lease taken by the worker that checkpoints the running lives in Mongo, one worker at a time.
+     */
+    public static final String CHECKPOINT_LOCK = "live:checkpoint:lock";
+
+    /**
+     * Lease taken by the worker that expires the idle lives, one worker at a time.
+     */
+    public static final String EXPIRY_LOCK = "live:expiry:lock";
+
+    /**
+     * Marker set once per Redis dataset, a missing marker means the lives must be restored from their checkpoints.
+     */
+    public static final String CHECKPOINT_MARKER = "live:checkpoint:marker";
+
+    /**
+     * Sorted set of the nodes of the cluster of lives, by expiry of their lease in epoch milliseconds.
+     */
+    public static final String CLUSTER_MEMBERS = "live:cluster:members";
+
+    private LiveKeys() { }
+
+    /**
+     * Builds the alias used by the clients to reach the live of a teacher.
+     *
+     * @param login the login of the teacher
+     * @param code the code of the teacher
+     * @return the alias {@code LIVE<login>CODE<code>}
+     */
+    public static String alias(String login, String code) {
+        return "LIVE" + login + "CODE" + code;
+    }
+
+    /**
+     * Builds the key of the set that index the lives of a teacher.
+     *
+     * @param login the login of the teacher
+     * @param code the code of the teacher
+     * @return the key of the teacher set
+     */
+    public static String teacher(String login, String code) {
+        return REGISTRY_TEACHER + login + "#" + code;
+    }
+
+    /**
+     * Builds the key of the set that index the lives with the given status.
+     *
+     * @param status the status of the lives
+     * @return the key of the status set
+     */
+    public static String status(StatusLive status) {
+        return REGISTRY_STATUS + status.name();
+    }
+
+    /**
+     * Returns the keys of every status set, in the declaration order of {@link StatusLive}.
+     *
+     * @return the keys of all status sets
+     */
+    public static List<String> statuses() {
+        return Arrays.stream(StatusLive.values()).map(LiveKeys::status).toList();
+    }
+
+    /**
+     * Builds the key of the hash with a quiz snapshot: its JSON and the number of lives using it.
+     *
+     * @param hash the content hash of the quiz
+     * @return the key of the snapshot hash
+     */
+    public static String snapshot(String hash) {
+        return SNAPSHOT_PREFIX + hash;
+    }
+
+    /**
+     * Builds the key of the hash with the mutable state of a live.
+     *
+     * @param key the canonical key of the live
+     * @return the key of the state hash
+     */
+    public static String state(String key) {
+        return key + STATE;
+    }
+
+    /**
+     * Builds the key of the set with the lobby of a live.
+     *
+     * @param key the canonical key of the live
+     * @return the key of the lobby set
+     */
+    public static String lobby(String key) {
+        return key + LOBBY;
+    }
+
+    /**
+     * Builds the key of the hash with the answers of a live.
+     *
+     * @param key the canonical key of the live
+     * @return the key of the answers hash
+     */
+    public static String answers(String key) {
+        return key + ANSWERS;
+    }
+
+    /**
+     * Builds the key of the hash with the engagement counters of a live.
+     *
+     * @param key the canonical key of the live
+     * @return the key of the engagement hash
+     */
+    public static String engagement(String key) {
+        return key + ENGAGEMENT;
+    }
+
+    /**
+     * Builds the key of the hash with the answer key of the quiz of a live.
+     *
+     * @param key the canonical key of the live
+     * @return the key of the answer key hash
+     */
+    public static String answerKey(String key) {
+        return key + ANSWER_KEY;
+    }
+
+    /**
+     * Builds the key of the sorted set with the leaderboard of a live.
+     *
+     * @param key the canonical key of the live
+     * @return the key of the leaderboard sorted set
+     */
+    public static String leaderboard(String key) {
+        return key + LEADERBOARD;
+    }
+
+    /**
+     * Builds the key of the hash with the points scored by the answers of a live.
+     *
+     * @param key the canonical key of the live
+     * @return the key of the points hash
+     */
+    public static String points(String key) {
+        return key + POINTS;
+    }
+
+    /**
+     * Builds the pub/sub channel where the change events of a live are published.
+     *
+     * @param key the canonical key of the live
+     * @return the channel of the live events
+     */
+    public static String events(String key) {
+        return key + EVENTS;
+    }
+
+    /**
+     * Builds the pattern matching the pub/sub channels of the change events of every live.
+     *
+     * @return the pattern of the live events channels
+     */
+    public static String eventsPattern() {
+        return "*" + EVENTS;
+    }
+
+    /**
+     * Returns every key that holds a part of a live, starting with the canonical key itself.
+     *
+     * @param key the canonical key of the live
+     * @return the keys of the live layout
+     */
+    public static List<String> layout(String key) {
+        return List.of(key, state(key), lobby(key), answers(key), engagement(key), answerKey(key), leaderboard(key), points(key));
+    }
+}
@@ -0,0 +1,450 @@
+package com.pi.utils.redis.constants;
+
+/**
+ * This class contains the Lua scripts executed in the Redis database.
+ * Each script runs atomically on the server, so the registry indexes never diverge from each other.
+ */
+public class Scripts {
+
+    /**
+     * Registers a live in the alias hash, the teacher set and the status set.
+     * When the alias already points to another live, that live is removed from the indexes
+     * and its key is returned so the caller can drop it, otherwise returns an empty string.
+     *
+     * <p>KEYS: alias hash, teacher set, status set of the live, every status set.
+     * ARGV: alias, live key.</p>
+     */
+    public static final String REGISTER_LIVE = """
+            local previous = redis.call('HGET', KEYS[1], ARGV[1])
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            if previous and previous ~= ARGV[2] then
+                redis.call('SREM', KEYS[2], previous)
+                for i = 4, #KEYS do redis.call('SREM', KEYS[i], previous) end
+            else
+                previous = ''
+            end
+            redis.call('SADD', KEYS[2], ARGV[2])
+            redis.call('SADD', KEYS[3], ARGV[2])
+            return previous
+            """;
+
+    /**
+     * Removes a live from the alias hash, only when the alias still points to it,
+     * and from the teacher set and every status set.
+     *
+     * <p>KEYS: alias hash, teacher set, every status set.
+     * ARGV: alias, live key.</p>
+     */
+    public static final String UNREGISTER_LIVE = """
+            if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+            end
+            redis.call('SREM', KEYS[2], ARGV[2])
+            for i = 3, #KEYS do redis.call('SREM', KEYS[i], ARGV[2]) end
+            return 1
+            """;
+
+    /**
+     * Iterates a registry set with a cursor, returning the next cursor and the members of the page. When other
+     * sets are given, only the members found in one of them are returned, so a page may be shorter than the count
+     * or empty before the end of the iteration.
+     *
+     * <p>KEYS: registry set, then the sets a member must be in, if any.
+     * ARGV: cursor, count.</p>
+     */
+    public static final String SCAN_REGISTRY = """
+            local page = redis.call('SSCAN', KEYS[1], ARGV[1], 'COUNT', ARGV[2])
+            if #KEYS == 1 then return page end
+            local members = {}
+            for _, member in ipairs(page[2]) do
+                for i = 2, #KEYS do
+                    if redis.call('SISMEMBER', KEYS[i], member) == 1 then
+                        members[#members + 1] = member
+                        break
+                    end
+                end
+            end
+            return { page[1], members }
+            """;
+
+    /**
+     * Opens every live mutation script with the function {@code publish(event, payload)}. It takes the
+     * next version of the live from its state hash and publishes the typed change event, with its
+     * payload, on the channel of the live in the same atomic execution, so the versions of the events
+     * of a live are gapless and in the order the changes were applied. The function {@code applied()}
+     * returns, as the result of a command that applied its change, the JSON {@code {"version":..,"events":[..]}}
+     * with the version of the live, at least 1, and the events the command published, so the command is answered
+     * from what it changed without reading the live back. A command refused answers {@code {"version":0}}, or
+     * {@code {"version":-1}}.
+     *
+     * <p>KEYS: state hash first.
+     * ARGV: live key, events channel, now first.</p>
+     */
+    private static final String PUBLISH_EVENT = """
+            local published = {}
+            local function publish(event, payload)
+                payload.key = ARGV[1]
+                payload.version = redis.call('HINCRBY', KEYS[1], 'version', 1)
+                payload.type = event
+                payload.updateOn = ARGV[3]
+                local message = cjson.encode(payload)
+                redis.call('PUBLISH', ARGV[2], message)
+                published[#published + 1] = message
+            end
+            local function applied()
+                local version = math.max(1, tonumber(redis.call('HGET', KEYS[1], 'version') or 1))
+                return '{"version":' .. version .. ',"events":[' .. table.concat(published, ',') .. ']}'
+            end
+            """;
+
+    /**
+     * Defines the function {@code advance()}, which moves the teacher to the next position of a live. The live goes
+     * to PROGRESS, or to COMPLETED when the position passes the size of the quiz, and is moved between the status
+     * sets accordingly. When the item of the new position has a timer, its deadline, in epoch milliseconds of the
+     * Redis clock, is kept in the state and in the timers set, otherwise any previous deadline is dropped.
+     *
+     * <p>KEYS: state hash, answer key hash, timers set, every status set.
+     * ARGV: live key, events channel, now, status set prefix first.</p>
+     */
+    private static final String ADVANCE = """
+            local function advance()
+                local position = redis.call('HINCRBY', KEYS[1], 'currentPosition', 1)
+                local previous = redis.call('HGET', KEYS[1], 'status')
+                local status = 'PROGRESS'
+                if position > tonumber(redis.call('HGET', KEYS[1], 'size')) then
+                    status = 'COMPLETED'
+                    redis.call('HSET', KEYS[1], 'completedOn', ARGV[3])
+                end
+                redis.call('HSET', KEYS[1], 'status', status, 'updateOn', ARGV[3])
+                if previous ~= status then
+                    for i = 4, #KEYS do
+                        if KEYS[i] == ARGV[4] .. status then
+                            redis.call('SADD', KEYS[i], ARGV[1])
+                        else
+                            redis.call('SREM', KEYS[i], ARGV[1])
+                        end
+                    end
+                end
+                local deadline = nil
+                local rule = status == 'PROGRESS' and redis.call('HGET', KEYS[2], position)
+                if rule and tonumber(cjson.decode(rule).timer or 0) > 0 then
+                    local time = redis.call('TIME')
+                    deadline = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) + tonumber(cjson.decode(rule).timer) * 1000
+                    redis.call('HSET', KEYS[1], 'deadline', deadline)
+                    redis.call('ZADD', KEYS[3], deadline, ARGV[1])
+                else
+                    redis.call('HDEL', KEYS[1], 'deadline')
+                    redis.call('ZREM', KEYS[3], ARGV[1])
+                end
+                if status == 'COMPLETED' then
+                    publish('LIVE_COMPLETED', { currentPosition = position, status = status, completedOn = ARGV[3] })
+                else
+                    publish('POSITION_CHANGED', { currentPosition = position, status = status, deadline = deadline })
+                end
+            end
+            """;
+
+    /**
+     * Moves the teacher to the next position of a live, see {@link #ADVANCE}.
+     * Returns the change, see {@link #PUBLISH_EVENT}, of version 0 when the live does not exist or was ended.
+     *
+     * <p>KEYS: state hash, answer key hash, timers set, every status set.
+     * ARGV: live key, events channel, now, status set prefix.</p>
+     */
+    public static final String NEXT_POSITION = PUBLISH_EVENT + ADVANCE + """
+            if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('HEXISTS', KEYS[1], 'archivedOn') == 1 then return '{"version":0}' end
+            advance()
+            return applied()
+            """;
+
+    /**
+     * Moves the teacher to the previous position of a live, without timer.
+     * Returns the change, see {@link #PUBLISH_EVENT}, of version 0 when the live does not exist or was ended.
+     *
+     * <p>KEYS: state hash, timers set.
+     * ARGV: live key, events channel, now.</p>
+     */
+    public static final String PREVIOUS_POSITION = PUBLISH_EVENT + """
+            if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('HEXISTS', KEYS[1], 'archivedOn') == 1 then return '{"version":0}' end
+            local position = redis.call('HINCRBY', KEYS[1], 'currentPosition', -1)
+            redis.call('HSET', KEYS[1], 'updateOn', ARGV[3])
+            redis.call('HDEL', KEYS[1], 'deadline')
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            publish('POSITION_CHANGED', { currentPosition = position, status = redis.call('HGET', KEYS[1], 'status') })
+            return applied()
+            """;
+
+    /**
+     * Adds a pupil to the lobby of a live. Returns the change, see {@link #PUBLISH_EVENT}, of version 0 when the
+     * live does not exist or was ended.
+     *
+     * <p>KEYS: state hash, lobby set.
+     * ARGV: live key, events channel, now, pupil {@code login#code}.</p>
+     */
+    public static final String ADD_PUPIL_TO_LOBBY = PUBLISH_EVENT + """
+            if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('HEXISTS', KEYS[1], 'archivedOn') == 1 then return '{"version":0}' end
+            redis.call('SADD', KEYS[2], ARGV[4])
+            redis.call('HSET', KEYS[1], 'updateOn', ARGV[3])
+            publish('PUPIL_JOINED', { pupil = ARGV[4], participantCount = redis.call('SCARD', KEYS[2]) })
+            return applied()
+            """;
+
+    /**
+     * Removes a pupil from the lobby of a live. Returns the change, see {@link #PUBLISH_EVENT}, of version 0 when the
+     * live does not exist or was ended.
+     *
+     * <p>KEYS: state hash, lobby set.
+     * ARGV: live key, events channel, now, pupil {@code login#code}.</p>
+     */
+    public static final String REMOVE_PUPIL_FROM_LOBBY = PUBLISH_EVENT + """
+            if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('HEXISTS', KEYS[1], 'archivedOn') == 1 then return '{"version":0}' end
+            redis.call('SREM', KEYS[2], ARGV[4])
+            redis.call('HSET', KEYS[1], 'updateOn', ARGV[3])
+            publish('PUPIL_LEFT', { pupil = ARGV[4], participantCount = redis.call('SCARD', KEYS[2]) })
+            return applied()
+            """;
+
+    /**
+     * Records the answer of a pupil to the item at the current position of a live.
+     * The hit is evaluated against the answer key, the answer is stored as {@code <hit>|<answers json>}
+     * and the engagement counters are adjusted, undoing the previous answer of the pupil to the same item.
+     * Items without answer key, like slides, are ignored. Returns the change, see {@link #PUBLISH_EVENT}, of version 0
+     * when the live does not exist or was ended, and of version -1, without any write, when the item is closed or its
+     * deadline passed on the Redis clock.
+     *
+     * <p>A hit scores the reward of the item, scaled from the full reward down to half of it by the time left on
+     * its timer when ARGV[6] is 1. The points of the answer are kept by field, so answering again moves the score
+     * of the pupil in the leaderboard by the difference only, and a change of score is published with the new
+     * rank of the pupil.</p>
+     *
+     * <p>KEYS: state hash, answers hash, engagement hash, answer key hash, lobby set, leaderboard set, points hash.
+     * ARGV: live key, events channel, now, pupil {@code login#code}, answers json, 1 to weight the rewards by time.</p>
+     */
+    public static final String ADD_PUPIL_ANSWER = PUBLISH_EVENT + """
+            if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('HEXISTS', KEYS[1], 'archivedOn') == 1 then return '{"version":0}' end
+            local position = redis.call('HGET', KEYS[1], 'currentPosition')
+            if redis.call('HEXISTS', KEYS[1], 'closed:' .. position) == 1 then return '{"version":-1}' end
+            local deadline = redis.call('HGET', KEYS[1], 'deadline')
+            local remaining = nil
+            if deadline then
+                local time = redis.call('TIME')
+                remaining = tonumber(deadline) - (tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000))
+                if remaining < 0 then return '{"version":-1}' end
+            end
+            redis.call('HSET', KEYS[1], 'updateOn', ARGV[3])
+            local rule = redis.call('HGET', KEYS[4], position)
+            if not rule then return applied() end
+            rule = cjson.decode(rule)
+            local submitted = cjson.decode(ARGV[5])
+            local hit = true
+            if rule.open then
+                for _, answer in ipairs(rule.answers) do
+                    if answer == 'NOT_ANSWERED' then hit = false end
+                end
+            else
+                local given = {}
+                for _, answer in ipairs(submitted) do given[answer] = true end
+                for _, answer in ipairs(rule.answers) do
+                    if not given[answer] then hit = false end
+                end
+            end
+            local field = position .. '|' .. ARGV[4]
+            local previous = redis.call('HGET', KEYS[2], field)
+            if previous then
+                redis.call('HINCRBY', KEYS[3], string.sub(previous, 1, 1) == '1' and 'correct' or 'incorrect', -1)
+                if string.sub(previous, 3) == '[]' then redis.call('HINCRBY', KEYS[3], 'unanswered', -1) end
+            end
+            redis.call('HINCRBY', KEYS[3], hit and 'correct' or 'incorrect', 1)
+            if #submitted == 0 then redis.call('HINCRBY', KEYS[3], 'unanswered', 1) end
+            redis.call('HSET', KEYS[2], field, (hit and '1' or '0') .. '|' .. ARGV[5])
+            local answered = { pupil = ARGV[4], position = tonumber(position), hit = hit }
+            if #submitted > 0 then answered.answer = submitted end
+            publish('ANSWER_COUNTED', answered)
+            local points = 0
+            if hit then
+                points = tonumber(rule.reward or 0)
+                local timer = tonumber(rule.timer or 0)
+                if ARGV[6] == '1' and remaining and timer > 0 then
+                    points = math.floor(points * (0.5 + 0.5 * math.min(remaining / (timer * 1000), 1)))
+                end
+            end
+            local scored = tonumber(redis.call('HGET', KEYS[7], field) or 0)
+            if points > 0 then redis.call('HSET', KEYS[7], field, points) else redis.call('HDEL', KEYS[7], field) end
+            local score = tonumber(redis.call('ZINCRBY', KEYS[6], points - scored, ARGV[4]))
+            if points ~= scored then
+                publish('LEADERBOARD_UPDATED', { pupil = ARGV[4], points = points - scored, score = score, rank = redis.call('ZREVRANK', KEYS[6], ARGV[4]) + 1 })
+            end
+            local counters = redis.call('HGETALL', KEYS[3])
+            local engagement = { participantCount = redis.call('SCARD', KEYS[5]), answersCorrect = 0, answersIncorrect = 0, answersUnanswered = 0 }
+            for i = 1, #counters, 2 do
+                if counters[i] == 'correct' then engagement.answersCorrect = tonumber(counters[i + 1]) end
+                if counters[i] == 'incorrect' then engagement.answersIncorrect = tonumber(counters[i + 1]) end
+                if counters[i] == 'unanswered' then engagement.answersUnanswered = tonumber(counters[i + 1]) end
+            end
+            publish('ENGAGEMENT_UPDATED', { engagement = engagement })
+            return applied()
+            """;
+
+    /**
+     * Closes the item at the current position of a live when its timer fires: the deadline must still be the one
+     * in the timers set, so a timer fired by several nodes, or replaced by a move of the teacher, closes nothing.
+     * The item of a live in PROGRESS, not ended, is marked closed in the state and, with auto-advance, the teacher
+     * moves to the next position, see {@link #ADVANCE}. Returns 1 when the item was closed, otherwise 0.
+     *
+     * <p>KEYS: state hash, answer key hash, timers set, every status set.
+     * ARGV: live key, events channel, now, status set prefix, deadline, 1 to auto-advance.</p>
+     */
+    public static final String CLOSE_ITEM = PUBLISH_EVENT + ADVANCE + """
+            if tonumber(redis.call('ZSCORE', KEYS[3], ARGV[1]) or -1) ~= tonumber(ARGV[5]) then return 0 end
+            redis.call('ZREM', KEYS[3], ARGV[1])
+            if redis.call('HGET', KEYS[1], 'status') ~= 'PROGRESS' or redis.call('HEXISTS', KEYS[1], 'archivedOn') == 1 then return 0 end
+            local position = redis.call('HGET', KEYS[1], 'currentPosition')
+            redis.call('HSET', KEYS[1], 'closed:' .. position, ARGV[3], 'updateOn', ARGV[3])
+            redis.call('HDEL', KEYS[1], 'deadline')
+            publish('ITEM_CLOSED', { position = tonumber(position) })
+            if ARGV[6] == '1' then advance() end
+            return 1
+            """;
+
+    /**
+     * Publishes the last event of a live, so its streams complete, and deletes every key of its layout.
+     * When the live holds a quiz snapshot, the live is taken from the snapshot references and the
+     * snapshot is deleted with its last live. Returns the number of keys of the layout deleted.
+     *
+     * <p>KEYS: state hash, then every other key of the layout, then the snapshot hash when ARGV[4] is 1.
+     * ARGV: live key, events channel, now, 1 when the last key is a snapshot.</p>
+     */
+    public static final String END_LIVE = PUBLISH_EVENT + """
+            local layout = #KEYS
+            if ARGV[4] == '1' then layout = layout - 1 end
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                if ARGV[4] == '1' and redis.call('HINCRBY', KEYS[#KEYS], 'refs', -1) <= 0 then
+                    redis.call('DEL', KEYS[#KEYS])
+                end
+                publish('LIVE_ENDED', {})
+            end
+            return redis.call('DEL', unpack(KEYS, 1, layout))
+            """;
+
+    /**
+     * Defines the function {@code close()}, which closes a live to every command: it completes the state of the
+     * live, moves it to the COMPLETED status set and publishes the {@code LIVE_ENDED} event, so the streams of the
+     * live complete. The {@code archivedOn} field it sets makes every other script refuse the live, so the live
+     * read after it is the live archived. Closing a live twice changes nothing.
+     *
+     * <p>KEYS: state hash, archive stream, every status set.
+     * ARGV: live key, events channel, now, status set prefix first.</p>
+     */
+    private static final String CLOSE = """
+            local function close()
+                if redis.call('HSETNX', KEYS[1], 'archivedOn', ARGV[3]) == 0 then return end
+                local previous = redis.call('HGET', KEYS[1], 'status')
+                redis.call('HSET', KEYS[1], 'status', 'COMPLETED', 'updateOn', ARGV[3])
+                redis.call('HSETNX', KEYS[1], 'completedOn', ARGV[3])
+                if previous ~= 'COMPLETED' then
+                    for i = 3, #KEYS do
+                        if KEYS[i] == ARGV[4] .. 'COMPLETED' then
+                            redis.call('SADD', KEYS[i], ARGV[1])
+                        else
+                            redis.call('SREM', KEYS[i], ARGV[1])
+                        end
+                    end
+                end
+                publish('LIVE_ENDED', {})
+            end
+            """;
+
+    /**
+     * Closes a live before it is read to be archived, see {@link #CLOSE}. Returns 0 when the live does not exist.
+     *
+     * <p>KEYS: state hash, archive stream, every status set.
+     * ARGV: live key, events channel, now, status set prefix.</p>
+     */
+    public static final String CLOSE_LIVE = PUBLISH_EVENT + CLOSE + """
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            close()
+            return 1
+            """;
+
+    /**
+     * Ends a live: closes it, when it is not closed yet, see {@link #CLOSE}, and appends the live to the archive
+     * outbox. The live given must be read after {@link #CLOSE_LIVE}, so no change is left out of it. The layout of
+     * the live is deleted by the archive worker once the live is in Mongo. Ending a live twice appends it once.
+     * Returns 0 when the live does not exist.
+     *
+     * <p>KEYS: state hash, archive stream, every status set.
+     * ARGV: live key, events channel, now, status set prefix, live json.</p>
+     */
+    public static final String ARCHIVE_LIVE = PUBLISH_EVENT + CLOSE + """
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            close()
+            if redis.call('HSETNX', KEYS[1], 'queuedOn', ARGV[3]) == 0 then return 1 end
+            redis.call('XADD', KEYS[2], '*', 'key', ARGV[1], 'live', ARGV[5])
+            return 1
+            """;
+
+    /**
+     * Refreshes the expiry of every key of a live and measures the memory it holds. The quiz snapshot,
+     * shared with other lives, gets the same expiry but is not measured. Returns the bytes held by the
+     * keys of the layout that exist.
+     *
+     * <p>KEYS: every key of the layout, then the snapshot hash when ARGV[2] is 1.
+     * ARGV: expiry in milliseconds, 1 when the last key is a snapshot.</p>
+     */
+    public static final String TOUCH_LIVE = """
+            local layout = #KEYS
+            if ARGV[2] == '1' then layout = layout - 1 end
+            local bytes = 0
+            for i = 1, #KEYS do
+                if redis.call('PEXPIRE', KEYS[i], ARGV[1]) == 1 and i <= layout then
+                    bytes = bytes + (redis.call('MEMORY', 'USAGE', KEYS[i]) or 0)
+                end
+            end
+            return bytes
+            """;
+
+    /**
+     * Renews the lease of a node of the cluster of lives and drops the nodes whose lease expired, on the Redis
+     * clock, so the nodes agree on the expiries whatever their own clocks. Returns the nodes with a lease.
+     *
+     * <p>KEYS: members set.
+     * ARGV: node id, lease in milliseconds.</p>
+     */
+    public static final String HEARTBEAT = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now)
+            redis.call('ZADD', KEYS[1], now + tonumber(ARGV[2]), ARGV[1])
+            return redis.call('ZRANGE', KEYS[1], 0, -1)
+            """;
+
+    /**
+     * Takes a lease, or renews it when the worker already holds it, so the lease stays with the same worker for as
+     * long as it runs. Returns 1 when the worker holds the lease, otherwise 0.
+     *
+     * <p>KEYS: lease key.
+     * ARGV: worker id, lease in milliseconds.</p>
+     */
+    public static final String LEASE = """
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then return 1 end
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return 1
+            end
+            return 0
+            """;
+
+    /**
+     * Stores a quiz snapshot if no live stored it yet and takes a reference to it.
+     * Returns the number of lives using the snapshot.
+     *
+     * <p>KEYS: snapshot hash.
+     * ARGV: quiz json.</p>
+     */
+    public static final String SAVE_SNAPSHOT = """
+            redis.call('HSETNX', KEYS[1], 'quiz', ARGV[1])
+            return redis.call('HINCRBY', KEYS[1], 'refs', 1)
+            """;
+
+    private Scripts() { }
+}
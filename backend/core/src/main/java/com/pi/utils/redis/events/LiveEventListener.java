@@ -0,0 +1,65 @@
+package com.pi.utils.redis.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_live.core.domain.LiveEvent;
+import com.pi.utils.redis.constants.LiveKeys;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Listener of the change events published by the live scripts on the channel of each live.
+ *
+ * <p>Nothing is read from Redis while a live is idle: the subscribers wait on the channel
+ * and only react when a command changed the live.</p>
+ */
+public class LiveEventListener {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveEventListener.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ReactiveRedisMessageListenerContainer container;
+
+    public LiveEventListener(ReactiveRedisMessageListenerContainer container) {
+        this.container = container;
+    }
+
+    /**
+     * Subscribes to the events of a live.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the events once the subscription is active in Redis,
+     *     so a snapshot read after it cannot miss a change
+     */
+    public Mono<Flux<LiveEvent>> listen(String key) {
+        LOG.info("Listen events of live {}.", key);
+        return container.receiveLater(ChannelTopic.of(LiveKeys.events(key)))
+                .map(messages -> messages.flatMap(message -> read(message.getMessage())));
+    }
+
+    /**
+     * Subscribes to the events of every live, through a single pattern subscription.
+     *
+     * @return a Mono that emits the events once the subscription is active in Redis
+     */
+    public Mono<Flux<LiveEvent>> listenAll() {
+        LOG.info("Listen events of every live.");
+        return container.receiveLater(PatternTopic.of(LiveKeys.eventsPattern()))
+                .map(messages -> messages.flatMap(message -> read(message.getMessage())));
+    }
+
+    private static Mono<LiveEvent> read(String message) {
+        try {
+            return Mono.just(MAPPER.readValue(message, LiveEvent.class));
+        } catch (JsonProcessingException e) {
+            LOG.warn("Ignore invalid live event: {}", e.getMessage());
+            return Mono.empty();
+        }
+    }
+}
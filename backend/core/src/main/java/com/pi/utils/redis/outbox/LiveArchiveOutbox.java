@@ -0,0 +1,204 @@
+package com.pi.utils.redis.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.ports.out.ILiveCommandPersistOut;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.constants.Scripts;
+import com.pi.utils.services.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable outbox of the ended lives.
+ *
+ * <p>Ending a live closes it first, {@link Scripts#CLOSE_LIVE}, so no command changes it any more, and the
+ * live read after it is appended to the {@link LiveKeys#ARCHIVE} stream by {@link Scripts#ARCHIVE_LIVE}, so the
+ * teacher does not wait on Mongo.
+ * The archive workers read the stream in the {@link LiveKeys#ARCHIVE_GROUP} consumer group, store the
+ * lives in batches and only then delete the lives from Redis and acknowledge the entries. An entry not
+ * acknowledged is read again by its worker and claimed by another worker when it stays idle, so a live
+ * may be stored more than once and the archive must be idempotent by the key of the live.</p>
+ */
+public class LiveArchiveOutbox implements ILiveCommandPersistOut {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveArchiveOutbox.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final RedisScript<Long> CLOSE_LIVE = RedisScript.of(Scripts.CLOSE_LIVE, Long.class);
+    private static final RedisScript<Long> ARCHIVE_LIVE = RedisScript.of(Scripts.ARCHIVE_LIVE, Long.class);
+    private static final StreamOffset<String>[] PENDING = offsets(ReadOffset.from("0"));
+    private static final StreamOffset<String>[] UNDELIVERED = offsets(ReadOffset.lastConsumed());
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public LiveArchiveOutbox(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Closes a live to every command, the step before reading the live to append it to the outbox.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits true once the live is closed, or false if the live does not exist
+     */
+    public Mono<Boolean> close(String key) {
+        var args = List.of(key, LiveKeys.events(key), Utils.now(), LiveKeys.REGISTRY_STATUS);
+        LOG.info("Close live {}.", key);
+        return redisTemplate.execute(CLOSE_LIVE, keys(key), args).next().map(result -> result > 0);
+    }
+
+    /**
+     * Appends an ended live to the outbox.
+     *
+     * @param live the live completed by the teacher, read after {@link #close(String)}
+     * @return a Mono that emits the live once it is in the outbox
+     */
+    @Override
+    public Mono<Live> persistLive(Live live) throws GlobalException {
+        var args = List.of(live.getKey(), LiveKeys.events(live.getKey()), Utils.now(), LiveKeys.REGISTRY_STATUS, toJson(live));
+        LOG.info("Append live {} to archive outbox.", live.getKey());
+        return redisTemplate.execute(ARCHIVE_LIVE, keys(live.getKey()), args).next()
+                .flatMap(result -> result > 0
+                        ? Mono.just(live)
+                        : Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Live not found in redis").build()));
+    }
+
+    /**
+     * Creates the consumer group of the archive workers, and the stream, when they do not exist.
+     *
+     * @return a Mono that completes when the group exists
+     */
+    public Mono<Void> createGroup() {
+        return redisTemplate.opsForStream().createGroup(LiveKeys.ARCHIVE, ReadOffset.from("0"), LiveKeys.ARCHIVE_GROUP)
+                .onErrorResume(e -> String.valueOf(e.getMessage()).contains("BUSYGROUP") || String.valueOf(e.getCause()).contains("BUSYGROUP")
+                        ? Mono.empty()
+                        : Mono.error(e))
+                .then();
+    }
+
+    /**
+     * Reads the next entries of a worker: the entries it read and did not acknowledge yet,
+     * or else the entries not delivered to any worker.
+     *
+     * @param consumer the name of the worker
+     * @param count the maximum number of entries
+     * @return a Flux that emits the entries
+     */
+    public Flux<Entry> read(String consumer, int count) {
+        var worker = Consumer.from(LiveKeys.ARCHIVE_GROUP, consumer);
+        var options = StreamReadOptions.empty().count(count);
+        var stream = redisTemplate.<String, String>opsForStream();
+        return stream.read(worker, options, PENDING)
+                .switchIfEmpty(Flux.defer(() -> stream.read(worker, options, UNDELIVERED)))
+                .map(LiveArchiveOutbox::entry);
+    }
+
+    /**
+     * Takes for a worker the entries of other workers that were not acknowledged for a while,
+     * the entries of a worker that stopped.
+     *
+     * @param consumer the name of the worker
+     * @param idle the minimum time without acknowledgement
+     * @param count the maximum number of entries
+     * @return a Mono that emits the number of entries taken
+     */
+    public Mono<Integer> claim(String consumer, Duration idle, int count) {
+        var stream = redisTemplate.<String, String>opsForStream();
+        return stream.pending(LiveKeys.ARCHIVE, LiveKeys.ARCHIVE_GROUP, Range.unbounded(), count)
+                .flatMapMany(Flux::fromIterable)
+                .filter(message -> !message.getConsumerName().equals(consumer) && message.getElapsedTimeSinceLastDelivery().compareTo(idle) >= 0)
+                .map(message -> message.getId())
+                .collectList()
+                .flatMap(ids -> ids.isEmpty()
+                        ? Mono.just(0)
+                        : stream.claim(LiveKeys.ARCHIVE, LiveKeys.ARCHIVE_GROUP, consumer, idle, ids.toArray(RecordId[]::new)).count().map(Long::intValue));
+    }
+
+    /**
+     * Acknowledges and removes the entries of the lives archived.
+     *
+     * @param ids the ids of the entries
+     * @return a Mono that emits the number of entries removed
+     */
+    public Mono<Long> acknowledge(List<RecordId> ids) {
+        var records = ids.toArray(RecordId[]::new);
+        return redisTemplate.opsForStream().acknowledge(LiveKeys.ARCHIVE, LiveKeys.ARCHIVE_GROUP, records)
+                .then(redisTemplate.opsForStream().delete(LiveKeys.ARCHIVE, records));
+    }
+
+    /**
+     * Reads an entry, the live is {@code null} when it can not be read, so the entry does not hold the outbox.
+     */
+    private static Entry entry(MapRecord<String, String, String> record) {
+        var value = record.getValue();
+        try {
+            return new Entry(record.getId(), value.get("key"), fromJson(value.get("live")));
+        } catch (GlobalException | IllegalArgumentException e) {
+            LOG.error("Archive entry {} of live {} can not be read: {}", record.getId(), value.get("key"), e.getMessage());
+            return new Entry(record.getId(), value.get("key"), null);
+        }
+    }
+
+    private static List<String> keys(String key) {
+        var keys = new ArrayList<String>();
+        keys.add(LiveKeys.state(key));
+        keys.add(LiveKeys.ARCHIVE);
+        keys.addAll(LiveKeys.statuses());
+        return keys;
+    }
+
+    private static String toJson(Live live) {
+        try {
+            return MAPPER.writeValueAsString(live);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to write archive live: " + e.getMessage()).build();
+        }
+    }
+
+    private static Live fromJson(String json) {
+        try {
+            return MAPPER.readValue(json, Live.class);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to read archive live: " + e.getMessage()).build();
+        }
+    }
+
+    /**
+     * The offsets of the archive stream as the array the stream reads take, built once, since a generic
+     * array cannot be created at each call without an unchecked warning.
+     */
+    @SuppressWarnings("unchecked")
+    private static StreamOffset<String>[] offsets(ReadOffset offset) {
+        return (StreamOffset<String>[]) new StreamOffset<?>[] { StreamOffset.create(LiveKeys.ARCHIVE, offset) };
+    }
+
+    /**
+     * An ended live in the outbox.
+     *
+     * @param id the id of the stream entry
+     * @param key the canonical key of the live
+     * @param live the live as it was ended
+     */
+    public record Entry(RecordId id, String key, Live live) { }
+
+}
@@ -0,0 +1,140 @@
+package com.pi.utils.redis.registry;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.StatusLive;
+import com.pi.utils.models.CursorPageable;
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.constants.Scripts;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registry of the lives stored in Redis.
+ *
+ * <p>Keeps an alias hash from {@code LIVE<login>CODE<code>} to the canonical {@link Live#getKey()},
+ * a set with the lives of each teacher and a set with the lives of each {@link StatusLive}.
+ * Every mutation of the indexes runs in a single Lua script, so a lookup is always an
+ * O(1) access and never a {@code KEYS} scan over the whole database.</p>
+ */
+public class LiveRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveRegistry.class);
+
+    private static final RedisScript<String> REGISTER_LIVE = RedisScript.of(Scripts.REGISTER_LIVE, String.class);
+    private static final RedisScript<Long> UNREGISTER_LIVE = RedisScript.of(Scripts.UNREGISTER_LIVE, Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCAN_REGISTRY = RedisScript.of(Scripts.SCAN_REGISTRY, List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public LiveRegistry(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Resolves the canonical key of a live. The key may be the alias used by the clients or
+     * the canonical key itself, in which case it is returned unchanged.
+     *
+     * @param keyLive the alias or the canonical key of the live
+     * @return a Mono that emits the canonical key of the live
+     */
+    public Mono<String> resolve(String keyLive) {
+        return redisTemplate.<String, String>opsForHash().get(LiveKeys.REGISTRY_ALIAS, keyLive)
+                .defaultIfEmpty(keyLive);
+    }
+
+    /**
+     * Registers a live in every index of the registry.
+     *
+     * @param live the live to register
+     * @return a Mono that emits the key of the live previously registered under the same alias,
+     *     or an empty Mono if there was none
+     */
+    public Mono<String> register(Live live) {
+        var keys = new ArrayList<String>();
+        keys.add(LiveKeys.REGISTRY_ALIAS);
+        keys.add(LiveKeys.teacher(live.getTeacher().getLogin(), live.getTeacher().getCode()));
+        keys.add(LiveKeys.status(live.getStatus()));
+        keys.addAll(LiveKeys.statuses());
+
+        var args = List.of(LiveKeys.alias(live.getTeacher().getLogin(), live.getTeacher().getCode()), live.getKey());
+        LOG.info("Register live {} on registry.", live.getKey());
+        return redisTemplate.execute(REGISTER_LIVE, keys, args).next().filter(previous -> !previous.isEmpty());
+    }
+
+    /**
+     * Removes a live from every index of the registry.
+     *
+     * @param live the live to unregister
+     * @return a Mono that emits {@code true} when the script was executed
+     */
+    public Mono<Boolean> unregister(Live live) {
+        var keys = new ArrayList<String>();
+        keys.add(LiveKeys.REGISTRY_ALIAS);
+        keys.add(LiveKeys.teacher(live.getTeacher().getLogin(), live.getTeacher().getCode()));
+        keys.addAll(LiveKeys.statuses());
+
+        var args = List.of(LiveKeys.alias(live.getTeacher().getLogin(), live.getTeacher().getCode()), live.getKey());
+        LOG.info("Unregister live {} from registry.", live.getKey());
+        return redisTemplate.execute(UNREGISTER_LIVE, keys, args).next().map(result -> result > 0);
+    }
+
+    /**
+     * Removes a live that no longer exists from every status set, the live itself, with its teacher,
+     * is gone, so only the status sets are known.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the number of sets the live was removed from
+     */
+    public Mono<Long> prune(String key) {
+        LOG.info("Prune live {} from registry.", key);
+        return Flux.fromIterable(LiveKeys.statuses())
+                .concatMap(status -> redisTemplate.opsForSet().remove(status, key))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Iterates the lives of a teacher with a Redis {@code SSCAN} cursor, keeping only the lives of the given
+     * statuses, checked against the status sets in the same script.
+     *
+     * @param login the login of the teacher
+     * @param code the code of the teacher
+     * @param statuses the statuses of the lives kept, every status when empty
+     * @param cursor the cursor returned by the previous page, {@code 0} for the first page
+     * @param size the hint of lives per page
+     * @return a Mono that emits the keys of the page and the next cursor, {@code 0} when finished
+     */
+    public Mono<CursorPageable<String>> scanTeacher(String login, String code, List<StatusLive> statuses, String cursor, Integer size) {
+        var keys = new ArrayList<String>();
+        keys.add(LiveKeys.teacher(login, code));
+        statuses.forEach(status -> keys.add(LiveKeys.status(status)));
+        return scan(keys, cursor, size);
+    }
+
+    /**
+     * Iterates the lives of a status with a Redis {@code SSCAN} cursor.
+     *
+     * @param status the status of the lives
+     * @param cursor the cursor returned by the previous page, {@code 0} for the first page
+     * @param size the hint of lives per page
+     * @return a Mono that emits the keys of the page and the next cursor, {@code 0} when finished
+     */
+    public Mono<CursorPageable<String>> scanStatus(StatusLive status, String cursor, Integer size) {
+        return scan(List.of(LiveKeys.status(status)), cursor, size);
+    }
+
+    private Mono<CursorPageable<String>> scan(List<String> keys, String cursor, Integer size) {
+        return redisTemplate.execute(SCAN_REGISTRY, keys, List.of(cursor, String.valueOf(size))).next().map(result -> {
+            var members = ((List<?>) result.get(1)).stream().map(String::valueOf).toList();
+            return CursorPageable.<String>builder().content(members).cursor(String.valueOf(result.get(0))).build();
+        });
+    }
+}
@@ -0,0 +1,281 @@
+package com.pi.utils.redis.serializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.pi.core_live.core.domain.Live;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the live.
+ *
+ * <p>The live is written as the stream of tokens of its JSON mapping, so it follows the Jackson
+ * annotations of the domain, with a tag byte per token, integers as zig-zag varints and lengths as
+ * varints. Strings up to {@value #MAX_SHARED_LENGTH} characters are shared: the first occurrence is
+ * written and the next ones are references to it, so the field names, the type names of the quiz
+ * items, the repeated {@code login#code} of the pupils and their answers are written once per entry.
+ * The tokens go through a {@link TokenBuffer}, no tree of the live is built.</p>
+ *
+ * <p>Version 1 tokens, field names use the string tags:</p>
+ * <pre>
+ *   NULL | TRUE | FALSE
+ *   INT                        zig-zag varint
+ *   DOUBLE                     8 bytes IEEE 754
+ *   NUMBER                     varint length, UTF-8 decimal text
+ *   STRING                     varint length, UTF-8 bytes, then shared with the next index
+ *   SHARED                     varint index of a string already written
+ *   TEXT                       varint length, UTF-8 bytes, not shared
+ *   START_ARRAY | END_ARRAY
+ *   START_OBJECT | END_OBJECT
+ * </pre>
+ */
+public class BinaryLiveCodec implements ILiveCodec {
+    private static final int VERSION = 1;
+    private static final int MAX_SHARED_LENGTH = 64;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte NUMBER = 5;
+    private static final byte STRING = 6;
+    private static final byte SHARED = 7;
+    private static final byte TEXT = 8;
+    private static final byte START_ARRAY = 9;
+    private static final byte END_ARRAY = 10;
+    private static final byte START_OBJECT = 11;
+    private static final byte END_OBJECT = 12;
+
+    private final ObjectMapper mapper;
+
+    public BinaryLiveCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] encode(Live live) {
+        var tokens = new TokenBuffer(mapper, false);
+        try {
+            mapper.writeValue(tokens, live);
+            var writer = new Writer();
+            try (var parser = tokens.asParser()) {
+                while (parser.nextToken() != null) writer.token(parser);
+            }
+            return writer.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write binary live: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Live decode(byte[] bytes, int offset, int version) {
+        if (version != VERSION) throw new SerializationException("Unknown binary live version " + version);
+        try (var parser = new Reader(bytes, offset).read(new TokenBuffer(mapper, false)).asParser()) {
+            return mapper.readValue(parser, Live.class);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not read binary live: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class Writer {
+        private final Map<String, Integer> shared = new HashMap<>();
+        private byte[] buffer = new byte[1024];
+        private int size;
+
+        private void token(JsonParser parser) throws IOException {
+            switch (parser.currentToken()) {
+                case START_OBJECT -> write(START_OBJECT);
+                case END_OBJECT -> write(END_OBJECT);
+                case START_ARRAY -> write(START_ARRAY);
+                case END_ARRAY -> write(END_ARRAY);
+                case FIELD_NAME -> string(parser.currentName());
+                case VALUE_STRING -> string(parser.getText());
+                case VALUE_NUMBER_INT -> {
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                        number(parser.getText());
+                    } else {
+                        write(INT);
+                        varint(zigzag(parser.getLongValue()));
+                    }
+                }
+                case VALUE_NUMBER_FLOAT -> {
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                        number(parser.getText());
+                    } else {
+                        write(DOUBLE);
+                        var bits = Double.doubleToRawLongBits(parser.getDoubleValue());
+                        for (int shift = 56; shift >= 0; shift -= 8) write((byte) (bits >>> shift));
+                    }
+                }
+                case VALUE_TRUE -> write(TRUE);
+                case VALUE_FALSE -> write(FALSE);
+                case VALUE_NULL -> write(NULL);
+                default -> string(String.valueOf(parser.getEmbeddedObject()));
+            }
+        }
+
+        private void number(String value) {
+            write(NUMBER);
+            bytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void string(String value) {
+            if (value.length() > MAX_SHARED_LENGTH) {
+                write(TEXT);
+                bytes(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            var index = shared.get(value);
+            if (index != null) {
+                write(SHARED);
+                varint(index);
+            } else {
+                shared.put(value, shared.size());
+                write(STRING);
+                bytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void bytes(byte[] value) {
+            varint(value.length);
+            ensure(value.length);
+            System.arraycopy(value, 0, buffer, size, value.length);
+            size += value.length;
+        }
+
+        private void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((byte) value);
+        }
+
+        private void write(byte value) {
+            ensure(1);
+            buffer[size++] = value;
+        }
+
+        private void ensure(int length) {
+            if (size + length > buffer.length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+        private final List<String> shared = new ArrayList<>();
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes, int offset) {
+            this.bytes = bytes;
+            this.position = offset;
+        }
+
+        /**
+         * Replays the tokens on the buffer. Inside an object, a string tag read where a value
+         * is not expected is the name of the next field.
+         */
+        private TokenBuffer read(TokenBuffer out) throws IOException {
+            var objects = new boolean[16];
+            var depth = 0;
+            var named = false;
+            while (position < bytes.length) {
+                var tag = bytes[position++];
+                if (depth > 0 && objects[depth - 1] && !named && tag != END_OBJECT) {
+                    out.writeFieldName(string(tag));
+                    named = true;
+                    continue;
+                }
+                named = false;
+                switch (tag) {
+                    case START_OBJECT, START_ARRAY -> {
+                        if (depth == objects.length) objects = Arrays.copyOf(objects, depth * 2);
+                        objects[depth++] = tag == START_OBJECT;
+                        if (tag == START_OBJECT) out.writeStartObject(); else out.writeStartArray();
+                    }
+                    case END_OBJECT -> {
+                        depth--;
+                        out.writeEndObject();
+                    }
+                    case END_ARRAY -> {
+                        depth--;
+                        out.writeEndArray();
+                    }
+                    case NULL -> out.writeNull();
+                    case TRUE -> out.writeBoolean(true);
+                    case FALSE -> out.writeBoolean(false);
+                    case INT -> {
+                        var value = unzigzag(varint());
+                        if (value == (int) value) out.writeNumber((int) value); else out.writeNumber(value);
+                    }
+                    case DOUBLE -> {
+                        long bits = 0;
+                        for (int i = 0; i < 8; i++) bits = (bits << 8) | (bytes[position++] & 0xFF);
+                        out.writeNumber(Double.longBitsToDouble(bits));
+                    }
+                    case NUMBER -> out.writeNumber(new BigDecimal(utf8()));
+                    case STRING, SHARED, TEXT -> out.writeString(string(tag));
+                    default -> throw new SerializationException("Unknown binary live tag " + tag);
+                }
+            }
+            return out;
+        }
+
+        private String string(byte tag) {
+            return switch (tag) {
+                case STRING -> {
+                    var value = utf8();
+                    shared.add(value);
+                    yield value;
+                }
+                case SHARED -> shared.get((int) varint());
+                case TEXT -> utf8();
+                default -> throw new SerializationException("Unknown binary live string tag " + tag);
+            };
+        }
+
+        private String utf8() {
+            var length = (int) varint();
+            var value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                var current = bytes[position++];
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) return value;
+            }
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
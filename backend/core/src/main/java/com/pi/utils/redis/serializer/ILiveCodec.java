@@ -0,0 +1,38 @@
+package com.pi.utils.redis.serializer;
+
+import com.pi.core_live.core.domain.Live;
+
+/**
+ * An encoding of the {@link Live} stored in Redis.
+ *
+ * <p>A codec writes with its current {@link #version()} and must keep reading the payloads of
+ * its previous versions, the version of a payload is kept in the header written by
+ * {@link LiveRedisSerializer}.</p>
+ */
+public interface ILiveCodec {
+
+    /**
+     * Returns the version of the payloads written by this codec.
+     *
+     * @return the version, between 0 and 255
+     */
+    int version();
+
+    /**
+     * Encodes a live.
+     *
+     * @param live the live to encode
+     * @return the payload
+     */
+    byte[] encode(Live live);
+
+    /**
+     * Decodes a live.
+     *
+     * @param bytes the bytes holding the payload
+     * @param offset the index of the first byte of the payload
+     * @param version the version the payload was written with
+     * @return the live
+     */
+    Live decode(byte[] bytes, int offset, int version);
+}
@@ -0,0 +1,42 @@
+package com.pi.utils.redis.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_live.core.domain.Live;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * The JSON encoding of the live, the same written by {@code Jackson2JsonRedisSerializer}.
+ */
+public class JsonLiveCodec implements ILiveCodec {
+    private final ObjectMapper mapper;
+
+    public JsonLiveCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public byte[] encode(Live live) {
+        try {
+            return mapper.writeValueAsBytes(live);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write live JSON: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Live decode(byte[] bytes, int offset, int version) {
+        try {
+            return mapper.readValue(bytes, offset, bytes.length - offset, Live.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read live JSON: " + e.getMessage(), e);
+        }
+    }
+}
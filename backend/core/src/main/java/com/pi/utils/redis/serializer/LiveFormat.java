@@ -0,0 +1,42 @@
+package com.pi.utils.redis.serializer;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+/**
+ * Formats of the {@link com.pi.core_live.core.domain.Live} stored in Redis, selected with the
+ * property {@code spring.data.redis.formats.live}.
+ *
+ * <p>The id of a format is written in the header of each entry and must never change.</p>
+ */
+public enum LiveFormat {
+    /**
+     * Plain JSON, written without header, so it stays readable by nodes that only know JSON.
+     */
+    JSON((byte) 0),
+
+    /**
+     * Compact binary encoding of {@link BinaryLiveCodec}.
+     */
+    BINARY((byte) 1);
+
+    private final byte id;
+
+    LiveFormat(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    public static LiveFormat of(byte id) {
+        return Arrays.stream(values()).filter(format -> format.id == id).findFirst()
+                .orElseThrow(() -> new SerializationException("Unknown live format id " + id));
+    }
+
+    public static LiveFormat from(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
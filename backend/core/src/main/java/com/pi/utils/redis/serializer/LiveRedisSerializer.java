@@ -0,0 +1,69 @@
+package com.pi.utils.redis.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_live.core.domain.Live;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Redis serializer of the {@link Live} with pluggable formats.
+ *
+ * <p>Entries are written in the configured {@link LiveFormat}. Every format but JSON starts with a
+ * header of three bytes: a zero marker, that no JSON document starts with, the id of the format and
+ * the version of its codec. Entries without the marker are plain JSON, as written before formats
+ * existed, so entries of every format and version can be read whatever the format being written,
+ * and the format can be changed on a running cluster.</p>
+ */
+public class LiveRedisSerializer implements RedisSerializer<Live> {
+    private static final byte MARKER = 0;
+    private static final int HEADER_SIZE = 3;
+
+    private final LiveFormat format;
+    private final Map<LiveFormat, ILiveCodec> codecs = new EnumMap<>(LiveFormat.class);
+
+    public LiveRedisSerializer(LiveFormat format) {
+        this(format, new ObjectMapper());
+    }
+
+    public LiveRedisSerializer(LiveFormat format, ObjectMapper mapper) {
+        this.format = format;
+        this.codecs.put(LiveFormat.JSON, new JsonLiveCodec(mapper));
+        this.codecs.put(LiveFormat.BINARY, new BinaryLiveCodec(mapper));
+    }
+
+    @Override
+    public byte[] serialize(Live live) throws SerializationException {
+        if (live == null) return new byte[0];
+        var codec = codecs.get(format);
+        var payload = codec.encode(live);
+        if (format == LiveFormat.JSON) return payload;
+
+        var bytes = new byte[HEADER_SIZE + payload.length];
+        bytes[0] = MARKER;
+        bytes[1] = format.getId();
+        bytes[2] = (byte) codec.version();
+        System.arraycopy(payload, 0, bytes, HEADER_SIZE, payload.length);
+        return bytes;
+    }
+
+    @Override
+    public Live deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) return null;
+        if (bytes[0] != MARKER) return codecs.get(LiveFormat.JSON).decode(bytes, 0, 1);
+        if (bytes.length < HEADER_SIZE) throw new SerializationException("Truncated live header");
+        return codecs.get(LiveFormat.of(bytes[1])).decode(bytes, HEADER_SIZE, bytes[2] & 0xFF);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return Live.class;
+    }
+
+    public LiveFormat getFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,86 @@
+package com.pi.utils.redis.serializer;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_quiz.core.domain.Quiz;
+import com.pi.core_quiz.core.domain.itens.IQuizItem;
+import com.pi.core_quiz.core.domain.quiz.QuizMultipleChoice;
+import com.pi.core_quiz.core.domain.quiz.QuizOpen;
+import com.pi.core_quiz.core.domain.slide.SlideTitle1;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares the size and the encode and decode time of the {@link LiveFormat}s.
+ *
+ * <p>Two lives are measured: a live as created, the entry kept in Redis while it runs, and a
+ * completed live with the answers of every pupil. Run with:</p>
+ * <pre>{@code
+ * mvn -pl core exec:java -Dexec.mainClass=com.pi.utils.redis.serializer.LiveSerializerBenchmark -Dexec.args="20 40"
+ * }</pre>
+ * where the arguments are the number of items of the quiz and the number of pupils.
+ */
+public class LiveSerializerBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveSerializerBenchmark.class);
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+
+    public static void main(String[] args) {
+        var items = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        var pupils = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+
+        var created = sampleLive(items, 0);
+        var completed = sampleLive(items, pupils);
+        for (var format : LiveFormat.values()) {
+            var serializer = new LiveRedisSerializer(format);
+            report(format, "created", serializer, created);
+            report(format, "completed", serializer, completed);
+        }
+    }
+
+    private static void report(LiveFormat format, String name, LiveRedisSerializer serializer, Live live) {
+        var bytes = serializer.serialize(live);
+        for (int i = 0; i < WARMUP; i++) serializer.deserialize(serializer.serialize(live));
+
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) serializer.serialize(live);
+        var encode = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) serializer.deserialize(bytes);
+        var decode = (System.nanoTime() - start) / ITERATIONS;
+
+        LOG.info("{} {} live: {} bytes, encode {} us, decode {} us.", format, name, bytes.length, encode / 1_000.0, decode / 1_000.0);
+    }
+
+    private static Live sampleLive(int items, int pupils) {
+        Set<IQuizItem> quizes = new LinkedHashSet<>();
+        for (int position = 1; position <= items; position++) {
+            if (position % 5 == 1) {
+                quizes.add(new SlideTitle1(position, "Chapter " + position));
+            } else if (position % 5 == 0) {
+                quizes.add(new QuizOpen(position, "Explain the subject of item " + position, 200, List.of(), 30, 10));
+            } else {
+                quizes.add(new QuizMultipleChoice(position, "Which alternative is right on item " + position + "?", List.of("A", "B", "C", "D"), List.of("B"), 30, 10));
+            }
+        }
+        var quiz = new Quiz("TEACHERLOGIN", "123456", "Benchmark quiz", Set.of("math", "science")).quizes(quizes);
+        var live = new Live("TEACHERLOGIN", "123456", quiz);
+        if (pupils == 0) return live;
+
+        for (int pupil = 0; pupil < pupils; pupil++) live.addPupilToLobby("PUPILLOGIN" + pupil, "65432" + pupil);
+        for (int position = 1; position <= items; position++) {
+            live.nextPosition();
+            if (position % 5 == 1) continue;
+            for (int pupil = 0; pupil < pupils; pupil++) {
+                live.addPupilAnswerToQuiz("PUPILLOGIN" + pupil, "65432" + pupil, List.of(pupil % 2 == 0 ? "B" : "C"));
+            }
+        }
+        return live;
+    }
+}
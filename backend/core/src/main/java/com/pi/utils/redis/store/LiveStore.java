@@ -0,0 +1,584 @@
+package com.pi.utils.redis.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_live.core.domain.Engagement;
+import com.pi.core_live.core.domain.Evaluation;
+import com.pi.core_live.core.domain.Leaderboard;
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveEvent;
+import com.pi.core_live.core.domain.StatusLive;
+import com.pi.core_quiz.core.domain.itens.IOperationsQuiz;
+import com.pi.core_quiz.core.domain.itens.IQuizItem;
+import com.pi.core_quiz.core.domain.quiz.QuizFillSpace;
+import com.pi.core_quiz.core.domain.quiz.QuizMultipleChoice;
+import com.pi.core_quiz.core.domain.quiz.QuizOpen;
+import com.pi.core_quiz.core.domain.quiz.QuizTrueFalse;
+import com.pi.core_quiz.core.domain.quiz.QuizWordCloud;
+import com.pi.core_quiz.core.enums.StatusItem;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.constants.Scripts;
+import com.pi.utils.services.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Decomposed storage of the lives in Redis.
+ *
+ * <p>The live created by the teacher is stored once as JSON under its canonical key, and everything
+ * that changes while the live runs is kept in small structures next to it: a hash with the state,
+ * a set with the lobby, a hash with the answers and a hash with the engagement counters, see
+ * {@link LiveKeys#layout(String)}. Each command runs as a single Lua script from {@link Scripts},
+ * so concurrent commands never overwrite each other and a pupil answer costs one round trip with
+ * a payload of the answer only. Each script also increments the version of the live and publishes
+ * a typed change event, carrying only what changed, on {@link LiveKeys#events(String)}, and answers with the
+ * {@link Change} made of those events, so a command never reads the live back. {@link #fetch(String)} reassembles
+ * the {@link Live} on read.</p>
+ *
+ * <p>The quiz of the live is not stored with it: it goes to a snapshot of {@link QuizSnapshotStore}, shared by
+ * every live of the same quiz, and the state keeps its hash. Lives stored with the quiz inside are still read.</p>
+ *
+ * <p>An item with a timer gets a deadline when the teacher moves to it, kept in the state and in {@link LiveKeys#TIMERS};
+ * the answers after the deadline are refused by the script and {@link #closeItem(String, long, boolean)} closes the item.</p>
+ *
+ * <p>Each hit scores the reward of its item in the leaderboard of the live, a sorted set by pupil, optionally
+ * weighted by the time left on the timer of the item; {@link #leaderboard(String, int)} and {@link #standing(String, String)}
+ * read it without reassembling the live.</p>
+ *
+ * <p>Every key of a live expires after the expiry of the store, refreshed by {@link #touch(String)} while the
+ * live is in use, so a live abandoned by its teacher does not hold memory forever.</p>
+ */
+public class LiveStore {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> ANSWERS_TYPE = new TypeReference<>() { };
+
+    private static final RedisScript<String> NEXT_POSITION = RedisScript.of(Scripts.NEXT_POSITION, String.class);
+    private static final RedisScript<String> PREVIOUS_POSITION = RedisScript.of(Scripts.PREVIOUS_POSITION, String.class);
+    private static final RedisScript<String> ADD_PUPIL_TO_LOBBY = RedisScript.of(Scripts.ADD_PUPIL_TO_LOBBY, String.class);
+    private static final RedisScript<String> REMOVE_PUPIL_FROM_LOBBY = RedisScript.of(Scripts.REMOVE_PUPIL_FROM_LOBBY, String.class);
+    private static final RedisScript<String> ADD_PUPIL_ANSWER = RedisScript.of(Scripts.ADD_PUPIL_ANSWER, String.class);
+    private static final RedisScript<Long> END_LIVE = RedisScript.of(Scripts.END_LIVE, Long.class);
+    private static final RedisScript<Long> TOUCH_LIVE = RedisScript.of(Scripts.TOUCH_LIVE, Long.class);
+    private static final RedisScript<Long> CLOSE_ITEM = RedisScript.of(Scripts.CLOSE_ITEM, Long.class);
+    private static final String CLOSED = "closed:";
+
+    private final ReactiveRedisTemplate<String, Live> liveTemplate;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final QuizSnapshotStore snapshotStore;
+    private final Duration expiry;
+    private final boolean weighted;
+
+    public LiveStore(ReactiveRedisTemplate<String, Live> liveTemplate, ReactiveStringRedisTemplate redisTemplate, QuizSnapshotStore snapshotStore,
+                     Duration expiry, boolean weighted) {
+        this.liveTemplate = liveTemplate;
+        this.redisTemplate = redisTemplate;
+        this.snapshotStore = snapshotStore;
+        this.expiry = expiry;
+        this.weighted = weighted;
+    }
+
+    /**
+     * Stores a new live: the live itself without its quiz, the snapshot of the quiz,
+     * its initial state and the answer key of its quiz, every key with the expiry of the store.
+     *
+     * @param live the live created by the teacher
+     * @return a Mono that emits {@code true} when the live was stored
+     */
+    public Mono<Boolean> create(Live live) {
+        var state = new HashMap<String, String>();
+        state.put("status", live.getStatus().name());
+        state.put("currentPosition", String.valueOf(live.getTeacher().getControl().getCurrentPosition()));
+        state.put("size", String.valueOf(live.getQuiz().getQuizes().size()));
+        state.put("startedOn", live.getStartedOn());
+        state.put("updateOn", live.getUpdateOn());
+
+        var answerKey = new HashMap<String, String>();
+        live.getQuiz().getQuizes().forEach(item -> {
+            if (item instanceof IOperationsQuiz<?> operations) {
+                answerKey.put(String.valueOf(item.getPosition()), answerRule(item, operations));
+            }
+        });
+
+        LOG.info("Create live {} on store.", live.getKey());
+        var stored = snapshotStore.save(live.getQuiz())
+                .flatMap(hash -> {
+                    state.put("quiz", hash);
+                    return liveTemplate.opsForValue().set(live.getKey(), withoutQuiz(live));
+                })
+                .flatMap(success -> success ? redisTemplate.opsForHash().putAll(LiveKeys.state(live.getKey()), state) : Mono.just(false));
+        return (answerKey.isEmpty()
+                ? stored
+                : stored.flatMap(success -> success ? redisTemplate.opsForHash().putAll(LiveKeys.answerKey(live.getKey()), answerKey) : Mono.just(false)))
+                .flatMap(success -> success ? touch(live.getKey()).thenReturn(true) : Mono.just(false));
+    }
+
+    /**
+     * Stores again a live read back from its last checkpoint: the live as {@link #create(Live)} stores it,
+     * with the pristine quiz, then its version, lobby, answers and engagement counters, and its leaderboard
+     * rebuilt from the points of the hits kept by the checkpoint, see {@link #points(String)}. A checkpoint
+     * written before the points were kept scores each hit at the full reward of its item.
+     *
+     * @param live the live of the checkpoint
+     * @return a Mono that emits {@code true} when the live was stored
+     */
+    public Mono<Boolean> restore(Live live) {
+        var state = new HashMap<String, String>();
+        state.put("version", String.valueOf(Objects.requireNonNullElse(live.getVersion(), 0L)));
+        if (live.getCompletedOn() != null) state.put("completedOn", live.getCompletedOn());
+        live.getQuiz().getQuizes().forEach(item -> {
+            if (item instanceof IOperationsQuiz<?> operations && operations.getStatus() == StatusItem.DONE) {
+                state.put(CLOSED + item.getPosition(), live.getUpdateOn());
+            }
+        });
+
+        var answers = new HashMap<String, String>();
+        var points = new HashMap<String, String>();
+        var scores = new HashMap<String, Long>();
+        if (live.getEvaluation() != null) {
+            live.getEvaluation().getEvaluation().forEach((pupil, items) -> items.forEach(answer -> {
+                var field = answer.position() + "|" + pupil;
+                var hit = Boolean.TRUE.equals(answer.hit());
+                answers.put(field, (hit ? "1|" : "0|") + toJson(answer.answer()));
+                var reward = hit ? scored(live, field, answer.position()) : 0;
+                if (reward > 0) points.put(field, String.valueOf(reward));
+                scores.merge(pupil, (long) reward, Long::sum);
+            }));
+        }
+
+        var counters = new HashMap<String, String>();
+        if (live.getEngagement() != null) {
+            counters.put("correct", String.valueOf(live.getEngagement().getAnswersCorrect()));
+            counters.put("incorrect", String.valueOf(live.getEngagement().getAnswersIncorrect()));
+            counters.put("unanswered", String.valueOf(live.getEngagement().getAnswersUnanswered()));
+        }
+
+        live.getQuiz().getQuizes().forEach(item -> {
+            if (item instanceof IOperationsQuiz<?> operations) {
+                if (operations.getAnswersLive() != null) operations.getAnswersLive().clear();
+                operations.setStatus(StatusItem.PENDING);
+            }
+        });
+
+        LOG.info("Restore live {} on store from version {}.", live.getKey(), state.get("version"));
+        var key = live.getKey();
+        var lobby = Objects.requireNonNullElse(live.getLobby(), Set.<String>of());
+        return create(live)
+                .flatMap(success -> success ? redisTemplate.opsForHash().putAll(LiveKeys.state(key), state) : Mono.just(false))
+                .flatMap(success -> success && !lobby.isEmpty() ? redisTemplate.opsForSet().add(LiveKeys.lobby(key), lobby.toArray(String[]::new)).thenReturn(true) : Mono.just(success))
+                .flatMap(success -> success && !answers.isEmpty() ? redisTemplate.opsForHash().putAll(LiveKeys.answers(key), answers) : Mono.just(success))
+                .flatMap(success -> success && !counters.isEmpty() ? redisTemplate.opsForHash().putAll(LiveKeys.engagement(key), counters) : Mono.just(success))
+                .flatMap(success -> success && !points.isEmpty() ? redisTemplate.opsForHash().putAll(LiveKeys.points(key), points) : Mono.just(success))
+                .flatMap(success -> success && !scores.isEmpty() ? redisTemplate.opsForZSet().addAll(LiveKeys.leaderboard(key), standings(scores)).thenReturn(true) : Mono.just(success))
+                .flatMap(success -> success ? touch(key).thenReturn(true) : Mono.just(false));
+    }
+
+    /**
+     * Reassembles a live from its decomposed layout.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the live, or an empty Mono if the live does not exist
+     */
+    public Mono<Live> fetch(String key) {
+        return Mono.zip(
+                liveTemplate.opsForValue().get(key),
+                redisTemplate.<String, String>opsForHash().entries(LiveKeys.state(key)).collectMap(Map.Entry::getKey, Map.Entry::getValue),
+                redisTemplate.opsForSet().members(LiveKeys.lobby(key)).collectList(),
+                redisTemplate.<String, String>opsForHash().entries(LiveKeys.answers(key)).collectMap(Map.Entry::getKey, Map.Entry::getValue),
+                redisTemplate.<String, String>opsForHash().entries(LiveKeys.engagement(key)).collectMap(Map.Entry::getKey, Map.Entry::getValue)
+        ).flatMap(parts -> withQuiz(parts.getT1(), parts.getT2())
+                .map(live -> assemble(live, parts.getT2(), parts.getT3(), parts.getT4(), parts.getT5())));
+    }
+
+    /**
+     * Reads the points scored by each hit of a live, the leaderboard of the live being their sum by pupil.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the points by {@code position|pupil}
+     */
+    public Mono<Map<String, Integer>> points(String key) {
+        return redisTemplate.<String, String>opsForHash().entries(LiveKeys.points(key))
+                .collectMap(Map.Entry::getKey, entry -> Integer.valueOf(entry.getValue()));
+    }
+
+    /**
+     * Reads the top of the leaderboard of a live, by score then by pupil in reverse order.
+     *
+     * @param key the canonical key of the live
+     * @param size the number of pupils to read
+     * @return a Flux that emits the standings from the first rank
+     */
+    public Flux<Leaderboard.Standing> leaderboard(String key, int size) {
+        return redisTemplate.opsForZSet().reverseRangeWithScores(LiveKeys.leaderboard(key), Range.closed(0L, size - 1L))
+                .index()
+                .map(standing -> new Leaderboard.Standing(standing.getT2().getValue(),
+                        Objects.requireNonNull(standing.getT2().getScore()).longValue(), standing.getT1() + 1));
+    }
+
+    /**
+     * Reads the standing of a pupil in the leaderboard of a live.
+     *
+     * @param key the canonical key of the live
+     * @param pupil the {@code login#code} of the pupil
+     * @return a Mono that emits the standing, or an empty Mono if the pupil did not answer yet
+     */
+    public Mono<Leaderboard.Standing> standing(String key, String pupil) {
+        return Mono.zip(
+                redisTemplate.opsForZSet().reverseRank(LiveKeys.leaderboard(key), pupil),
+                redisTemplate.opsForZSet().score(LiveKeys.leaderboard(key), pupil)
+        ).map(standing -> new Leaderboard.Standing(pupil, standing.getT2().longValue(), standing.getT1() + 1));
+    }
+
+    /**
+     * Counts the pupils in the leaderboard of a live.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the number of pupils who answered
+     */
+    public Mono<Long> ranked(String key) {
+        return redisTemplate.opsForZSet().size(LiveKeys.leaderboard(key));
+    }
+
+    /**
+     * Reads the state hash of a live, without reassembling it.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the state of the live, or an empty Mono if the live does not exist
+     */
+    public Mono<Map<String, String>> state(String key) {
+        return redisTemplate.<String, String>opsForHash().entries(LiveKeys.state(key))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .filter(state -> !state.isEmpty());
+    }
+
+    /**
+     * Refreshes the expiry of every key of a live, and of its quiz snapshot.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the bytes held by the keys of the live
+     */
+    public Mono<Long> touch(String key) {
+        var keys = new ArrayList<>(LiveKeys.layout(key));
+        return redisTemplate.<String, String>opsForHash().get(LiveKeys.state(key), "quiz")
+                .map(hash -> {
+                    keys.add(LiveKeys.snapshot(hash));
+                    return "1";
+                })
+                .defaultIfEmpty("0")
+                .flatMap(snapshot -> redisTemplate.execute(TOUCH_LIVE, keys, List.of(String.valueOf(expiry.toMillis()), snapshot)).next());
+    }
+
+    /**
+     * Reads the version of a live, without reassembling it.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the version of the live, or an empty Mono if the live does not exist
+     */
+    public Mono<Long> version(String key) {
+        return redisTemplate.<String, String>opsForHash().multiGet(LiveKeys.state(key), List.of("status", "version"))
+                .filter(state -> state.get(0) != null)
+                .map(state -> Long.valueOf(Objects.requireNonNullElse(state.get(1), "0")));
+    }
+
+    /**
+     * Moves the teacher to the next position, completing the live after the last item.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the change, of version 0 when the live does not exist or was ended
+     */
+    public Mono<Change> nextPosition(String key) {
+        var keys = new ArrayList<String>();
+        keys.add(LiveKeys.state(key));
+        keys.add(LiveKeys.answerKey(key));
+        keys.add(LiveKeys.TIMERS);
+        keys.addAll(LiveKeys.statuses());
+        return execute(NEXT_POSITION, keys, key, LiveKeys.REGISTRY_STATUS).map(LiveStore::change);
+    }
+
+    /**
+     * Moves the teacher to the previous position.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the change, of version 0 when the live does not exist or was ended
+     */
+    public Mono<Change> previousPosition(String key) {
+        return execute(PREVIOUS_POSITION, List.of(LiveKeys.state(key), LiveKeys.TIMERS), key).map(LiveStore::change);
+    }
+
+    /**
+     * Adds a pupil to the lobby.
+     *
+     * @param key the canonical key of the live
+     * @param login the login of the pupil
+     * @param code the code of the pupil
+     * @return a Mono that emits the change, of version 0 when the live does not exist or was ended
+     */
+    public Mono<Change> addPupilToLobby(String key, String login, String code) {
+        return execute(ADD_PUPIL_TO_LOBBY, List.of(LiveKeys.state(key), LiveKeys.lobby(key)), key, login + "#" + code).map(LiveStore::change);
+    }
+
+    /**
+     * Removes a pupil from the lobby.
+     *
+     * @param key the canonical key of the live
+     * @param login the login of the pupil
+     * @param code the code of the pupil
+     * @return a Mono that emits the change, of version 0 when the live does not exist or was ended
+     */
+    public Mono<Change> removePupilFromLobby(String key, String login, String code) {
+        return execute(REMOVE_PUPIL_FROM_LOBBY, List.of(LiveKeys.state(key), LiveKeys.lobby(key)), key, login + "#" + code).map(LiveStore::change);
+    }
+
+    /**
+     * Records the answer of a pupil to the item at the current position, unless the item is closed,
+     * and moves the score of the pupil in the leaderboard.
+     *
+     * @param key the canonical key of the live
+     * @param login the login of the pupil
+     * @param code the code of the pupil
+     * @param answerItem the answers of the pupil
+     * @return a Mono that emits the change, of version 0 when the live does not exist or was ended,
+     *     or an error when the timer of the item ran out
+     */
+    public Mono<Change> addPupilAnswer(String key, String login, String code, List<String> answerItem) {
+        var keys = List.of(LiveKeys.state(key), LiveKeys.answers(key), LiveKeys.engagement(key), LiveKeys.answerKey(key), LiveKeys.lobby(key),
+                LiveKeys.leaderboard(key), LiveKeys.points(key));
+        var args = List.of(key, LiveKeys.events(key), Utils.now(), login + "#" + code, toJson(answerItem), weighted ? "1" : "0");
+        return redisTemplate.execute(ADD_PUPIL_ANSWER, keys, args).next().map(LiveStore::change).flatMap(change -> change.version() < 0
+                ? Mono.error(GlobalException.builder().status(409).alert(new CustomAlert(SystemCodeEnum.C133PI)).details("Item closed in live " + key).build())
+                : Mono.just(change));
+    }
+
+    /**
+     * Closes the item at the current position of a live when its timer runs out.
+     *
+     * @param key the canonical key of the live
+     * @param deadline the deadline of the timer, in epoch milliseconds
+     * @param advance {@code true} to move the teacher to the next position
+     * @return a Mono that emits {@code true} when the item was closed, {@code false} when the timer was stale
+     */
+    public Mono<Boolean> closeItem(String key, long deadline, boolean advance) {
+        var keys = new ArrayList<String>();
+        keys.add(LiveKeys.state(key));
+        keys.add(LiveKeys.answerKey(key));
+        keys.add(LiveKeys.TIMERS);
+        keys.addAll(LiveKeys.statuses());
+        return execute(CLOSE_ITEM, keys, key, LiveKeys.REGISTRY_STATUS, String.valueOf(deadline), advance ? "1" : "0").map(result -> result > 0);
+    }
+
+    /**
+     * Reads the timers of the lives, up to a deadline.
+     *
+     * @param until the last deadline, in epoch milliseconds
+     * @return a Flux that emits the timers by deadline
+     */
+    public Flux<Timer> timers(long until) {
+        return redisTemplate.opsForZSet().rangeByScoreWithScores(LiveKeys.TIMERS, Range.closed(0d, (double) until))
+                .map(timer -> new Timer(timer.getValue(), Objects.requireNonNull(timer.getScore()).longValue()));
+    }
+
+    /**
+     * Reads the timer of the item at the current position of a live.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the timer, or an empty Mono if the item has no timer running
+     */
+    public Mono<Timer> timer(String key) {
+        return redisTemplate.<String, String>opsForHash().get(LiveKeys.state(key), "deadline")
+                .map(deadline -> new Timer(key, Long.parseLong(deadline)));
+    }
+
+    /**
+     * Deletes every key of the layout of a live, releases its quiz snapshot and publishes the {@code LIVE_ENDED} event.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the number of keys deleted
+     */
+    public Mono<Long> delete(String key) {
+        var keys = new ArrayList<String>();
+        keys.add(LiveKeys.state(key));
+        LiveKeys.layout(key).stream().filter(part -> !part.equals(LiveKeys.state(key))).forEach(keys::add);
+        return redisTemplate.<String, String>opsForHash().get(LiveKeys.state(key), "quiz")
+                .map(hash -> {
+                    keys.add(LiveKeys.snapshot(hash));
+                    return "1";
+                })
+                .defaultIfEmpty("0")
+                .flatMap(snapshot -> redisTemplate.execute(END_LIVE, keys, List.of(key, LiveKeys.events(key), Utils.now(), snapshot)).next());
+    }
+
+    /**
+     * Runs a live mutation script with the arguments every one of them expects first,
+     * the live key, its events channel and the current instant, followed by its own arguments.
+     */
+    private <T> Mono<T> execute(RedisScript<T> script, List<String> keys, String key, String... args) {
+        var arguments = new ArrayList<String>();
+        arguments.add(key);
+        arguments.add(LiveKeys.events(key));
+        arguments.add(Utils.now());
+        arguments.addAll(List.of(args));
+        return redisTemplate.execute(script, keys, arguments).next();
+    }
+
+    /**
+     * Copies the live without its quiz, the live passed to {@link #create(Live)} is returned to the teacher as it is.
+     */
+    private static Live withoutQuiz(Live live) {
+        return Live.builder()
+                .key(live.getKey())
+                .startedOn(live.getStartedOn())
+                .updateOn(live.getUpdateOn())
+                .completedOn(live.getCompletedOn())
+                .status(live.getStatus())
+                .engagement(live.getEngagement())
+                .evaluation(live.getEvaluation())
+                .teacher(live.getTeacher())
+                .lobby(live.getLobby())
+                .version(live.getVersion())
+                .build();
+    }
+
+    /**
+     * Puts the quiz of the snapshot in the live, lives stored before the snapshots keep their own quiz.
+     */
+    private Mono<Live> withQuiz(Live live, Map<String, String> state) {
+        var hash = state.get("quiz");
+        if (hash == null) return Mono.just(live);
+        return snapshotStore.fetch(hash).map(live::quiz);
+    }
+
+    private Live assemble(Live live, Map<String, String> state, List<String> lobby, Map<String, String> answers, Map<String, String> counters) {
+        live.status(StatusLive.valueOf(state.get("status")))
+                .updateOn(state.get("updateOn"))
+                .completedOn(state.get("completedOn"))
+                .lobby(new HashSet<>(lobby))
+                .version(Long.valueOf(state.getOrDefault("version", "0")));
+        live.getTeacher().getControl().setCurrentPosition(Integer.valueOf(state.get("currentPosition")));
+        state.keySet().stream().filter(field -> field.startsWith(CLOSED)).forEach(field -> {
+            if (live.getQuiz().getQuizItem(Integer.valueOf(field.substring(CLOSED.length()))) instanceof IOperationsQuiz<?> operations) {
+                operations.setStatus(StatusItem.DONE);
+            }
+        });
+
+        var evaluation = new Evaluation();
+        answers.forEach((field, value) -> {
+            var position = Integer.valueOf(field.substring(0, field.indexOf('|')));
+            var pupil = evaluation.register(field.substring(field.indexOf('|') + 1));
+            evaluation.addEvaluation(pupil, position, fromJson(value.substring(2)), value.charAt(0) == '1');
+            if (live.getQuiz().getQuizItem(position) instanceof IOperationsQuiz<?> operations) {
+                operations.addAnswerOperationLive(pupil, evaluation.getAnswer(pupil, position));
+            }
+        });
+
+        var engagement = new Engagement();
+        engagement.update(lobby.size(), counter(counters, "correct"), counter(counters, "incorrect"), counter(counters, "unanswered"));
+        return live.evaluation(evaluation).engagement(engagement);
+    }
+
+    private static Integer counter(Map<String, String> counters, String name) {
+        return Integer.valueOf(counters.getOrDefault(name, "0"));
+    }
+
+    private static String answerRule(IQuizItem item, IOperationsQuiz<?> operations) {
+        var rule = new HashMap<String, Object>();
+        rule.put("open", item instanceof QuizWordCloud || item instanceof QuizOpen);
+        rule.put("answers", Objects.requireNonNullElse(operations.getAnswers(), List.of()));
+        rule.put("timer", Objects.requireNonNullElse(operations.getTimerSeconds(), 0));
+        rule.put("reward", Objects.requireNonNullElse(reward(item), 0));
+        return toJson(rule);
+    }
+
+    /**
+     * The points of a hit of a restored live, the ones its checkpoint kept or else the full reward of the item.
+     */
+    private static int scored(Live live, String field, Integer position) {
+        if (live.getPoints() != null) return live.getPoints().getOrDefault(field, 0);
+        return Objects.requireNonNullElse(reward(live.getQuiz().getQuizItem(position)), 0);
+    }
+
+    /**
+     * The reward of an item, polls and word clouds have none.
+     */
+    private static Integer reward(IQuizItem item) {
+        return switch (item) {
+            case QuizMultipleChoice quiz -> quiz.getReward();
+            case QuizTrueFalse quiz -> quiz.getReward();
+            case QuizFillSpace quiz -> quiz.getReward();
+            case QuizOpen quiz -> quiz.getReward();
+            case null, default -> null;
+        };
+    }
+
+    private static Set<ZSetOperations.TypedTuple<String>> standings(Map<String, Long> scores) {
+        var standings = new HashSet<ZSetOperations.TypedTuple<String>>();
+        scores.forEach((pupil, score) -> standings.add(ZSetOperations.TypedTuple.of(pupil, score.doubleValue())));
+        return standings;
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to write live json: " + e.getMessage()).build();
+        }
+    }
+
+    private static Change change(String value) {
+        try {
+            return MAPPER.readValue(value, Change.class);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to read live change: " + e.getMessage()).build();
+        }
+    }
+
+    private static List<String> fromJson(String value) {
+        try {
+            return MAPPER.readValue(value, ANSWERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to read live json: " + e.getMessage()).build();
+        }
+    }
+
+    /**
+     * The timer of the item at the current position of a live.
+     *
+     * @param key the canonical key of the live
+     * @param deadline the deadline of the item, in epoch milliseconds of the Redis clock
+     */
+    public record Timer(String key, long deadline) { }
+
+    /**
+     * What a command changed in a live: the version of the live after it and the events it published, in order.
+     *
+     * @param version the version of the live after the command, 0 when the live does not exist or was ended
+     *     and -1 when the item was closed
+     * @param events the events published by the command, empty when it changed nothing of the live
+     */
+    public record Change(long version, List<LiveEvent> events) {
+        public Change {
+            events = events == null ? List.of() : List.copyOf(events);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.pi.utils.redis.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_quiz.core.domain.Quiz;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.constants.Scripts;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshots of the quizzes played by the lives.
+ *
+ * <p>The quiz of a live never changes while the live runs, and a class usually plays the same quiz
+ * in several lives, so the quiz is stored once under {@link LiveKeys#snapshot(String)}, addressed by
+ * the SHA-256 of its JSON, and each live keeps only the hash. The snapshot counts the lives using it
+ * and is deleted with the last one by {@link Scripts#END_LIVE}. The JSON of the snapshots read lately
+ * is kept in process, so fetching a live does not read its quiz again; a new {@link Quiz} is decoded on
+ * every fetch, because the live adds the pupil answers to its items.</p>
+ */
+public class QuizSnapshotStore {
+    private static final Logger LOG = LoggerFactory.getLogger(QuizSnapshotStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final RedisScript<Long> SAVE_SNAPSHOT = RedisScript.of(Scripts.SAVE_SNAPSHOT, Long.class);
+    private static final int CACHE_SIZE = 256;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Map<String, String> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public QuizSnapshotStore(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Stores the snapshot of a quiz, if it is not stored yet, and takes a reference to it for a new live.
+     *
+     * @param quiz the quiz played by the live
+     * @return a Mono that emits the hash of the snapshot
+     */
+    public Mono<String> save(Quiz quiz) {
+        var json = toJson(quiz);
+        var hash = hash(json);
+        return redisTemplate.execute(SAVE_SNAPSHOT, List.of(LiveKeys.snapshot(hash)), List.of(json)).next()
+                .map(refs -> {
+                    LOG.info("Quiz snapshot {} used by {} lives.", hash, refs);
+                    remember(hash, json);
+                    return hash;
+                });
+    }
+
+    /**
+     * Reads the quiz of a snapshot.
+     *
+     * @param hash the hash of the snapshot
+     * @return a Mono that emits a new quiz decoded from the snapshot, or an empty Mono if it does not exist
+     */
+    public Mono<Quiz> fetch(String hash) {
+        var json = cached(hash);
+        var source = json != null
+                ? Mono.just(json)
+                : redisTemplate.<String, String>opsForHash().get(LiveKeys.snapshot(hash), "quiz").doOnNext(value -> remember(hash, value));
+        return source.map(QuizSnapshotStore::fromJson);
+    }
+
+    private synchronized String cached(String hash) {
+        return cache.get(hash);
+    }
+
+    private synchronized void remember(String hash, String json) {
+        cache.put(hash, json);
+    }
+
+    private static String hash(String json) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to hash quiz snapshot: " + e.getMessage()).build();
+        }
+    }
+
+    private static String toJson(Quiz quiz) {
+        try {
+            return MAPPER.writeValueAsString(quiz);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to write quiz snapshot: " + e.getMessage()).build();
+        }
+    }
+
+    private static Quiz fromJson(String json) {
+        try {
+            return MAPPER.readValue(json, Quiz.class);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to read quiz snapshot: " + e.getMessage()).build();
+        }
+    }
+}
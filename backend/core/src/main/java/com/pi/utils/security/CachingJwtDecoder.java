@@ -0,0 +1,100 @@
+package com.pi.utils.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoder of JWT that keeps the tokens it already verified.
+ *
+ * <p>The signature of a token is verified once by the decoder it wraps, and the decoded token is then kept, under
+ * the SHA-256 digest of the token, until it expires, so the next requests of the same client only cost a digest.
+ * Tokens without expiry, or not valid yet, are never kept. The cache is bounded by the least recently used
+ * token when it is full.</p>
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final int size;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<String, Jwt> verified = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+            return size() > CachingJwtDecoder.this.size;
+        }
+    };
+
+    /**
+     * Wraps a decoder.
+     *
+     * @param delegate the decoder that verifies the tokens
+     * @param size the most tokens kept
+     * @param meterRegistry the registry of the hit and miss counters
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, int size, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.size = size;
+        this.hits = Counter.builder("jwt.decoder.cache.requests").tag("result", "hit")
+                .description("Tokens decoded from the cache of verified tokens")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.decoder.cache.requests").tag("result", "miss")
+                .description("Tokens verified because they were not in the cache of verified tokens")
+                .register(meterRegistry);
+        Gauge.builder("jwt.decoder.cache.size", this, CachingJwtDecoder::cached)
+                .description("Verified tokens in the cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        var digest = digest(token);
+        var now = Instant.now();
+        Jwt jwt;
+        synchronized (verified) {
+            jwt = verified.get(digest);
+            if (jwt != null && !now.isBefore(jwt.getExpiresAt())) {
+                verified.remove(digest);
+                jwt = null;
+            }
+        }
+        if (jwt != null) {
+            hits.increment();
+            return jwt;
+        }
+        misses.increment();
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt()) && (jwt.getNotBefore() == null || !now.isBefore(jwt.getNotBefore()))) {
+            synchronized (verified) {
+                verified.put(digest, jwt);
+            }
+        }
+        return jwt;
+    }
+
+    private int cached() {
+        synchronized (verified) {
+            return verified.size();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.pi.utils.security;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+/**
+ * Measures the tokens signed and verified per second with each algorithm of {@link JwtKeys#ALGORITHMS}, on one
+ * thread, with fresh keys and the claims the services sign, to choose {@code jwt.algorithm}. The verification
+ * goes through the decoder of the services without its cache, as each new token is verified once.
+ *
+ * <p>Optional arguments: the seconds measured per operation (default 5) and the seconds of warm up (default 2).</p>
+ */
+public class JwtAlgorithmBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(JwtAlgorithmBenchmark.class);
+
+    public static void main(String[] args) throws JOSEException {
+        var seconds = args.length > 0 ? Long.parseLong(args[0]) : 5;
+        var warmUp = args.length > 1 ? Long.parseLong(args[1]) : 2;
+        var keys = List.of(
+                new RSAKeyGenerator(2048).algorithm(JWSAlgorithm.RS256).keyID("bench-rs256").generate(),
+                new ECKeyGenerator(Curve.P_256).algorithm(JWSAlgorithm.ES256).keyID("bench-es256").generate()
+        );
+        for (JWK key : keys) {
+            var encoder = new SigningJwtEncoder(key);
+            var decoder = JwtKeys.decoder(List.of(key));
+            var token = sign(encoder);
+            measure(encoder, decoder, token, warmUp);
+            var signed = measure(() -> sign(encoder), seconds);
+            var verified = measure(() -> decoder.decode(token), seconds);
+            LOG.info("{}: {} signs/s, {} verifies/s, token of {} chars", key.getAlgorithm(), signed, verified, token.length());
+        }
+    }
+
+    private static void measure(JwtEncoder encoder, JwtDecoder decoder, String token, long seconds) {
+        measure(() -> sign(encoder), seconds);
+        measure(() -> decoder.decode(token), seconds);
+    }
+
+    private static long measure(Runnable operation, long seconds) {
+        if (seconds <= 0) return 0;
+        var start = System.nanoTime();
+        var end = start + seconds * 1_000_000_000L;
+        long operations = 0;
+        long now;
+        do {
+            operation.run();
+            operations++;
+            now = System.nanoTime();
+        } while (now < end);
+        return operations * 1_000_000_000L / (now - start);
+    }
+
+    private static String sign(JwtEncoder encoder) {
+        var now = Instant.now();
+        var claims = JwtClaimsSet.builder()
+                .issuer("pi")
+                .subject("benchmark")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .claim("scope", "STUDENT")
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,133 @@
+package com.pi.utils.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+import org.springframework.core.io.Resource;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keys of the JWT signatures.
+ *
+ * <p>The keys are PEM files, as written by {@link KeyGenerator}, of one of the algorithms in {@link #ALGORITHMS}.
+ * Each key becomes a JWK with its algorithm and key id, so the signed tokens carry the {@code kid} of their key
+ * and the decoder picks the key to verify them among all the keys it trusts, which lets a new key sign while the
+ * tokens of the previous one are still accepted.</p>
+ */
+public final class JwtKeys {
+    /**
+     * The signature algorithms supported: RS256 with RSA 2048 keys and ES256 with EC P-256 keys.
+     */
+    public static final Set<JWSAlgorithm> ALGORITHMS = Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256);
+
+    private JwtKeys() { }
+
+    /**
+     * Parses a signature algorithm.
+     *
+     * @param name the name of the algorithm, RS256 or ES256
+     * @return the algorithm
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public static JWSAlgorithm algorithm(String name) {
+        var algorithm = JWSAlgorithm.parse(name.trim());
+        if (!ALGORITHMS.contains(algorithm)) throw new IllegalArgumentException("Unsupported JWT algorithm: " + name);
+        return algorithm;
+    }
+
+    /**
+     * Builds the JWK that signs the tokens.
+     *
+     * @param algorithm the signature algorithm
+     * @param keyId the key id, or blank to use the thumbprint of the key
+     * @param publicKey the PEM of the public key
+     * @param privateKey the PEM of the private key
+     * @return the JWK with both keys
+     */
+    public static JWK signing(JWSAlgorithm algorithm, String keyId, Resource publicKey, Resource privateKey) {
+        return jwk(algorithm, keyId, read(publicKey, algorithm, false), read(privateKey, algorithm, true));
+    }
+
+    /**
+     * Builds a JWK that only verifies the tokens.
+     *
+     * @param algorithm the signature algorithm
+     * @param keyId the key id, or blank to use the thumbprint of the key
+     * @param publicKey the PEM of the public key
+     * @return the JWK with the public key
+     */
+    public static JWK verification(JWSAlgorithm algorithm, String keyId, Resource publicKey) {
+        return jwk(algorithm, keyId, read(publicKey, algorithm, false), null);
+    }
+
+    /**
+     * Builds the decoder that verifies the tokens signed by any of the keys, picking the key by the {@code kid}
+     * and the algorithm of the token. The claims are checked by the validators of the decoder.
+     *
+     * @param keys the keys trusted, only the public part of the key pairs is used, and the secret keys of
+     *     {@link PupilTokens} verify HS256
+     * @return the decoder
+     */
+    public static NimbusJwtDecoder decoder(List<JWK> keys) {
+        var verificationKeys = keys.stream().map(key -> key instanceof OctetSequenceKey ? key : key.toPublicJWK()).toList();
+        var algorithms = new HashSet<>(ALGORITHMS);
+        if (verificationKeys.stream().anyMatch(OctetSequenceKey.class::isInstance)) algorithms.add(JWSAlgorithm.HS256);
+        var processor = new DefaultJWTProcessor<SecurityContext>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, new ImmutableJWKSet<>(new JWKSet(verificationKeys))));
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+        return new NimbusJwtDecoder(processor);
+    }
+
+    private static JWK jwk(JWSAlgorithm algorithm, String keyId, Key publicKey, Key privateKey) {
+        try {
+            if (JWSAlgorithm.ES256.equals(algorithm)) {
+                var builder = new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey).algorithm(algorithm);
+                if (privateKey != null) builder.privateKey((ECPrivateKey) privateKey);
+                return keyId == null || keyId.isBlank() ? builder.keyIDFromThumbprint().build() : builder.keyID(keyId).build();
+            } else {
+                var builder = new RSAKey.Builder((RSAPublicKey) publicKey).algorithm(algorithm);
+                if (privateKey != null) builder.privateKey((RSAPrivateKey) privateKey);
+                return keyId == null || keyId.isBlank() ? builder.keyIDFromThumbprint().build() : builder.keyID(keyId).build();
+            }
+        } catch (JOSEException | ClassCastException e) {
+            throw new IllegalStateException("Key does not match the JWT algorithm " + algorithm + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Key read(Resource resource, JWSAlgorithm algorithm, boolean secret) {
+        try {
+            var pem = resource.getContentAsString(StandardCharsets.US_ASCII).replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+            var der = Base64.getDecoder().decode(pem);
+            var factory = KeyFactory.getInstance(JWSAlgorithm.ES256.equals(algorithm) ? "EC" : "RSA");
+            return secret ? factory.generatePrivate(new PKCS8EncodedKeySpec(der)) : factory.generatePublic(new X509EncodedKeySpec(der));
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to read the JWT key " + resource.getDescription() + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
@@ -17,21 +18,35 @@ import com.pi.utils.models.CustomAlert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Generates the key pair that signs the JWT, as PEM files in the resources of the core.
+ *
+ * <p>With no argument, or {@code RS256}, it writes an RSA 2048 pair to {@code public.pub} and {@code private.key}.
+ * With {@code ES256} it writes an EC P-256 pair to {@code public-es256.pub} and {@code private-es256.key}, whose
+ * signatures are much cheaper to make, to be configured with {@code jwt.algorithm: ES256}. Existing keys are
+ * never replaced.</p>
+ */
 public class KeyGenerator {
     private static final Logger LOG = LoggerFactory.getLogger(KeyGenerator.class);
 
     private static final Integer KEY_SIZE = 2048;
+    private static final String CURVE = "secp256r1";
     private static final String FILE_PUBLIC = "/public.pub";
     private static final String FILE_PRIVATE = "/private.key";
+    private static final String FILE_PUBLIC_ES256 = "/public-es256.pub";
+    private static final String FILE_PRIVATE_ES256 = "/private-es256.key";
     private static final String PATH = "core/src/main/resources";
 
     public static void main(String[] args) {
-        if (!keysExist()) {
-            var pair = generateKeyPairRSA();
+        var ec = args.length > 0 && "ES256".equalsIgnoreCase(args[0]);
+        var filePublic = ec ? FILE_PUBLIC_ES256 : FILE_PUBLIC;
+        var filePrivate = ec ? FILE_PRIVATE_ES256 : FILE_PRIVATE;
+        if (!keysExist(filePublic, filePrivate)) {
+            var pair = ec ? generateKeyPairEC() : generateKeyPairRSA();
             createFolderResourcesIfNotExist();
-            generateFileWithPublicKey(pair.getPublic());
-            generateFileWithPrivateKey(pair.getPrivate());
-            LOG.debug("Generated RSA keys in " + PATH);
+            generateFileWithPublicKey(pair.getPublic(), filePublic);
+            generateFileWithPrivateKey(pair.getPrivate(), filePrivate);
+            LOG.debug("Generated " + (ec ? "EC" : "RSA") + " keys in " + PATH);
         } else {
             LOG.info("Keys already exist, no need to generate new ones.");
         }
@@ -49,17 +64,29 @@ public class KeyGenerator {
         }
     }
 
+    private static KeyPair generateKeyPairEC() {
+        try {
+            KeyPairGenerator keyPairGen = KeyPairGenerator.getInstance("EC");
+            keyPairGen.initialize(new ECGenParameterSpec(CURVE));
+            return keyPairGen.generateKeyPair();
+        } catch (Exception e) {
+            LOG.error(e.getMessage());
+            var alert = new CustomAlert(SystemCodeEnum.C002PI);
+            throw GlobalException.builder().alert(alert).status(500).build();
+        }
+    }
+
     private static void createFolderResourcesIfNotExist() {
         File dir = new File(PATH);
         if (!dir.exists()) dir.mkdirs();
     }
 
-    private static void generateFileWithPublicKey(PublicKey key) {
+    private static void generateFileWithPublicKey(PublicKey key, String file) {
         try {
             X509EncodedKeySpec x509EncodedKeySpec = new X509EncodedKeySpec(key.getEncoded());
             String publicKeyPEM = convertToPEMFormat("PUBLIC KEY", Base64.getEncoder().encodeToString(x509EncodedKeySpec.getEncoded()));
 
-            try (FileOutputStream fos = new FileOutputStream(PATH + FILE_PUBLIC)) {
+            try (FileOutputStream fos = new FileOutputStream(PATH + file)) {
                 fos.write(publicKeyPEM.getBytes(StandardCharsets.UTF_8));
             }
         } catch (Exception e) {
@@ -69,12 +96,12 @@ public class KeyGenerator {
         }
     }
 
-    private static void generateFileWithPrivateKey(PrivateKey key) {
+    private static void generateFileWithPrivateKey(PrivateKey key, String file) {
         try {
             PKCS8EncodedKeySpec pkcs8EncodedKeySpec = new PKCS8EncodedKeySpec(key.getEncoded());
             String privateKeyPEM = convertToPEMFormat("PRIVATE KEY", Base64.getEncoder().encodeToString(pkcs8EncodedKeySpec.getEncoded()));
 
-            try (FileOutputStream fos = new FileOutputStream(PATH + FILE_PRIVATE)) {
+            try (FileOutputStream fos = new FileOutputStream(PATH + file)) {
                 fos.write(privateKeyPEM.getBytes(StandardCharsets.UTF_8));
             }
         } catch (Exception e) {
@@ -91,9 +118,9 @@ public class KeyGenerator {
     }
 
     // Verifica se as chaves já existem
-    private static boolean keysExist() {
-        File publicKeyFile = new File(PATH + FILE_PUBLIC);
-        File privateKeyFile = new File(PATH + FILE_PRIVATE);
+    private static boolean keysExist(String filePublic, String filePrivate) {
+        File publicKeyFile = new File(PATH + filePublic);
+        File privateKeyFile = new File(PATH + filePrivate);
         return publicKeyFile.exists() && privateKeyFile.exists();
     }
 }
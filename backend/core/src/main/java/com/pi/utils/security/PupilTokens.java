@@ -0,0 +1,124 @@
+package com.pi.utils.security;
+
+import com.pi.core_auth.core.enums.ScopeType;
+import com.pi.core_auth.core.utils.constants.Claim;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Tokens of the pupils of a live.
+ *
+ * <p>A pupil token is a JWT signed with HMAC-SHA256 instead of the key of the service, so it is made and checked
+ * in microseconds and a whole class can join a live at once. It carries the same claims as an anonymous token,
+ * plus the key of its live, and the services only accept it on that live. The secret is {@code jwt.pupil.secret}
+ * when set, otherwise it is derived from the signing key, which every service already shares.</p>
+ */
+public class PupilTokens {
+    /**
+     * The key id of the pupil tokens, which selects the secret to verify them.
+     */
+    public static final String KEY_ID = "pupil";
+
+    private static final String DERIVATION = "pi-pupil-token";
+
+    private final OctetSequenceKey key;
+    private final MACSigner signer;
+    private final JWSHeader header;
+    private final String issuer;
+    private final Duration expiry;
+    private final int batchMax;
+
+    /**
+     * Builds the pupil tokens of a secret.
+     *
+     * @param secret the secret in base64, of at least 32 bytes, or blank to derive it from the signing key
+     * @param signingKey the signing key of the service, with its private key
+     * @param issuer the issuer of the tokens
+     * @param expiry how long a token is valid, about the length of a class
+     * @param batchMax the most tokens signed at once for a lobby
+     */
+    public PupilTokens(String secret, JWK signingKey, String issuer, Duration expiry, int batchMax) {
+        this.issuer = issuer;
+        this.expiry = expiry;
+        this.batchMax = batchMax;
+        var bytes = secret == null || secret.isBlank() ? derive(signingKey) : Base64.getDecoder().decode(secret.trim());
+        try {
+            this.key = new OctetSequenceKey.Builder(bytes).keyID(KEY_ID).algorithm(JWSAlgorithm.HS256).keyUse(KeyUse.SIGNATURE).build();
+            this.signer = new MACSigner(key);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Pupil token secret must have at least 32 bytes: " + e.getMessage(), e);
+        }
+        this.header = new JWSHeader.Builder(JWSAlgorithm.HS256).keyID(KEY_ID).build();
+    }
+
+    /**
+     * Signs the token of a pupil on a live.
+     *
+     * @param keyLive the key of the live the token is accepted on
+     * @param login the login of the pupil
+     * @param code the code of the pupil
+     * @param now the time of issue
+     * @return the token
+     */
+    public String sign(String keyLive, String login, String code, Instant now) {
+        var claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(expiry)))
+                .subject(login + "#" + code)
+                .claim(Claim.SCOPE, ScopeType.ANONYMOUS.name())
+                .claim(Claim.LOGIN, login)
+                .claim(Claim.CODE, code)
+                .claim(Claim.LIVE, keyLive)
+                .build();
+        try {
+            var jwt = new SignedJWT(header, claims);
+            jwt.sign(signer);
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign the pupil token: " + e.getMessage(), e);
+        }
+    }
+
+    public Duration getExpiry() { return expiry; }
+    public int getBatchMax() { return batchMax; }
+
+    /**
+     * The key that verifies the pupil tokens, to add to the keys of the decoder.
+     *
+     * @return the secret key
+     */
+    public JWK verificationKey() {
+        return key;
+    }
+
+    private static byte[] derive(JWK signingKey) {
+        try {
+            var privateKey = signingKey instanceof ECKey ec ? ec.toPrivateKey() : signingKey.toRSAKey().toPrivateKey();
+            if (privateKey == null) throw new IllegalStateException("Signing key has no private key to derive the pupil token secret");
+            var mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(privateKey.getEncoded(), "HmacSHA256"));
+            return mac.doFinal(DERIVATION.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to derive the pupil token secret: " + e.getMessage(), e);
+        }
+    }
+}
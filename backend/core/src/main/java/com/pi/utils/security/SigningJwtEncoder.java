@@ -0,0 +1,43 @@
+package com.pi.utils.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Encoder of JWT that signs with one key.
+ *
+ * <p>The tokens encoded without a header get the algorithm and the key id of the signing key, so the use cases
+ * keep encoding only their claims whatever the algorithm configured, and the decoders know which key verifies
+ * each token.</p>
+ */
+public class SigningJwtEncoder implements JwtEncoder {
+    private final JwtEncoder delegate;
+    private final JwsHeader header;
+
+    /**
+     * Builds the encoder of a key.
+     *
+     * @param jwk the signing key, with its algorithm and key id, as built by {@link JwtKeys#signing}
+     */
+    public SigningJwtEncoder(JWK jwk) {
+        this.delegate = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+        this.header = JwsHeader.with(SignatureAlgorithm.from(jwk.getAlgorithm().getName()))
+                .keyId(jwk.getKeyID())
+                .build();
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        if (parameters.getJwsHeader() != null) return delegate.encode(parameters);
+        return delegate.encode(JwtEncoderParameters.from(header, parameters.getClaims()));
+    }
+}
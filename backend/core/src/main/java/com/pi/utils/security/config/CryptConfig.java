@@ -0,0 +1,45 @@
+package com.pi.utils.security.config;
+
+import com.pi.utils.services.Crypt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the cost of the password hashes and the pool of threads that computes them.
+ *
+ * <p>With {@code crypt.threads} at 0 the pool takes one thread per core. The pool threads are only started by
+ * the first hash, so the services that never hash a password pay nothing.</p>
+ */
+@Configuration
+public class CryptConfig implements InitializingBean, DisposableBean {
+
+    @Value("${crypt.enabled:true}") Boolean ENABLED;
+    @Value("${crypt.strength:10}") Integer STRENGTH;
+    @Value("${crypt.threads:0}") Integer THREADS;
+    @Value("${crypt.queue:64}") Integer QUEUE;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public CryptConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!ENABLED) return;
+        var threads = THREADS > 0 ? THREADS : Runtime.getRuntime().availableProcessors();
+        Crypt.configure(STRENGTH, threads, QUEUE, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Override
+    public void destroy() {
+        Crypt.shutdown();
+    }
+}
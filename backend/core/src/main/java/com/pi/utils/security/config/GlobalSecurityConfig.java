@@ -1,27 +1,31 @@
 package com.pi.utils.security.config;
 
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
 
+import com.pi.utils.security.CachingJwtDecoder;
+import com.pi.utils.security.JwtKeys;
+import com.pi.utils.security.PupilTokens;
+import com.pi.utils.security.SigningJwtEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -29,11 +33,15 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import static com.pi.core_auth.core.utils.constants.Router.ROUTER_AUTH_INFO;
 import static com.pi.core_auth.core.utils.constants.Router.ROUTER_POST_ANONYMOUS_TOKEN;
+import static com.pi.core_auth.core.utils.constants.Router.ROUTER_POST_PUPIL_TOKEN;
+import static com.pi.core_auth.core.utils.constants.Router.ROUTER_POST_PUPIL_TOKENS;
 import static com.pi.core_auth.core.utils.constants.Router.ROUTER_POST_SIGN_IN_TOKEN;
 import static com.pi.core_auth.core.utils.constants.Router.ROUTER_GET_STATUS_TOKEN;
 import static com.pi.core_auth.core.utils.constants.Router.ROUTER_GET_SCOPE_TOKEN;
 import static com.pi.core_auth.core.enums.CommandType.COMMAND_POST_ANONYMOUS_TOKEN;
 import static com.pi.core_auth.core.enums.CommandType.COMMAND_POST_SIGN_IN_TOKEN;
+import static com.pi.core_auth.core.enums.CommandType.COMMAND_POST_PUPIL_TOKEN;
+import static com.pi.core_auth.core.enums.CommandType.COMMAND_POST_PUPIL_TOKENS;
 import static com.pi.core_auth.core.enums.QueryType.QUERY_GET_STATUS_TOKEN;
 import static com.pi.core_auth.core.enums.QueryType.QUERY_GET_SCOPE_TOKEN;
 
@@ -45,8 +53,12 @@ import static com.pi.core_live.core.enums.CommandType.COMMAND_PATCH_ADD_PUPIL_TO
 import static com.pi.core_live.core.enums.CommandType.COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ;
 import static com.pi.core_live.core.enums.CommandType.COMMAND_PATCH_END_LIVE;
 import static com.pi.core_live.core.enums.QueryType.QUERY_GET_LIVE;
+import static com.pi.core_live.core.enums.QueryType.QUERY_GET_ACTIVE_LIVES;
+import static com.pi.core_live.core.enums.QueryType.QUERY_GET_LEADERBOARD;
 
 import static com.pi.core_live.core.utils.constants.Router.ROUTER_GET_LIVE;
+import static com.pi.core_live.core.utils.constants.Router.ROUTER_GET_ACTIVE_LIVES;
+import static com.pi.core_live.core.utils.constants.Router.ROUTER_GET_LEADERBOARD;
 import static com.pi.core_live.core.utils.constants.Router.ROUTER_LIVE_INFO;
 import static com.pi.core_live.core.utils.constants.Router.ROUTER_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ;
 import static com.pi.core_live.core.utils.constants.Router.ROUTER_PATCH_ADD_PUPIL_TO_LOBBY;
@@ -91,14 +103,23 @@ import static com.pi.core_user.core.enums.QueryType.QUERY_GET_USER_BY_PROJECTION
 @EnableMethodSecurity
 public class GlobalSecurityConfig {
 
-    @Value("${jwt.public.key}") RSAPublicKey publicKey;
-    @Value("${jwt.private.key}") RSAPrivateKey privateKey;
+    @Value("${jwt.public.key}") Resource publicKey;
+    @Value("${jwt.private.key}") Resource privateKey;
+    @Value("${jwt.algorithm:RS256}") String ALGORITHM;
+    @Value("${jwt.key-id:}") String KEY_ID;
+    @Value("${jwt.verify.keys:}") List<String> VERIFY_KEYS;
+    @Value("${jwt.issuer:ms_auth}") String ISSUER;
+    @Value("${jwt.pupil.secret:}") String PUPIL_SECRET;
+    @Value("${jwt.pupil.expiry:4h}") Duration PUPIL_EXPIRY;
+    @Value("${jwt.pupil.batch-max:500}") Integer PUPIL_BATCH_MAX;
+    @Value("${jwt.cache.size:10000}") Integer CACHE_SIZE;
 
     @Bean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
             CustomAuthenticationEntryPoint authEntryPoint,
-            CustomAccessDeniedHandler accessDeniedHandler
+            CustomAccessDeniedHandler accessDeniedHandler,
+            JwtDecoder jwtDecoder
     ) throws Exception {
         http
                 .authorizeHttpRequests(authorize -> {
@@ -107,6 +128,7 @@ public class GlobalSecurityConfig {
                     // MS_AUTH
                     authorize.requestMatchers(HttpMethod.GET, ROUTER_AUTH_INFO).permitAll();
                     authorize.requestMatchers(HttpMethod.POST, ROUTER_POST_ANONYMOUS_TOKEN + "/" + COMMAND_POST_ANONYMOUS_TOKEN.name()).permitAll();
+                    authorize.requestMatchers(HttpMethod.POST, ROUTER_POST_PUPIL_TOKEN + "/" + COMMAND_POST_PUPIL_TOKEN.name()).permitAll();
 
                     // MS_USER
                     authorize.requestMatchers(HttpMethod.GET, ROUTER_USER_INFO).permitAll();
@@ -117,6 +139,8 @@ public class GlobalSecurityConfig {
                     // MS_LIVE
                     authorize.requestMatchers(HttpMethod.GET, ROUTER_LIVE_INFO).permitAll();
                     authorize.requestMatchers(HttpMethod.GET, "/live/v1/get/live/stream/QUERY_GET_LIVE_STREAM/**").permitAll();
+                    authorize.requestMatchers(HttpMethod.GET, "/live/v1/get/live/events/QUERY_GET_LIVE_EVENTS/**").permitAll();
+                    authorize.requestMatchers(HttpMethod.GET, "/live/v1/channel/**").permitAll();
 
                     // OTHER REQUESTS
                     authorize.anyRequest().authenticated();
@@ -126,6 +150,8 @@ public class GlobalSecurityConfig {
                     csrf.ignoringRequestMatchers(ROUTER_AUTH_INFO);
                     csrf.ignoringRequestMatchers(ROUTER_POST_ANONYMOUS_TOKEN + "/" + COMMAND_POST_ANONYMOUS_TOKEN.name());
                     csrf.ignoringRequestMatchers(ROUTER_POST_SIGN_IN_TOKEN + "/" + COMMAND_POST_SIGN_IN_TOKEN.name());
+                    csrf.ignoringRequestMatchers(ROUTER_POST_PUPIL_TOKEN + "/" + COMMAND_POST_PUPIL_TOKEN.name());
+                    csrf.ignoringRequestMatchers(ROUTER_POST_PUPIL_TOKENS + "/" + COMMAND_POST_PUPIL_TOKENS.name());
                     csrf.ignoringRequestMatchers(ROUTER_GET_STATUS_TOKEN + "/" + QUERY_GET_STATUS_TOKEN.name());
                     csrf.ignoringRequestMatchers(ROUTER_GET_SCOPE_TOKEN + "/" + QUERY_GET_SCOPE_TOKEN.name());
 
@@ -151,6 +177,8 @@ public class GlobalSecurityConfig {
 
                     // MS_LIVE
                     csrf.ignoringRequestMatchers(ROUTER_GET_LIVE + "/" + QUERY_GET_LIVE.name());
+                    csrf.ignoringRequestMatchers(ROUTER_GET_ACTIVE_LIVES + "/" + QUERY_GET_ACTIVE_LIVES.name());
+                    csrf.ignoringRequestMatchers(ROUTER_GET_LEADERBOARD + "/" + QUERY_GET_LEADERBOARD.name());
                     csrf.ignoringRequestMatchers(ROUTER_POST_NEW_LIVE + "/" + COMMAND_POST_NEW_LIVE.name());
                     csrf.ignoringRequestMatchers(ROUTER_PATCH_NEXT_POSITION + "/" + COMMAND_PATCH_NEXT_POSITION.name());
                     csrf.ignoringRequestMatchers(ROUTER_PATCH_PREVIOUS_POSITION + "/" + COMMAND_PATCH_PREVIOUS_POSITION.name());
@@ -161,7 +189,7 @@ public class GlobalSecurityConfig {
                 })
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.decoder(jwtDecoder()))
+                        .jwt(jwt -> jwt.decoder(jwtDecoder))
                         .authenticationEntryPoint(authEntryPoint)
                         .accessDeniedHandler(accessDeniedHandler)
                 )
@@ -174,15 +202,37 @@ public class GlobalSecurityConfig {
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(publicKey).build();
+    JWK signingKey() {
+        return JwtKeys.signing(JwtKeys.algorithm(ALGORITHM), KEY_ID, publicKey, privateKey);
+    }
+
+    @Bean
+    PupilTokens pupilTokens(JWK signingKey) {
+        return new PupilTokens(PUPIL_SECRET, signingKey, ISSUER, PUPIL_EXPIRY, PUPIL_BATCH_MAX);
+    }
+
+    /**
+     * Verifies the tokens signed by the signing key, by the previous keys still trusted, listed in
+     * {@code jwt.verify.keys} as {@code kid:algorithm:location}, and the pupil tokens, picking the key by the
+     * {@code kid} of the token.
+     */
+    @Bean
+    JwtDecoder jwtDecoder(JWK signingKey, PupilTokens pupilTokens, ResourceLoader resourceLoader, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<JWK> keys = new ArrayList<>();
+        keys.add(signingKey);
+        keys.add(pupilTokens.verificationKey());
+        for (var key : VERIFY_KEYS) {
+            if (key.isBlank()) continue;
+            var parts = key.trim().split(":", 3);
+            if (parts.length < 3) throw new IllegalArgumentException("JWT verification key must be kid:algorithm:location: " + key);
+            keys.add(JwtKeys.verification(JwtKeys.algorithm(parts[1]), parts[0], resourceLoader.getResource(parts[2])));
+        }
+        return new CachingJwtDecoder(JwtKeys.decoder(keys), CACHE_SIZE, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
     }
 
     @Bean
-    JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(publicKey).privateKey(privateKey).build();
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwks);
+    JwtEncoder jwtEncoder(JWK signingKey) {
+        return new SigningJwtEncoder(signingKey);
     }
 
     @Bean
@@ -0,0 +1,59 @@
+package com.pi.utils.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Blocking calls on the reactive paths.
+ *
+ * <p>The blocking drivers, as the {@code MongoTemplate}, are called through {@link #call(Callable)}, which runs
+ * the call on the bounded elastic scheduler, so no request or event loop thread waits on I/O. With the check of
+ * {@link #detect(String...)} enabled, the threads with the given name prefixes are non-blocking for Reactor,
+ * so a {@code block()} on them fails, and a blocking call that reaches one of them fails as well.</p>
+ */
+public final class Blocking {
+    private static final Logger LOG = LoggerFactory.getLogger(Blocking.class);
+
+    private Blocking() { }
+
+    /**
+     * Runs a blocking call on the bounded elastic scheduler.
+     *
+     * @param callable the blocking call
+     * @return a Mono that emits the result of the call, or an empty Mono when it is {@code null}
+     */
+    public static <T> Mono<T> call(Callable<T> callable) {
+        return Mono.fromCallable(() -> {
+            check();
+            return callable.call();
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Fails when the current thread must not block.
+     *
+     * @throws IllegalStateException if the current thread is non-blocking
+     */
+    public static void check() {
+        if (Schedulers.isInNonBlockingThread()) {
+            throw new IllegalStateException("Blocking call is not supported in thread " + Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Enables the check of blocking calls on the threads with the given name prefixes.
+     *
+     * @param prefixes the name prefixes of the request and event loop threads
+     */
+    public static void detect(String... prefixes) {
+        var names = List.of(prefixes);
+        Schedulers.registerNonBlockingThreadPredicate(thread -> names.stream().anyMatch(thread.getName()::startsWith));
+        LOG.warn("Blocking check enabled on threads {}.", names);
+    }
+}
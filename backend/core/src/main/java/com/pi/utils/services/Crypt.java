@@ -1,7 +1,26 @@
 package com.pi.utils.services;
 
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Utility class for handling value encryption and verification using BCrypt.
  * <p>
@@ -9,13 +28,44 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
  * matches an encrypted (hashed) value. It uses the BCrypt hashing algorithm, which is a secure way
  * to store passwords as it includes a salt to protect against rainbow table attacks.
  * </p>
+ * <p>
+ * Once {@link #configure(int, int, int, MeterRegistry)} is called, the hashes run on a bounded pool of threads
+ * instead of the threads of the requests, so a burst of sign-ins only takes the cores of the pool and the other
+ * requests keep running. A hash that finds the pool and its queue full fails right away with a 503 and a
+ * {@code Retry-After}, rather than holding the request thread in a queue that grows without end.
+ * </p>
  *
  * @author GustavoBoaz
  * @since 1.0
  */
 public class Crypt {
+    private static final Logger LOG = LoggerFactory.getLogger(Crypt.class);
 
-    private static final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private static volatile BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private static volatile Pool pool;
+
+    /**
+     * Sets the cost of the new hashes and moves the hashing to a bounded pool of threads.
+     *
+     * @param strength the log2 of the BCrypt rounds of the new hashes, between 4 and 31
+     * @param threads the threads of the pool, usually the cores given to hashing
+     * @param queue the most hashes waiting for a thread before the next ones are refused
+     * @param meterRegistry the registry of the latency and rejection metrics
+     */
+    public static synchronized void configure(int strength, int threads, int queue, MeterRegistry meterRegistry) {
+        shutdown();
+        encoder = new BCryptPasswordEncoder(strength);
+        pool = new Pool(threads, queue, meterRegistry);
+        LOG.info("Password hashing with BCrypt strength {} on {} threads and a queue of {}.", strength, threads, queue);
+    }
+
+    /**
+     * Stops the pool, the next hashes run on the caller thread.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) pool.executor.shutdown();
+        pool = null;
+    }
 
     /**
      * Encrypts the provided plain-text value using the BCrypt algorithm.
@@ -25,9 +75,11 @@ public class Crypt {
      *
      * @param value the plain-text value to be encrypted
      * @return the encrypted value (BCrypt hash) that can be safely stored
+     * @throws GlobalException with status 503 if the pool of hashing is saturated
      */
     public static String encrypt(String value) {
-        return encoder.encode(value);
+        var current = encoder;
+        return run("encrypt", () -> current.encode(value));
     }
 
     /**
@@ -40,8 +92,98 @@ public class Crypt {
      * @param rawValue       the plain-text value to be verified
      * @param encryptedValue the encrypted value (BCrypt hash) to compare with the raw value
      * @return {@code true} if the raw value matches the encrypted value, {@code false} otherwise
+     * @throws GlobalException with status 503 if the pool of hashing is saturated
      */
     public static boolean isMatch(String rawValue, String encryptedValue) {
-        return encoder.matches(rawValue, encryptedValue);
+        var current = encoder;
+        return run("match", () -> current.matches(rawValue, encryptedValue));
+    }
+
+    /**
+     * Tells whether an encrypted value was hashed with a lower cost than the configured one, so it should be
+     * encrypted again the next time its plain-text value is known, as on a sign-in.
+     *
+     * @param encryptedValue the encrypted value (BCrypt hash)
+     * @return {@code true} if the value should be encrypted again
+     */
+    public static boolean isOutdated(String encryptedValue) {
+        return encoder.upgradeEncoding(encryptedValue);
+    }
+
+    private static <T> T run(String operation, Callable<T> hash) {
+        var current = pool;
+        if (current == null) {
+            try {
+                return hash.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return current.run(operation, hash);
+    }
+
+    /**
+     * The threads of hashing, with their metrics.
+     */
+    private static final class Pool {
+        private final ThreadPoolExecutor executor;
+        private final MeterRegistry meterRegistry;
+        private final Counter rejected;
+
+        private Pool(int threads, int queue, MeterRegistry meterRegistry) {
+            var count = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queue), runnable -> {
+                var thread = new Thread(runnable, "crypt-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.meterRegistry = meterRegistry;
+            this.rejected = Counter.builder("crypt.rejected")
+                    .description("Password hashes refused because the pool of hashing was saturated")
+                    .register(meterRegistry);
+            Gauge.builder("crypt.queue", executor, e -> e.getQueue().size())
+                    .description("Password hashes waiting for a thread of the pool of hashing")
+                    .register(meterRegistry);
+        }
+
+        private <T> T run(String operation, Callable<T> hash) {
+            var queued = System.nanoTime();
+            try {
+                var future = executor.submit(() -> {
+                    var started = System.nanoTime();
+                    timer("crypt.wait", "Time password hashes waited for a thread", operation).record(started - queued, TimeUnit.NANOSECONDS);
+                    try {
+                        return hash.call();
+                    } finally {
+                        timer("crypt.hash", "Time spent hashing passwords", operation).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    }
+                });
+                return future.get();
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                LOG.warn("{} - Password hashing saturated, {} refused.", SystemCodeEnum.C055PI.name(), operation);
+                throw saturated();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw saturated();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private Timer timer(String name, String description, String operation) {
+            return Timer.builder(name).description(description).tag("operation", operation).register(meterRegistry);
+        }
+
+        private static GlobalException saturated() {
+            return GlobalException.builder()
+                    .status(503)
+                    .alert(new CustomAlert(SystemCodeEnum.C055PI))
+                    .retryAfter(1L)
+                    .build();
+        }
     }
-}
\ No newline at end of file
+}
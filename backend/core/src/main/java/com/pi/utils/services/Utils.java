@@ -30,7 +30,7 @@ public class Utils {
      */
     public static String removePrefixBearerToToken(String token) {
         if (token.startsWith("Bearer ")) {
-            LOG.info("Removing 'Bearer ' prefix from token: {}", token);
+            LOG.info("Removing 'Bearer ' prefix from token.");
             return token.substring(7);
         }
         return token;
@@ -80,7 +80,7 @@ public class Utils {
      * @return the generated string. ex - PUPILABC
      */
     public static String generatePupilRandom() {
-        LOG.info("Generate PUPIL with random letters.");
+        LOG.debug("Generate PUPIL with random letters.");
         StringBuilder sb = new StringBuilder(PUPIL);
 
         for (int i = 0; i < 3; i++) {
@@ -96,7 +96,7 @@ public class Utils {
      * @return the generated number as String with leading zeros. ex - "004567", "123456", "000001"
      */
     public static String generateRandom6Digits() {
-        LOG.info("Generate 6-digit random number with leading zeros.");
+        LOG.debug("Generate 6-digit random number with leading zeros.");
         int randomNum = SECURE_RANDOM.nextInt(1000000);
 
         return String.format("%06d", randomNum);
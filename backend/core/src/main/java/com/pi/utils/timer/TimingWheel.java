@@ -0,0 +1,136 @@
+package com.pi.utils.timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hashed timing wheel of deadlines.
+ *
+ * <p>The wheel is a ring of buckets, one per tick, turned by a single thread. A deadline goes to the bucket of
+ * its tick, with the number of turns left before it is due, so scheduling and cancelling are O(1) and thousands
+ * of deadlines cost one thread and one object each, whatever their distance. The deadlines are fired on the
+ * wheel thread at most one tick late, so the tasks must only hand the work over, never block.</p>
+ */
+public class TimingWheel implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tick;
+    private final List<List<Timeout>> buckets;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final Thread worker;
+    private final long start = System.currentTimeMillis();
+    private long ticks;
+
+    /**
+     * Starts a wheel.
+     *
+     * @param name the name of the wheel thread
+     * @param tick the duration of a tick, the precision of the deadlines
+     * @param size the number of buckets of the ring
+     */
+    public TimingWheel(String name, Duration tick, int size) {
+        this.tick = Math.max(1, tick.toMillis());
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) buckets.add(new ArrayList<>());
+        this.worker = Thread.ofPlatform().name(name).daemon().start(this::run);
+    }
+
+    /**
+     * Schedules a task at a deadline, a deadline in the past fires on the next tick.
+     *
+     * @param deadline the deadline in epoch milliseconds
+     * @param task the task to run on the wheel thread
+     * @return the timeout, to cancel the task
+     */
+    public Timeout schedule(long deadline, Runnable task) {
+        var timeout = new Timeout(deadline, task);
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (running.get()) {
+            var next = start + (ticks + 1) * tick;
+            var sleep = next - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            place();
+            expire(buckets.get((int) (ticks % buckets.size())), next);
+            ticks++;
+        }
+    }
+
+    /**
+     * Moves the new timeouts to the bucket of their deadline.
+     */
+    private void place() {
+        for (var timeout = scheduled.poll(); timeout != null; timeout = scheduled.poll()) {
+            if (timeout.cancelled) continue;
+            var due = Math.max(ticks, (timeout.deadline - start) / tick);
+            timeout.rounds = (due - ticks) / buckets.size();
+            buckets.get((int) (due % buckets.size())).add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket, long now) {
+        for (Iterator<Timeout> iterator = bucket.iterator(); iterator.hasNext(); ) {
+            var timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+            } else if (timeout.rounds > 0) {
+                timeout.rounds--;
+            } else if (timeout.deadline <= now) {
+                iterator.remove();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    LOG.warn("Timer task failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running.set(false);
+        worker.interrupt();
+    }
+
+    /**
+     * A task scheduled on the wheel.
+     */
+    public static final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+        private volatile boolean cancelled;
+        private long rounds;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        public long getDeadline() { return deadline; }
+
+        /**
+         * Cancels the task, it is dropped from the wheel on its tick.
+         */
+        public void cancel() { cancelled = true; }
+    }
+}
@@ -45,7 +45,7 @@ public class ValidationCommon {
     }
 
     public static void token(String token) {
-        LOG.info("Init validate token format: {}", token);
+        LOG.info("Init validate token format.");
         if (ObjectUtils.isEmpty(token)) {
             LOG.warn("{} - Invalid token type.", SystemCodeEnum.C121PI.name());
             throw GlobalException.builder()
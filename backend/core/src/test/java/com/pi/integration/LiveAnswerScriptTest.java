@@ -0,0 +1,159 @@
+package com.pi.integration;
+
+import com.pi.core_live.core.domain.LiveEvent;
+import com.pi.core_live.core.enums.EventType;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.store.LiveStore;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Runs {@code Scripts.ADD_PUPIL_ANSWER} through {@link LiveStore#addPupilAnswer} on a Redis server, the one of
+ * {@code REDIS_HOST} and {@code REDIS_PORT}, or of localhost. The tests are skipped when no server answers.
+ */
+public class LiveAnswerScriptTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String LOGIN = "PUPILLOGIN";
+    private static final String CODE = "123456";
+    private static final String PUPIL = LOGIN + "#" + CODE;
+    private static final String FIELD = "1|" + PUPIL;
+    private static final String RULE = "{\"open\":false,\"answers\":[\"A\",\"B\"],\"timer\":%d,\"reward\":100}";
+
+    private static LettuceConnectionFactory factory;
+    private static ReactiveStringRedisTemplate redisTemplate;
+
+    private String key;
+
+    @BeforeAll
+    public static void connect() {
+        var host = Objects.requireNonNullElse(System.getenv("REDIS_HOST"), "localhost");
+        var port = Integer.parseInt(Objects.requireNonNullElse(System.getenv("REDIS_PORT"), "6379"));
+        factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        factory.afterPropertiesSet();
+        factory.start();
+        redisTemplate = new ReactiveStringRedisTemplate(factory);
+        try {
+            redisTemplate.hasKey(LiveKeys.TIMERS).block(TIMEOUT);
+        } catch (RuntimeException e) {
+            Assumptions.abort("No Redis server on " + host + ":" + port);
+        }
+    }
+
+    @AfterAll
+    public static void disconnect() {
+        if (factory != null) factory.destroy();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        key = "Live-" + System.nanoTime() + "-TEACHERLOGIN#123456";
+        live(0, null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        redisTemplate.delete(Flux.fromIterable(LiveKeys.layout(key))).block(TIMEOUT);
+    }
+
+    @Test
+    public void hitScoresTheRewardAndIsCounted() {
+        var change = store(false).addPupilAnswer(key, LOGIN, CODE, List.of("B", "A")).block(TIMEOUT);
+
+        Assertions.assertNotNull(change);
+        Assertions.assertEquals(List.of(EventType.ANSWER_COUNTED, EventType.LEADERBOARD_UPDATED, EventType.ENGAGEMENT_UPDATED),
+                change.events().stream().map(LiveEvent::getType).toList());
+        Assertions.assertTrue(change.events().get(0).getHit());
+        var engagement = change.events().get(2).getEngagement();
+        Assertions.assertEquals(1, engagement.getParticipantCount());
+        Assertions.assertEquals(1, engagement.getAnswersCorrect());
+        Assertions.assertEquals(0, engagement.getAnswersIncorrect());
+        Assertions.assertEquals(Map.of(FIELD, 100), store(false).points(key).block(TIMEOUT));
+        Assertions.assertEquals(100L, store(false).standing(key, PUPIL).block(TIMEOUT).score());
+    }
+
+    @Test
+    public void resubmittedAnswerUndoesThePreviousOne() {
+        var store = store(false);
+        store.addPupilAnswer(key, LOGIN, CODE, List.of("A", "B")).block(TIMEOUT);
+
+        store.addPupilAnswer(key, LOGIN, CODE, List.of("A")).block(TIMEOUT);
+        Assertions.assertEquals(Map.of("correct", "0", "incorrect", "1"), engagement());
+        Assertions.assertEquals(Map.of(), store.points(key).block(TIMEOUT));
+        Assertions.assertEquals(0L, store.standing(key, PUPIL).block(TIMEOUT).score());
+
+        store.addPupilAnswer(key, LOGIN, CODE, List.of()).block(TIMEOUT);
+        Assertions.assertEquals(Map.of("correct", "0", "incorrect", "1", "unanswered", "1"), engagement());
+
+        var change = store.addPupilAnswer(key, LOGIN, CODE, List.of("A", "B")).block(TIMEOUT);
+        Assertions.assertEquals(Map.of("correct", "1", "incorrect", "0", "unanswered", "0"), engagement());
+        Assertions.assertEquals(Map.of(FIELD, 100), store.points(key).block(TIMEOUT));
+        Assertions.assertEquals(100L, store.standing(key, PUPIL).block(TIMEOUT).score());
+        var scored = change.events().stream().filter(event -> event.getType() == EventType.LEADERBOARD_UPDATED).findFirst().orElseThrow();
+        Assertions.assertEquals(1L, scored.getRank());
+    }
+
+    @Test
+    public void sameAnswerAgainScoresNothingMore() {
+        var store = store(false);
+        store.addPupilAnswer(key, LOGIN, CODE, List.of("A", "B")).block(TIMEOUT);
+        var change = store.addPupilAnswer(key, LOGIN, CODE, List.of("A", "B")).block(TIMEOUT);
+
+        Assertions.assertTrue(change.events().stream().noneMatch(event -> event.getType() == EventType.LEADERBOARD_UPDATED));
+        Assertions.assertEquals(Map.of("correct", "1", "incorrect", "0"), engagement());
+        Assertions.assertEquals(100L, store.standing(key, PUPIL).block(TIMEOUT).score());
+    }
+
+    @Test
+    public void weightedRewardScalesWithTheTimeLeft() {
+        live(10, System.currentTimeMillis() + 5_000);
+        store(true).addPupilAnswer(key, LOGIN, CODE, List.of("A", "B")).block(TIMEOUT);
+
+        var points = store(true).points(key).block(TIMEOUT).get(FIELD);
+        Assertions.assertTrue(points >= 70 && points <= 75, "points " + points);
+        Assertions.assertEquals(points.longValue(), store(true).standing(key, PUPIL).block(TIMEOUT).score());
+    }
+
+    @Test
+    public void closedItemIsRefusedWithoutWrites() {
+        redisTemplate.opsForHash().put(LiveKeys.state(key), "closed:1", "now").block(TIMEOUT);
+
+        var refused = Assertions.assertThrows(GlobalException.class, () -> store(false).addPupilAnswer(key, LOGIN, CODE, List.of("A", "B")).block(TIMEOUT));
+        Assertions.assertEquals(409, refused.getStatus());
+        Assertions.assertEquals(Map.of(), engagement());
+        Assertions.assertEquals(Map.of(), store(false).points(key).block(TIMEOUT));
+    }
+
+    private void live(int timer, Long deadline) {
+        var state = redisTemplate.<String, String>opsForHash();
+        state.putAll(LiveKeys.state(key), Map.of("status", "PROGRESS", "currentPosition", "1", "size", "1")).block(TIMEOUT);
+        if (deadline != null) state.put(LiveKeys.state(key), "deadline", String.valueOf(deadline)).block(TIMEOUT);
+        state.put(LiveKeys.answerKey(key), "1", RULE.formatted(timer)).block(TIMEOUT);
+        redisTemplate.opsForSet().add(LiveKeys.lobby(key), PUPIL).block(TIMEOUT);
+    }
+
+    private Map<String, String> engagement() {
+        return redisTemplate.<String, String>opsForHash().entries(LiveKeys.engagement(key))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue).block(TIMEOUT);
+    }
+
+    private static LiveStore store(boolean weighted) {
+        return new LiveStore(null, redisTemplate, null, Duration.ofMinutes(5), weighted);
+    }
+}
@@ -0,0 +1,56 @@
+package com.pi.unitary;
+
+import com.pi.utils.admission.TokenBucket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+    @Test
+    public void burstPassesThenWaitsForTheRate() {
+        var bucket = new TokenBucket(2, 2, 0);
+        Assertions.assertEquals(0, bucket.take(0));
+        Assertions.assertEquals(0, bucket.take(0));
+        Assertions.assertEquals(500, bucket.take(0));
+        Assertions.assertEquals(250, bucket.take(250));
+        Assertions.assertEquals(0, bucket.take(500));
+    }
+
+    @Test
+    public void refillsUpToTheBurst() {
+        var bucket = new TokenBucket(10, 2, 0);
+        bucket.take(0);
+        bucket.take(0);
+        Assertions.assertTrue(bucket.isFull(60_000));
+        Assertions.assertEquals(0, bucket.take(60_000));
+        Assertions.assertEquals(0, bucket.take(60_000));
+        Assertions.assertEquals(100, bucket.take(60_000));
+    }
+
+    @Test
+    public void clockGoingBackDoesNotRefill() {
+        var bucket = new TokenBucket(1, 1, 1_000);
+        Assertions.assertEquals(0, bucket.take(1_000));
+        Assertions.assertEquals(1_000, bucket.take(500));
+        Assertions.assertEquals(500, bucket.take(1_500));
+    }
+
+    @Test
+    public void giveBackReturnsTheTokenTaken() {
+        var bucket = new TokenBucket(1, 1, 0);
+        Assertions.assertEquals(0, bucket.take(0));
+        Assertions.assertFalse(bucket.isFull(0));
+        bucket.giveBack();
+        Assertions.assertTrue(bucket.isFull(0));
+        Assertions.assertEquals(0, bucket.take(0));
+    }
+
+    @Test
+    public void giveBackNeverExceedsTheBurst() {
+        var bucket = new TokenBucket(1, 1, 0);
+        bucket.giveBack();
+        Assertions.assertEquals(0, bucket.take(0));
+        Assertions.assertEquals(1_000, bucket.take(0));
+    }
+}
@@ -106,6 +106,9 @@ public class Auth {
                         }
                         ```
                         
+                        Com muitos logins ao mesmo tempo, as senhas esperam numa fila limitada; com a fila cheia a resposta é `503`
+                        com o header `Retry-After`, em segundos, para tentar de novo.
+                        
                         ---
                         
                         ## 3. Validar Status do Token
@@ -149,6 +152,28 @@ public class Auth {
                           "code": "123456"
                         }
                         ```
+                        
+                        ---
+                        
+                        ## 5. Token de Aluno de uma Live
+                        
+                        **Endpoint:**
+                        
+                        `POST /auth/v1/post/pupil/token/COMMAND_POST_PUPIL_TOKEN`
+                        
+                        **Body:**
+                        
+                        - `keyLive`: chave da live em que o aluno entra.
+                        
+                        **Uso:**
+                        
+                        Para entrar numa live sem conta, no lugar do token anônimo. O token é assinado com HMAC, feito e verificado
+                        em microssegundos, e só é aceito nos comandos da live do `keyLive`. O `login` e o `code` do aluno estão no token.
+                        
+                        Para preparar as sessões de uma turma, o professor pede os tokens de uma vez, até 500 por padrão:
+                        
+                        `POST /auth/v1/post/pupil/tokens/COMMAND_POST_PUPIL_TOKENS` com `keyLive`, `count` e o header
+                        `Authorization: Bearer <teacher-token>`.
                         """)
                 .contact(new Contact().email(email));
 
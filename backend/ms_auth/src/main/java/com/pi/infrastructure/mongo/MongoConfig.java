@@ -2,16 +2,25 @@ package com.pi.infrastructure.mongo;
 
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.pi.utils.mongo.documents.UserDocument;
+import com.pi.utils.mongo.indexes.MongoIndexes;
+import com.pi.utils.mongo.indexes.MongoIndexesEndpoint;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.util.Map;
+
+import static com.pi.utils.mongo.constants.Collections.COLLECTION_USERS;
+
 @Configuration
 public class MongoConfig {
 
     @Value("${spring.data.mongodb.uri}") String URI;
     @Value("${spring.data.mongodb.database}") String DB_NAME;
+    @Value("${spring.data.mongodb.indexes.drop-undeclared:false}") boolean DROP_UNDECLARED;
 
     @Bean
     public MongoClient mongoClient() {
@@ -22,4 +31,19 @@ public class MongoConfig {
     public MongoTemplate mongoTemplate(MongoClient mongoClient) {
         return new MongoTemplate(mongoClient, DB_NAME);
     }
+
+    @Bean
+    public MongoIndexes mongoIndexes(MongoTemplate mongoTemplate) {
+        return new MongoIndexes(mongoTemplate, Map.of(COLLECTION_USERS, UserDocument.class), DROP_UNDECLARED);
+    }
+
+    @Bean
+    public MongoIndexesEndpoint mongoIndexesEndpoint(MongoIndexes mongoIndexes) {
+        return new MongoIndexesEndpoint(mongoIndexes);
+    }
+
+    @Bean
+    public ApplicationRunner initCollections(MongoIndexes mongoIndexes) {
+        return args -> mongoIndexes.reconcile();
+    }
 }
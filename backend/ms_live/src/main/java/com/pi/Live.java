@@ -151,6 +151,8 @@ public class Live {
                         
                         - Mesmo response Live do item 1.
                         
+                        - Quando o item tem `timerSeconds`, o item é fechado no fim do tempo e, com `TIMER_AUTO_ADVANCE`, a Live avança sozinha.
+                        
                         ## 3. Voltar de posição
                         
                         **Endpoint:**
@@ -259,6 +261,12 @@ public class Live {
                         
                         - Mesmo response Live do item 1.
                         
+                        - Uma resposta depois do tempo do item é recusada com status 409 (C133PI).
+                        
+                        - Com a Live ou a réplica saturada, os comandos dos Pupils (itens 5 e 6) são recusados com status 429 (C134PI) e o header `Retry-After` com os segundos a esperar; no canal, o reply traz `retryAfter`.
+                        
+                        - Um acerto soma o `reward` do item à pontuação do Pupil no ranking da Live; com `LEADERBOARD_TIME_WEIGHTED`, o reward cai até a metade conforme o tempo do item passa.
+                        
                         ## 7. Finalizar a Live.
                         
                         **Endpoint:**
@@ -284,6 +292,10 @@ public class Live {
                         
                         - Mesmo response Live do item 1.
                         
+                        - A Live é arquivada no Mongo em segundo plano e fica com status COMPLETED até o arquivamento.
+                        
+                        - Uma Live sem atividade além do tempo limite do seu status é encerrada e arquivada automaticamente.
+                        
                         ## 8. Pegar Live por chave.
                         
                         **Endpoint:**
@@ -305,6 +317,8 @@ public class Live {
                         
                         - Mesmo response Live do item 1.
                         
+                        - A Live pode vir do cache local da réplica, invalidado pelos eventos de mudança da Live e com no máximo `NEAR_CACHE_TTL` de idade.
+                        
                         ## 9. Pegar Live stream por chave.
                         
                         **Endpoint:**
@@ -326,6 +340,87 @@ public class Live {
                         
                         - Mesmo response Live do item 1.
                         
+                        ## 10. Pegar eventos do Live por chave.
+                        
+                        **Endpoint:**
+                        
+                        `GET /live/v1/get/live/events/QUERY_GET_LIVE_EVENTS/<key-live>`
+                        
+                        **Part Parâmetros:**
+                        
+                        - `key-live`: chave do Live.
+                        
+                        **Headers:**
+                        
+                        ```
+                        Content-Type: text/event-stream
+                        ```
+                        
+                        **Response Body:**
+                        
+                        - Primeiro um evento SNAPSHOT com o Live completo, depois apenas os eventos de mudança
+                          (POSITION_CHANGED, PUPIL_JOINED, PUPIL_LEFT, ANSWER_COUNTED, LEADERBOARD_UPDATED, ENGAGEMENT_UPDATED, ITEM_CLOSED, LIVE_COMPLETED, LIVE_ENDED),
+                          com o id igual à versão do Live.
+                        
+                        ## 11. Canal WebSocket do Live por chave.
+                        
+                        **Endpoint:**
+                        
+                        `WS /live/v1/channel/<key-live>?access_token=<token>`
+                        
+                        **Part Parâmetros:**
+                        
+                        - `key-live`: chave do Live.
+                        - `access_token`: token, quando o header Authorization não pode ser enviado.
+                        
+                        **Frames enviados:**
+                        
+                        - Comandos em JSON, autenticados uma vez na abertura do canal:
+                          COMMAND_PATCH_NEXT_POSITION, COMMAND_PATCH_PREVIOUS_POSITION, COMMAND_PATCH_REMOVE_PUPIL_FROM_LOBBY,
+                          COMMAND_PATCH_ADD_PUPIL_TO_LOBBY e COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ.
+                        
+                        ```
+                        {"id":"1","commandType":"COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ","pupilLogin":"<login>","pupilCode":"<code>","answerItem":["A"]}
+                        ```
+                        
+                        **Frames recebidos:**
+                        
+                        - Os mesmos eventos do item 10, e um REPLY para cada comando com o mesmo id:
+                        
+                        ```
+                        {"type":"REPLY","id":"1","status":200,"version":14}
+                        ```
+                        
+                        - Quando o token expira, o canal é fechado com o código 1008 (VIOLATED_POLICY); um comando recebido depois da expiração é respondido com status 401 (C050PI).
+                        
+                        ## 12. Pegar ranking do Live por chave.
+                        
+                        **Endpoint:**
+                        
+                        `GET /live/v1/get/leaderboard/QUERY_GET_LEADERBOARD/<key-live>?size=10&pupilLogin=<login>&pupilCode=<code>`
+                        
+                        **Part Parâmetros:**
+                        
+                        - `key-live`: chave do Live.
+                        - `size`: quantidade de Pupils do topo, de 1 a 100.
+                        - `pupilLogin` e `pupilCode`: opcionais, para receber também a posição desse Pupil.
+                        
+                        **Headers:**
+                        
+                        ```
+                        Authorization: Bearer <token>
+                        ```
+                        
+                        **Response Body:**
+                        
+                        ```
+                        {"key":"<key-live>","pupils":24,"top":[{"pupil":"user1#code","score":75,"rank":1}],"pupil":{"pupil":"user9#code","score":10,"rank":12}}
+                        ```
+                        
+                        **Réplicas:**
+                        
+                        - Com `CLUSTER_ENABLED`, cada Live pertence a uma única réplica, escolhida por hash da chave entre as réplicas com lease válido no Redis. Os comandos dos itens 2 a 6 e do canal são encaminhados à réplica dona, que os aplica em ordem e responde com a cópia da Live em memória; sem a réplica dona, qualquer réplica aplica o comando direto no Redis.
+                        
                         """)
                 .contact(new Contact().email(email));
 
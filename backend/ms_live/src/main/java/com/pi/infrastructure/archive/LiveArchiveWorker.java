@@ -0,0 +1,99 @@
+package com.pi.infrastructure.archive;
+
+import com.pi.infrastructure.mongo.LiveCommandPersistAdapter;
+import com.pi.utils.redis.outbox.LiveArchiveOutbox;
+import com.pi.utils.redis.registry.LiveRegistry;
+import com.pi.utils.redis.store.LiveStore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Background worker that archives the ended lives of the outbox in Mongo.
+ *
+ * <p>On each interval the worker takes the entries left idle by stopped workers, then reads a batch of
+ * the outbox and stores the lives in a single bulk write, retried with backoff. Only after Mongo acknowledges
+ * the batch, the lives are deleted from Redis and the entries acknowledged; a failed batch stays pending and
+ * is read again on the next interval. A full batch is followed by the next one right away.</p>
+ */
+@Component
+public class LiveArchiveWorker implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveArchiveWorker.class);
+
+    @Value("${microservice.live.archive.batch:50}") Integer BATCH;
+    @Value("${microservice.live.archive.interval:1s}") Duration INTERVAL;
+    @Value("${microservice.live.archive.idle:1m}") Duration IDLE;
+
+    private final String consumer = "archiver-" + UUID.randomUUID();
+    private final LiveArchiveOutbox outbox;
+    private final LiveCommandPersistAdapter liveCommandPersistAdapter;
+    private final LiveStore liveStore;
+    private final LiveRegistry liveRegistry;
+    private Disposable subscription;
+    private volatile boolean grouped;
+
+    public LiveArchiveWorker(LiveArchiveOutbox outbox, LiveCommandPersistAdapter liveCommandPersistAdapter, LiveStore liveStore, LiveRegistry liveRegistry) {
+        this.outbox = outbox;
+        this.liveCommandPersistAdapter = liveCommandPersistAdapter;
+        this.liveStore = liveStore;
+        this.liveRegistry = liveRegistry;
+    }
+
+    @Override
+    public void start() {
+        LOG.info("Start live archive worker {}.", consumer);
+        subscription = Flux.interval(INTERVAL)
+                .onBackpressureDrop()
+                .concatMap(tick -> (grouped ? Mono.<Void>empty() : outbox.createGroup().doOnSuccess(created -> grouped = true))
+                        .then(outbox.claim(consumer, IDLE, BATCH))
+                        .then(drain())
+                        .expand(count -> count >= BATCH ? drain() : Mono.empty())
+                        .onErrorResume(e -> {
+                            grouped = false;
+                            LOG.warn("Live archive worker {} failed, the batch stays in the outbox: {}", consumer, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Archives the next batch of the outbox.
+     *
+     * @return a Mono that emits the number of entries of the batch
+     */
+    private Mono<Integer> drain() {
+        return outbox.read(consumer, BATCH).collectList().flatMap(entries -> {
+            if (entries.isEmpty()) return Mono.just(0);
+            var archived = entries.stream().filter(entry -> entry.live() != null).toList();
+            var lives = archived.stream().map(LiveArchiveOutbox.Entry::live).toList();
+            var ids = entries.stream().map(LiveArchiveOutbox.Entry::id).toList();
+            return (lives.isEmpty() ? Mono.just(0) : liveCommandPersistAdapter.persistLives(lives).retryWhen(Retry.backoff(3, Duration.ofMillis(200))))
+                    .thenMany(Flux.fromIterable(archived).concatMap(entry -> liveStore.delete(entry.key()).then(liveRegistry.unregister(entry.live()))))
+                    .then(outbox.acknowledge(ids))
+                    .doOnNext(removed -> LOG.info("Archived {} lives from the outbox.", lives.size()))
+                    .thenReturn(entries.size());
+        });
+    }
+
+    @Override
+    public void stop() {
+        if (Objects.nonNull(subscription)) subscription.dispose();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(subscription) && !subscription.isDisposed();
+    }
+}
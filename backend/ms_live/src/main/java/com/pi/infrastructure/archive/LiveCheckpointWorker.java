@@ -0,0 +1,189 @@
+package com.pi.infrastructure.archive;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.StatusLive;
+import com.pi.infrastructure.mongo.LiveCommandPersistAdapter;
+import com.pi.infrastructure.mongo.LiveQueryPersistAdapter;
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.constants.Scripts;
+import com.pi.utils.redis.registry.LiveRegistry;
+import com.pi.utils.redis.store.LiveStore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Background worker that checkpoints the running lives in Mongo.
+ *
+ * <p>On each interval the worker holding the {@link LiveKeys#CHECKPOINT_LOCK} lease takes the next page of
+ * the PENDING and PROGRESS lives of the registry, skips the lives whose version did not change since their
+ * last checkpoint and writes the changed paths of the others in a single bulk write. The worker renews the
+ * lease on each interval and keeps it while it runs, so Mongo receives one batch per interval whatever the number
+ * of instances, and the versions and paths remembered of the last checkpoints stay with the worker that wrote
+ * them. A worker that takes the lease, from another or after losing it, forgets its own and writes the lives
+ * whole once. The archive of an ended live replaces its checkpoint.</p>
+ *
+ * <p>On start, when the {@link LiveKeys#CHECKPOINT_MARKER} is missing, Redis lost its data or is new, and the
+ * latest checkpoint of each teacher is restored in the store and the registry, unless the teacher already
+ * started another live.</p>
+ */
+@Component
+public class LiveCheckpointWorker implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveCheckpointWorker.class);
+    private static final List<StatusLive> RUNNING = List.of(StatusLive.PROGRESS, StatusLive.PENDING);
+    private static final int VERSIONS = 4096;
+    private static final RedisScript<Long> LEASE = RedisScript.of(Scripts.LEASE, Long.class);
+
+    @Value("${microservice.live.checkpoint.batch:100}") Integer BATCH;
+    @Value("${microservice.live.checkpoint.interval:10s}") Duration INTERVAL;
+
+    private final String worker = "checkpointer-" + UUID.randomUUID();
+    private final LiveCommandPersistAdapter liveCommandPersistAdapter;
+    private final LiveQueryPersistAdapter liveQueryPersistAdapter;
+    private final LiveStore liveStore;
+    private final LiveRegistry liveRegistry;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Map<StatusLive, String> cursors = new LinkedHashMap<>();
+    private final Map<String, Long> versions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > VERSIONS;
+        }
+    };
+    private boolean leased;
+    private Disposable subscription;
+
+    public LiveCheckpointWorker(LiveCommandPersistAdapter liveCommandPersistAdapter, LiveQueryPersistAdapter liveQueryPersistAdapter,
+                                LiveStore liveStore, LiveRegistry liveRegistry, ReactiveStringRedisTemplate redisTemplate) {
+        this.liveCommandPersistAdapter = liveCommandPersistAdapter;
+        this.liveQueryPersistAdapter = liveQueryPersistAdapter;
+        this.liveStore = liveStore;
+        this.liveRegistry = liveRegistry;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void start() {
+        LOG.info("Start live checkpoint worker {}.", worker);
+        subscription = recover()
+                .onErrorResume(e -> {
+                    LOG.error("Live checkpoint worker {} failed to restore the lives: {}", worker, e.getMessage());
+                    return Mono.empty();
+                })
+                .thenMany(Flux.interval(INTERVAL))
+                .onBackpressureDrop()
+                .concatMap(tick -> redisTemplate.execute(LEASE, List.of(LiveKeys.CHECKPOINT_LOCK), List.of(worker, String.valueOf(INTERVAL.multipliedBy(2).toMillis()))).next()
+                        .map(held -> lease(held > 0))
+                        .filter(Boolean::booleanValue)
+                        .flatMap(held -> checkpoint())
+                        .onErrorResume(e -> {
+                            lease(false);
+                            LOG.warn("Live checkpoint worker {} failed, the lives are checkpointed on the next interval: {}", worker, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Checkpoints the next page of the running lives.
+     *
+     * @return a Mono that emits the number of lives checkpointed
+     */
+    private Mono<Integer> checkpoint() {
+        return Flux.fromIterable(RUNNING)
+                .concatMap(status -> liveRegistry.scanStatus(status, cursors.getOrDefault(status, "0"), BATCH)
+                        .doOnNext(page -> cursors.put(status, page.getCursor()))
+                        .flatMapIterable(page -> page.getContent()))
+                .distinct()
+                .concatMap(key -> liveStore.version(key)
+                        .filter(version -> !version.equals(versionOf(key)))
+                        .flatMap(version -> liveStore.fetch(key).zipWith(liveStore.points(key), Live::points)))
+                .collectList()
+                .filter(lives -> !lives.isEmpty())
+                .flatMap(lives -> liveCommandPersistAdapter.checkpointLives(lives)
+                        .doOnNext(count -> {
+                            lives.forEach(this::remember);
+                            LOG.info("Checkpointed {} of {} lives changed.", count, lives.size());
+                        }));
+    }
+
+    /**
+     * Restores the latest checkpoint of each teacher when the Redis data was lost.
+     *
+     * @return a Mono that completes when the lives were restored
+     */
+    private Mono<Void> recover() {
+        return redisTemplate.opsForValue().setIfAbsent(LiveKeys.CHECKPOINT_MARKER, worker)
+                .filter(Boolean::booleanValue)
+                .flatMap(missing -> liveQueryPersistAdapter.fetchCheckpoints())
+                .flatMapMany(lives -> {
+                    var teachers = new HashSet<String>();
+                    return Flux.fromIterable(lives)
+                            .filter(live -> teachers.add(LiveKeys.alias(live.getTeacher().getLogin(), live.getTeacher().getCode())));
+                })
+                .concatMap(this::restore)
+                .count()
+                .doOnNext(count -> { if (count > 0) LOG.warn("Restored {} lives from their checkpoints.", count); })
+                .then();
+    }
+
+    private Mono<Live> restore(Live live) {
+        var alias = LiveKeys.alias(live.getTeacher().getLogin(), live.getTeacher().getCode());
+        return liveRegistry.resolve(alias)
+                .filter(alias::equals)
+                .flatMap(unregistered -> liveStore.restore(live))
+                .filter(Boolean::booleanValue)
+                .flatMap(restored -> liveRegistry.register(live).thenReturn(live))
+                .doOnNext(restored -> LOG.info("Restored live {} from its checkpoint of version {}.", live.getKey(), live.getVersion()));
+    }
+
+    /**
+     * Follows the lease of the worker, the versions and paths remembered are dropped when the worker takes the
+     * lease it did not hold on the previous interval, since another worker may have checkpointed the lives meanwhile.
+     *
+     * @return whether the worker holds the lease
+     */
+    private synchronized boolean lease(boolean held) {
+        if (held && !leased) {
+            versions.clear();
+            liveCommandPersistAdapter.forgetCheckpoints();
+        }
+        leased = held;
+        return held;
+    }
+
+    private synchronized Long versionOf(String key) {
+        return versions.get(key);
+    }
+
+    private synchronized void remember(Live live) {
+        versions.put(live.getKey(), live.getVersion());
+    }
+
+    @Override
+    public void stop() {
+        if (Objects.nonNull(subscription)) subscription.dispose();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(subscription) && !subscription.isDisposed();
+    }
+}
@@ -0,0 +1,159 @@
+package com.pi.infrastructure.archive;
+
+import com.pi.core_live.core.domain.StatusLive;
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.outbox.LiveArchiveOutbox;
+import com.pi.utils.redis.registry.LiveRegistry;
+import com.pi.utils.redis.store.LiveStore;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background worker that keeps the lives in Redis alive while they are in use and completes the abandoned ones.
+ *
+ * <p>On each interval the worker holding the {@link LiveKeys#EXPIRY_LOCK} lease walks the lives of every
+ * status of the registry. A live updated within the idle timeout of its status has the expiry of its keys
+ * refreshed; an idle live is ended through the {@link LiveArchiveOutbox}, as if its teacher had ended it,
+ * and stays until the archive worker stores it. The keys of a live that nobody refreshes, when no worker
+ * runs, expire on their own after the expiry of the store, and the live is pruned from the registry. The
+ * walk measures the lives and the bytes they hold in Redis.</p>
+ */
+@Component
+public class LiveExpiryWorker implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveExpiryWorker.class);
+
+    @Value("${microservice.live.expiry.batch:100}") Integer BATCH;
+    @Value("${microservice.live.expiry.interval:1m}") Duration INTERVAL;
+    @Value("${microservice.live.expiry.idle.pending:1h}") Duration IDLE_PENDING;
+    @Value("${microservice.live.expiry.idle.progress:2h}") Duration IDLE_PROGRESS;
+    @Value("${microservice.live.expiry.idle.completed:15m}") Duration IDLE_COMPLETED;
+
+    private final String worker = "expirer-" + UUID.randomUUID();
+    private final LiveStore liveStore;
+    private final LiveRegistry liveRegistry;
+    private final LiveArchiveOutbox liveArchiveOutbox;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final AtomicLong lives = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private Disposable subscription;
+
+    public LiveExpiryWorker(LiveStore liveStore, LiveRegistry liveRegistry, LiveArchiveOutbox liveArchiveOutbox,
+                            ReactiveStringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.liveStore = liveStore;
+        this.liveRegistry = liveRegistry;
+        this.liveArchiveOutbox = liveArchiveOutbox;
+        this.redisTemplate = redisTemplate;
+        Gauge.builder("live.store.lives", lives, AtomicLong::get)
+                .description("Lives held in Redis at the last expiry walk")
+                .register(meterRegistry);
+        Gauge.builder("live.store.bytes", bytes, AtomicLong::get)
+                .description("Bytes held in Redis by the lives at the last expiry walk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        LOG.info("Start live expiry worker {}.", worker);
+        subscription = Flux.interval(INTERVAL)
+                .onBackpressureDrop()
+                .concatMap(tick -> redisTemplate.opsForValue().setIfAbsent(LiveKeys.EXPIRY_LOCK, worker, INTERVAL.dividedBy(2))
+                        .filter(Boolean::booleanValue)
+                        .flatMap(leased -> walk())
+                        .onErrorResume(e -> {
+                            LOG.warn("Live expiry worker {} failed, the lives are walked on the next interval: {}", worker, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Walks the lives of every status, refreshing, ending or pruning each one.
+     *
+     * @return a Mono that emits the bytes held by the lives
+     */
+    private Mono<Long> walk() {
+        var now = Instant.now();
+        var count = new AtomicLong();
+        return Flux.fromArray(StatusLive.values())
+                .concatMap(status -> scan(status, "0")
+                        .concatMap(key -> liveStore.state(key)
+                                .flatMap(state -> expire(key, state, now))
+                                .doOnNext(held -> count.incrementAndGet())
+                                .switchIfEmpty(Mono.defer(() -> liveRegistry.prune(key).then(Mono.empty())))))
+                .reduce(0L, Long::sum)
+                .doOnNext(held -> {
+                    lives.set(count.get());
+                    bytes.set(held);
+                });
+    }
+
+    /**
+     * Iterates every page of the lives of a status.
+     */
+    private Flux<String> scan(StatusLive status, String cursor) {
+        return liveRegistry.scanStatus(status, cursor, BATCH)
+                .flatMapMany(page -> Flux.fromIterable(page.getContent())
+                        .concatWith(page.isFinished() ? Flux.empty() : Flux.defer(() -> scan(status, page.getCursor()))));
+    }
+
+    /**
+     * Refreshes the expiry of a live in use, or ends an idle live not in the outbox yet. The live is closed before
+     * it is read, so no command changes it after, and completed as the teacher would, when it was not yet.
+     *
+     * @return a Mono that emits the bytes held by the live
+     */
+    private Mono<Long> expire(String key, Map<String, String> state, Instant now) {
+        var status = StatusLive.valueOf(state.get("status"));
+        var updateOn = Instant.parse(Objects.requireNonNullElse(state.get("updateOn"), state.get("startedOn")));
+        var idle = updateOn.plus(idle(status)).isBefore(now) && !state.containsKey("queuedOn");
+        if (!idle) return liveStore.touch(key);
+
+        LOG.info("End live {} idle since {} with status {}.", key, updateOn, status);
+        return liveArchiveOutbox.close(key)
+                .filter(Boolean::booleanValue)
+                .flatMap(closed -> liveStore.fetch(key))
+                .doOnNext(live -> {
+                    if (live.getStatus() != StatusLive.COMPLETED || Objects.isNull(live.getCompletedOn())) live.completeLive();
+                })
+                .flatMap(liveArchiveOutbox::persistLive)
+                .then(liveStore.touch(key));
+    }
+
+    private Duration idle(StatusLive status) {
+        return switch (status) {
+            case PENDING -> IDLE_PENDING;
+            case PROGRESS -> IDLE_PROGRESS;
+            case COMPLETED -> IDLE_COMPLETED;
+        };
+    }
+
+    @Override
+    public void stop() {
+        if (Objects.nonNull(subscription)) subscription.dispose();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(subscription) && !subscription.isDisposed();
+    }
+}
@@ -0,0 +1,77 @@
+package com.pi.infrastructure.channel;
+
+import com.pi.core_auth.core.dtos.QueryDto;
+import com.pi.core_auth.core.enums.QueryType;
+import com.pi.core_auth.usecases.CaseGetScopeToken;
+import com.pi.utils.constants.Request;
+
+import jakarta.websocket.HandshakeResponse;
+import jakarta.websocket.server.HandshakeRequest;
+import jakarta.websocket.server.ServerEndpointConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.util.ObjectUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Authenticates the connections of the live channel once, on the handshake.
+ *
+ * <p>The token is read from the Authorization header or, for browsers that cannot set it,
+ * from the {@code access_token} parameter. It is decoded here and its credentials are kept on
+ * the connection, with the instant the token expires, so the commands sent on it are not decoded
+ * again and the connection is closed when the token runs out. A connection without valid credentials
+ * is closed as soon as it opens.</p>
+ */
+public class LiveChannelConfigurator extends ServerEndpointConfig.Configurator {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveChannelConfigurator.class);
+
+    public static final String CREDENTIALS = "credentials";
+    public static final String TOKEN = "token";
+    public static final String EXPIRES_AT = "expiresAt";
+
+    private final JwtDecoder jwtDecoder;
+    private final Supplier<LiveChannelEndpoint> endpoints;
+
+    public LiveChannelConfigurator(JwtDecoder jwtDecoder, Supplier<LiveChannelEndpoint> endpoints) {
+        this.jwtDecoder = jwtDecoder;
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    public void modifyHandshake(ServerEndpointConfig config, HandshakeRequest request, HandshakeResponse response) {
+        var token = token(request);
+        if (ObjectUtils.isEmpty(token)) return;
+        try {
+            var useCase = new CaseGetScopeToken(jwtDecoder);
+            useCase.setQueryDto(QueryDto.builder()
+                    .queryType(QueryType.QUERY_GET_SCOPE_TOKEN.name())
+                    .token(token)
+                    .build());
+            var credentials = useCase.call();
+            config.getUserProperties().put(CREDENTIALS, credentials);
+            config.getUserProperties().put(TOKEN, token);
+            if (credentials.expiresAt != null) config.getUserProperties().put(EXPIRES_AT, credentials.expiresAt);
+        } catch (RuntimeException e) {
+            LOG.warn("Refuse live channel credentials: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public <T> T getEndpointInstance(Class<T> endpointClass) {
+        return endpointClass.cast(endpoints.get());
+    }
+
+    private static String token(HandshakeRequest request) {
+        var header = first(request.getHeaders().get(Request.AUTHORIZATION));
+        if (header == null) header = first(request.getHeaders().get(Request.AUTHORIZATION.toLowerCase()));
+        return header != null ? header : first(request.getParameterMap().get(Request.ACCESS_TOKEN));
+    }
+
+    private static String first(List<String> values) {
+        return ObjectUtils.isEmpty(values) ? null : values.get(0);
+    }
+}
@@ -2,17 +2,28 @@ package com.pi.infrastructure.mongo;
 
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.pi.utils.mongo.documents.LiveDocument;
+import com.pi.utils.mongo.documents.QuizDocument;
+import com.pi.utils.mongo.indexes.MongoIndexes;
+import com.pi.utils.mongo.indexes.MongoIndexesEndpoint;
+import com.pi.utils.services.Blocking;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.util.Map;
+
+import static com.pi.utils.mongo.constants.Collections.COLLECTION_QUIZ;
+
 @Configuration
 public class MongoConfig {
 
+    @Value("${microservice.live.blocking-check:false}") boolean BLOCKING_CHECK;
     @Value("${spring.data.mongodb.uri}") String URI;
     @Value("${spring.data.mongodb.database}") String DB_NAME;
+    @Value("${spring.data.mongodb.indexes.drop-undeclared:false}") boolean DROP_UNDECLARED;
     @Value("${spring.data.mongodb.collections.lives}") String COLLECTION_NAME;
 
     @Bean
@@ -26,9 +37,24 @@ public class MongoConfig {
     }
 
     @Bean
-    public ApplicationRunner initCollections(MongoTemplate mongoTemplate) {
+    public ApplicationRunner blockingCheck() {
         return args -> {
-            if (!mongoTemplate.collectionExists(COLLECTION_NAME)) mongoTemplate.createCollection(COLLECTION_NAME);
+            if (BLOCKING_CHECK) Blocking.detect("lettuce-", "http-nio-");
         };
     }
+
+    @Bean
+    public MongoIndexes mongoIndexes(MongoTemplate mongoTemplate) {
+        return new MongoIndexes(mongoTemplate, Map.of(COLLECTION_NAME, LiveDocument.class, COLLECTION_QUIZ, QuizDocument.class), DROP_UNDECLARED);
+    }
+
+    @Bean
+    public MongoIndexesEndpoint mongoIndexesEndpoint(MongoIndexes mongoIndexes) {
+        return new MongoIndexesEndpoint(mongoIndexes);
+    }
+
+    @Bean
+    public ApplicationRunner initCollections(MongoIndexes mongoIndexes) {
+        return args -> mongoIndexes.reconcile();
+    }
 }
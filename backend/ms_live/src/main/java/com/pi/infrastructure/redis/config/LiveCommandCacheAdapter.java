@@ -1,6 +1,7 @@
 package com.pi.infrastructure.redis.config;
 
 import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveFrame;
 import com.pi.core_live.core.dtos.CommandDto;
 import com.pi.core_live.core.enums.CommandType;
 import com.pi.core_live.ports.out.ILiveCommandCacheOut;
@@ -8,13 +9,16 @@ import com.pi.core_live.usecases.CaseGetQuizMono;
 import com.pi.core_live.usecases.CasePersistLiveMono;
 import com.pi.core_quiz.core.dtos.QueryDto;
 import com.pi.core_quiz.core.enums.QueryType;
-import com.pi.infrastructure.mongo.LiveCommandPersistAdapter;
+import com.pi.infrastructure.admission.LiveAdmission;
+import com.pi.infrastructure.cluster.LiveShards;
 import com.pi.infrastructure.mongo.LiveQueryPersistAdapter;
 import com.pi.utils.enums.SystemCodeEnum;
 import com.pi.utils.exceptions.GlobalException;
 import com.pi.utils.models.CustomAlert;
+import com.pi.utils.redis.outbox.LiveArchiveOutbox;
+import com.pi.utils.redis.registry.LiveRegistry;
+import com.pi.utils.redis.store.LiveStore;
 
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.stereotype.Repository;
 
@@ -25,96 +29,89 @@ import java.util.List;
 @Repository
 public class LiveCommandCacheAdapter implements ILiveCommandCacheOut {
 
-    private final ReactiveRedisTemplate<String, Live> redisTemplate;
+    private final LiveStore liveStore;
+    private final LiveRegistry liveRegistry;
     private final LiveQueryPersistAdapter liveQueryPersistOut;
-    private final LiveCommandPersistAdapter liveCommandPersistAdapter;
+    private final LiveArchiveOutbox liveArchiveOutbox;
+    private final LiveShards liveShards;
+    private final LiveAdmission liveAdmission;
     private final JwtDecoder jwtDecoder;
 
     public LiveCommandCacheAdapter(
-            ReactiveRedisTemplate<String, Live> redisTemplate,
+            LiveStore liveStore,
+            LiveRegistry liveRegistry,
             LiveQueryPersistAdapter liveQueryPersistOut,
-            LiveCommandPersistAdapter liveCommandPersistAdapter,
+            LiveArchiveOutbox liveArchiveOutbox,
+            LiveShards liveShards,
+            LiveAdmission liveAdmission,
             JwtDecoder jwtDecoder
     ) {
-        this.redisTemplate = redisTemplate;
+        this.liveStore = liveStore;
+        this.liveRegistry = liveRegistry;
         this.liveQueryPersistOut = liveQueryPersistOut;
-        this.liveCommandPersistAdapter = liveCommandPersistAdapter;
+        this.liveArchiveOutbox = liveArchiveOutbox;
+        this.liveShards = liveShards;
+        this.liveAdmission = liveAdmission;
         this.jwtDecoder = jwtDecoder;
     }
 
     @Override
     public Mono<Live> createLive(String teacherToken,String loginTeacher, String codeTeacher, String keyQuiz) throws GlobalException {
-        var redisKey = "LIVE" + loginTeacher + "CODE" + codeTeacher;
         var caseGetQuizMono = new CaseGetQuizMono();
         var dto = QueryDto.builder().queryType(QueryType.QUERY_GET_QUIZ.name()).token(teacherToken).key(keyQuiz).build();
         caseGetQuizMono.setServices(liveQueryPersistOut);
         caseGetQuizMono.setDto(dto);
 
-        @SuppressWarnings("BlockingMethodInNonBlockingContext") var live = new Live(loginTeacher, codeTeacher, caseGetQuizMono.call().block());
-        return redisTemplate.opsForValue().set(redisKey, live).flatMap(success -> success
-                ? Mono.just(live)
-                : Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Not save live redis").build())
-        );
+        return caseGetQuizMono.call().flatMap(quiz -> {
+            var live = new Live(loginTeacher, codeTeacher, quiz);
+            return liveStore.create(live).flatMap(success -> success
+                    ? liveRegistry.register(live).flatMap(liveStore::delete).then(Mono.just(live))
+                    : Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Not save live redis").build())
+            );
+        });
     }
 
     @Override
     public Mono<Live> nextPosition(String keyLive) throws GlobalException {
-        return redisTemplate.keys(keyLive).next().flatMap(key -> redisTemplate.opsForValue().get(key).flatMap(live -> {
-            live.nextPosition();
-            return redisTemplate.opsForValue().set(key, live).flatMap(success -> success
-                    ? Mono.just(live)
-                    : Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Don't next position live redis").build())
-            );
-        })).switchIfEmpty(Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Not found live redis").build()));
+        return updateLive(keyLive, LiveFrame.builder().commandType(CommandType.COMMAND_PATCH_NEXT_POSITION.name()).build());
     }
 
     @Override
     public Mono<Live> previousPosition(String keyLive) throws GlobalException {
-        return redisTemplate.keys(keyLive).next().flatMap(key -> redisTemplate.opsForValue().get(key).flatMap(live -> {
-            live.previousPosition();
-            return redisTemplate.opsForValue().set(key, live).flatMap(success -> success
-                    ? Mono.just(live)
-                    : Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Don't previous position live redis").build())
-            );
-        })).switchIfEmpty(Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Not found live redis").build()));
+        return updateLive(keyLive, LiveFrame.builder().commandType(CommandType.COMMAND_PATCH_PREVIOUS_POSITION.name()).build());
     }
 
     @Override
     public Mono<Live> addPupilToLobby(String loginPupil, String codePupil, String keyLive) throws GlobalException {
-        return redisTemplate.keys(keyLive).next().flatMap(key -> redisTemplate.opsForValue().get(key).flatMap(live -> {
-            live.addPupilToLobby(loginPupil, codePupil);
-            return redisTemplate.opsForValue().set(key, live).flatMap(success -> success
-                    ? Mono.just(live)
-                    : Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Not add pupil live redis").build())
-            );
-        })).switchIfEmpty(Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Not found live redis").build()));
+        return admitLive(keyLive, LiveFrame.builder()
+                .commandType(CommandType.COMMAND_PATCH_ADD_PUPIL_TO_LOBBY.name())
+                .pupilLogin(loginPupil)
+                .pupilCode(codePupil)
+                .build());
     }
 
     @Override
     public Mono<Live> removePupilFromLobby(String loginPupil, String codePupil, String keyLive) throws GlobalException {
-        return redisTemplate.keys(keyLive).next().flatMap(key -> redisTemplate.opsForValue().get(key).flatMap(live -> {
-            live.removePupilFromLobby(loginPupil, codePupil);
-            return redisTemplate.opsForValue().set(key, live).flatMap(success -> success
-                    ? Mono.just(live)
-                    : Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Not remove pupil live redis").build())
-            );
-        })).switchIfEmpty(Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Not found live redis").build()));
+        return updateLive(keyLive, LiveFrame.builder()
+                .commandType(CommandType.COMMAND_PATCH_REMOVE_PUPIL_FROM_LOBBY.name())
+                .pupilLogin(loginPupil)
+                .pupilCode(codePupil)
+                .build());
     }
 
     @Override
     public Mono<Live> addPupilAnswerToQuiz(String loginPupil, String codePupil, String keyLive, List<String> answerItem) throws GlobalException {
-        return redisTemplate.keys(keyLive).next().flatMap(key -> redisTemplate.opsForValue().get(key).flatMap(live -> {
-            live.addPupilAnswerToQuiz(loginPupil, codePupil, answerItem);
-            return redisTemplate.opsForValue().set(key, live).flatMap(success -> success
-                    ? Mono.just(live)
-                    : Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Not add pupil answer to quiz live redis").build())
-            );
-        })).switchIfEmpty(Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Not found live redis").build()));
+        return admitLive(keyLive, LiveFrame.builder()
+                .commandType(CommandType.COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ.name())
+                .pupilLogin(loginPupil)
+                .pupilCode(codePupil)
+                .answerItem(answerItem)
+                .build());
     }
 
     @Override
     public Mono<Live> endLive(String tokenTeacher, String loginTeacher, String codeTeacher, String keyLive) throws GlobalException {
-        return redisTemplate.keys(keyLive).next().flatMap(key -> redisTemplate.opsForValue().get(key).flatMap(live -> {
+        return liveRegistry.resolve(keyLive).flatMap(key -> liveArchiveOutbox.close(key).filter(Boolean::booleanValue).flatMap(closed -> liveStore.fetch(key)).flatMap(live -> {
             var casePersistLiveMono = new CasePersistLiveMono();
             var dto = CommandDto.builder()
                     .commandType(CommandType.COMMAND_PATCH_END_LIVE.name())
@@ -124,14 +121,30 @@ public class LiveCommandCacheAdapter implements ILiveCommandCacheOut {
                     .live(live)
                     .build();
 
-            casePersistLiveMono.setServices(liveCommandPersistAdapter);
+            casePersistLiveMono.setServices(liveArchiveOutbox);
             casePersistLiveMono.setDecoder(jwtDecoder);
             casePersistLiveMono.setDto(dto);
-            return casePersistLiveMono.call().flatMap(persistedLive -> redisTemplate.delete(key).flatMap(deleted -> deleted > 0
-                        ? Mono.just(live)
-                        : Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to delete live from redis").build())
-                    )
-                ).onErrorResume(e -> Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to persist live: " + e.getMessage()).build()));
+            return casePersistLiveMono.call()
+                    .onErrorResume(e -> Mono.error(GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to persist live: " + e.getMessage()).build()));
         })).switchIfEmpty(Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Live not found in redis").build()));
     }
+
+    /**
+     * Resolves the live through the registry and runs a command of a pupil once the admission of the node let
+     * it through, equal commands of the same pupil waiting together share a single run.
+     */
+    private Mono<Live> admitLive(String keyLive, LiveFrame frame) {
+        var signature = String.join("|", frame.getCommandType(), frame.getPupilLogin() + "#" + frame.getPupilCode(), String.valueOf(frame.getAnswerItem()));
+        return liveRegistry.resolve(keyLive).flatMap(key -> liveAdmission.admit(key, signature, () -> liveShards.execute(key, frame)))
+                .switchIfEmpty(Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Not found live redis").build()));
+    }
+
+    /**
+     * Resolves the live through the registry and runs the command as a single atomic script, to answer with the
+     * whole live after it, the copy of this node when it owns the live.
+     */
+    private Mono<Live> updateLive(String keyLive, LiveFrame frame) {
+        return liveRegistry.resolve(keyLive).flatMap(key -> liveShards.execute(key, frame))
+                .switchIfEmpty(Mono.error(GlobalException.builder().status(404).alert(new CustomAlert(SystemCodeEnum.C003PI)).details("Not found live redis").build()));
+    }
 }
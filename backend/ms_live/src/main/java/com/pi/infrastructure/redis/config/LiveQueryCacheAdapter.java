@@ -1,31 +1,72 @@
 package com.pi.infrastructure.redis.config;
 
+import com.pi.core_live.core.domain.Leaderboard;
 import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveEvent;
+import com.pi.core_live.core.domain.StatusLive;
+import com.pi.core_live.core.enums.EventType;
 import com.pi.core_live.ports.out.ILiveQueryCacheOut;
+import com.pi.infrastructure.cache.LiveNearCache;
+import com.pi.infrastructure.cluster.LiveShards;
 import com.pi.utils.enums.SystemCodeEnum;
 import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CursorPageable;
 import com.pi.utils.models.CustomAlert;
+import com.pi.utils.redis.events.LiveEventListener;
+import com.pi.utils.redis.registry.LiveRegistry;
+import com.pi.utils.redis.store.LiveStore;
 
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.ObjectUtils;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public class LiveQueryCacheAdapter implements ILiveQueryCacheOut {
     public static final String LIVE_NOT_FOUND_IN_REDIS = "Live not found in Redis";
     public static final String INVALID_DATA_TYPE_IN_REDIS = "Invalid data type in Redis";
+    private static final List<StatusLive> ACTIVE = List.of(StatusLive.PENDING, StatusLive.PROGRESS);
 
-    private final ReactiveRedisTemplate<String, Live> redisTemplate;
+    private final LiveStore liveStore;
+    private final LiveRegistry liveRegistry;
+    private final LiveEventListener liveEventListener;
+    private final LiveShards liveShards;
+    private final LiveNearCache liveNearCache;
 
-    public LiveQueryCacheAdapter(ReactiveRedisTemplate<String, Live> redisTemplate) {
-        this.redisTemplate = redisTemplate;
+    public LiveQueryCacheAdapter(LiveStore liveStore, LiveRegistry liveRegistry, LiveEventListener liveEventListener, LiveShards liveShards, LiveNearCache liveNearCache) {
+        this.liveStore = liveStore;
+        this.liveRegistry = liveRegistry;
+        this.liveEventListener = liveEventListener;
+        this.liveShards = liveShards;
+        this.liveNearCache = liveNearCache;
     }
 
     @Override
     public Mono<Live> fetchLive(String keyLive) throws GlobalException {
-        return redisTemplate.opsForValue().get(keyLive)
+        return fetchLive(keyLive, true);
+    }
+
+    /**
+     * Resolves the canonical key of a live, so the streams opened by its alias and by its key share a hub.
+     *
+     * @param keyLive the alias or the canonical key of the live
+     * @return a Mono that emits the canonical key of the live
+     */
+    public Mono<String> resolve(String keyLive) {
+        return liveRegistry.resolve(keyLive);
+    }
+
+    /**
+     * Reads a live from the near cache, the copy of its owner or Redis, in this order. The streams skip the
+     * near cache, their first live must not be older than the events they receive after it.
+     */
+    private Mono<Live> fetchLive(String keyLive, boolean cached) {
+        return liveRegistry.resolve(keyLive).flatMap(key -> (cached ? liveNearCache.get(key) : Mono.<Live>empty()).switchIfEmpty(liveNearCache.read(key, Mono.defer(() -> liveShards.owned(key, 0)
+                        .switchIfEmpty(Mono.defer(() -> liveStore.fetch(key)))))))
                 .switchIfEmpty(Mono.error(GlobalException.builder()
                         .status(404)
                         .alert(new CustomAlert(SystemCodeEnum.C003PI))
@@ -43,4 +84,59 @@ public class LiveQueryCacheAdapter implements ILiveQueryCacheOut {
                     }
                 });
     }
+
+    @Override
+    public Mono<CursorPageable<Live>> fetchActiveLives(String loginTeacher, String codeTeacher, String cursor, Integer size) throws GlobalException {
+        return liveRegistry.scanTeacher(loginTeacher, codeTeacher, ACTIVE, cursor, size).flatMap(page -> Flux.fromIterable(page.getContent())
+                .concatMap(liveStore::fetch)
+                .collectList()
+                .map(content -> CursorPageable.<Live>builder().content(content).cursor(page.getCursor()).build()));
+    }
+
+    @Override
+    public Mono<Leaderboard> fetchLeaderboard(String keyLive, Integer size, String pupilLogin, String pupilCode) throws GlobalException {
+        return liveRegistry.resolve(keyLive).flatMap(key -> liveStore.version(key)
+                .switchIfEmpty(Mono.error(GlobalException.builder()
+                        .status(404)
+                        .alert(new CustomAlert(SystemCodeEnum.C003PI))
+                        .details(LIVE_NOT_FOUND_IN_REDIS)
+                        .build()))
+                .flatMap(version -> Mono.zip(
+                        liveStore.leaderboard(key, size).collectList(),
+                        liveStore.ranked(key),
+                        ObjectUtils.isEmpty(pupilLogin)
+                                ? Mono.just(Optional.<Leaderboard.Standing>empty())
+                                : liveStore.standing(key, pupilLogin + "#" + pupilCode).map(Optional::of).defaultIfEmpty(Optional.empty())))
+                .map(parts -> Leaderboard.builder()
+                        .key(key)
+                        .pupils(parts.getT2())
+                        .top(parts.getT1())
+                        .pupil(parts.getT3().orElse(null))
+                        .build()));
+    }
+
+    @Override
+    public Flux<Live> streamLive(String keyLive) throws GlobalException {
+        return liveRegistry.resolve(keyLive).flatMapMany(key -> liveEventListener.listen(key).flatMapMany(events -> fetchLive(key, false)
+                .concatWith(events
+                        .takeUntil(event -> event.getType() == EventType.LIVE_ENDED)
+                        .filter(event -> event.getType() != EventType.LIVE_ENDED)
+                        .concatMap(event -> liveShards.owned(key, event.getVersion()).switchIfEmpty(Mono.defer(() -> liveStore.fetch(key)))))
+                .distinctUntilChanged(Live::getUpdateOn)));
+    }
+
+    @Override
+    public Flux<LiveEvent> streamLiveEvents(String keyLive) throws GlobalException {
+        return liveRegistry.resolve(keyLive).flatMapMany(key -> liveEventListener.listen(key).flatMapMany(events -> fetchLive(key, false)
+                .flatMapMany(live -> Flux.just(LiveEvent.builder()
+                                .key(key)
+                                .version(live.getVersion())
+                                .type(EventType.SNAPSHOT)
+                                .updateOn(live.getUpdateOn())
+                                .live(live)
+                                .build())
+                        .concatWith(events
+                                .filter(event -> event.getVersion() > live.getVersion())
+                                .takeUntil(event -> event.getType() == EventType.LIVE_ENDED)))));
+    }
 }
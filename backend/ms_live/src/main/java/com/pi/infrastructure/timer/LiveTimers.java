@@ -0,0 +1,120 @@
+package com.pi.infrastructure.timer;
+
+import com.pi.utils.redis.constants.LiveKeys;
+import com.pi.utils.redis.store.LiveStore;
+import com.pi.utils.timer.TimingWheel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Question timers of the lives.
+ *
+ * <p>Moving a live to an item with {@code timerSeconds} puts its deadline in the state of the live and in the
+ * {@link LiveKeys#TIMERS} set, and the late answers are rejected by the answer script itself. This component
+ * only closes the items on time: the node that moved the live arms the deadline on a {@link TimingWheel}, and
+ * when it fires the item is closed, and the live moved to the next item with auto-advance, in a single script
+ * that does nothing when the deadline is stale. On start every timer of Redis is armed again, and every node
+ * sweeps the timers overdue, so the timers of a node that stopped still fire.</p>
+ */
+@Component
+public class LiveTimers implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveTimers.class);
+
+    @Value("${microservice.live.timer.tick:100ms}") Duration TICK;
+    @Value("${microservice.live.timer.wheel-size:512}") Integer WHEEL_SIZE;
+    @Value("${microservice.live.timer.sweep:5s}") Duration SWEEP;
+    @Value("${microservice.live.timer.auto-advance:false}") Boolean AUTO_ADVANCE;
+
+    private final LiveStore liveStore;
+    private final Map<String, TimingWheel.Timeout> armed = new ConcurrentHashMap<>();
+    private TimingWheel wheel;
+    private Disposable subscription;
+
+    public LiveTimers(LiveStore liveStore) {
+        this.liveStore = liveStore;
+    }
+
+    @Override
+    public void start() {
+        LOG.info("Start live timers with tick {} and auto-advance {}.", TICK, AUTO_ADVANCE);
+        wheel = new TimingWheel("live-timers", TICK, WHEEL_SIZE);
+        subscription = liveStore.timers(Long.MAX_VALUE)
+                .doOnNext(this::arm)
+                .count()
+                .doOnNext(count -> LOG.info("Armed {} live timers from Redis.", count))
+                .onErrorResume(e -> {
+                    LOG.error("Live timers failed to arm the timers of Redis: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .thenMany(Flux.interval(SWEEP))
+                .onBackpressureDrop()
+                .concatMap(tick -> liveStore.timers(System.currentTimeMillis() - SWEEP.toMillis())
+                        .concatMap(this::close)
+                        .onErrorResume(e -> {
+                            LOG.warn("Live timers failed to sweep the overdue timers: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Arms the timer of the item at the current position of a live, after the teacher moved it.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that completes once the timer is armed, or dropped when the item has none
+     */
+    public Mono<Void> schedule(String key) {
+        return liveStore.timer(key)
+                .doOnNext(this::arm)
+                .switchIfEmpty(Mono.fromRunnable(() -> cancel(key)))
+                .then();
+    }
+
+    private void arm(LiveStore.Timer timer) {
+        var timeout = wheel.schedule(timer.deadline(), () -> close(timer).subscribe());
+        var previous = armed.put(timer.key(), timeout);
+        if (previous != null) previous.cancel();
+    }
+
+    private void cancel(String key) {
+        var previous = armed.remove(key);
+        if (previous != null) previous.cancel();
+    }
+
+    private Mono<Boolean> close(LiveStore.Timer timer) {
+        var timeout = armed.get(timer.key());
+        if (timeout != null && timeout.getDeadline() == timer.deadline()) armed.remove(timer.key(), timeout);
+        return liveStore.closeItem(timer.key(), timer.deadline(), AUTO_ADVANCE)
+                .flatMap(closed -> closed && AUTO_ADVANCE ? schedule(timer.key()).thenReturn(true) : Mono.just(closed))
+                .doOnNext(closed -> { if (closed) LOG.info("Closed the current item of live {} on its deadline.", timer.key()); })
+                .onErrorResume(e -> {
+                    LOG.warn("Failed to close the current item of live {}: {}", timer.key(), e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    @Override
+    public void stop() {
+        if (Objects.nonNull(subscription)) subscription.dispose();
+        if (Objects.nonNull(wheel)) wheel.close();
+        armed.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(subscription) && !subscription.isDisposed();
+    }
+}
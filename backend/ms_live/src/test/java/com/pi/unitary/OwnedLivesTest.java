@@ -0,0 +1,106 @@
+package com.pi.unitary;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveFrame;
+import com.pi.core_live.core.enums.CommandType;
+import com.pi.infrastructure.cluster.OwnedLives;
+import com.pi.infrastructure.timer.LiveTimers;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.redis.events.LiveEventListener;
+import com.pi.utils.redis.store.LiveStore;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OwnedLivesTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String KEY = "live";
+    private static final LiveFrame FRAME = LiveFrame.builder().commandType(CommandType.COMMAND_PATCH_ADD_PUPIL_TO_LOBBY.name())
+            .pupilLogin("PUPILLOGIN").pupilCode("123456").build();
+
+    private LiveStore liveStore;
+    private OwnedLives ownedLives;
+
+    @BeforeEach
+    public void setUp() {
+        liveStore = mock(LiveStore.class);
+        var liveEventListener = mock(LiveEventListener.class);
+        when(liveEventListener.listen(anyString())).thenReturn(Mono.just(Flux.never()));
+        when(liveStore.fetch(anyString())).thenReturn(Mono.just(Live.builder().key(KEY).version(1L)));
+        ownedLives = new OwnedLives(liveStore, liveEventListener, mock(LiveTimers.class));
+        ReflectionTestUtils.setField(ownedLives, "WAIT", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(ownedLives, "MAILBOX", 256);
+    }
+
+    @Test
+    public void commandsOfManyThreadsRunOneAtATime() throws Exception {
+        var running = new AtomicInteger();
+        var most = new AtomicInteger();
+        var runs = new AtomicInteger();
+        when(liveStore.addPupilToLobby(anyString(), anyString(), anyString())).thenAnswer(invocation -> Mono.defer(() -> {
+            most.accumulateAndGet(running.incrementAndGet(), Math::max);
+            runs.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(1)).thenReturn(new LiveStore.Change(0, List.of()))
+                    .doOnNext(ignored -> running.decrementAndGet());
+        }));
+
+        var threads = Executors.newFixedThreadPool(8);
+        var start = new CountDownLatch(1);
+        try {
+            var replies = IntStream.range(0, 64).mapToObj(i -> CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ownedLives.apply(KEY, FRAME).block(TIMEOUT);
+            }, threads)).toArray(CompletableFuture[]::new);
+            start.countDown();
+            CompletableFuture.allOf(replies).get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } finally {
+            threads.shutdownNow();
+        }
+
+        Assertions.assertEquals(64, runs.get());
+        Assertions.assertEquals(1, most.get());
+    }
+
+    @Test
+    public void fullMailboxRefusesTheCommand() {
+        ReflectionTestUtils.setField(ownedLives, "MAILBOX", 2);
+        var first = Sinks.<LiveStore.Change>one();
+        var change = new LiveStore.Change(0, List.of());
+        when(liveStore.addPupilToLobby(anyString(), anyString(), anyString()))
+                .thenReturn(first.asMono())
+                .thenReturn(Mono.just(change));
+
+        var running = ownedLives.apply(KEY, FRAME).toFuture();
+        var waiting = ownedLives.apply(KEY, FRAME).toFuture();
+        var refused = Assertions.assertThrows(GlobalException.class, () -> ownedLives.apply(KEY, FRAME).block(TIMEOUT));
+        Assertions.assertEquals(429, refused.getStatus());
+
+        first.tryEmitValue(change);
+        running.orTimeout(TIMEOUT.toSeconds(), TimeUnit.SECONDS).join();
+        waiting.orTimeout(TIMEOUT.toSeconds(), TimeUnit.SECONDS).join();
+        Assertions.assertDoesNotThrow(() -> ownedLives.apply(KEY, FRAME).block(TIMEOUT));
+    }
+}
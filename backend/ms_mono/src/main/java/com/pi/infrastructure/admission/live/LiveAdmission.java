@@ -0,0 +1,223 @@
+package com.pi.infrastructure.admission.live;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.utils.admission.TokenBucket;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Supplier;
+
+/**
+ * Admission of the commands of the pupils on the lives of this node.
+ *
+ * <p>A command first takes a token from the bucket of its live and from the bucket of the node, and is refused
+ * right away with a 429 and the seconds to wait when either is empty. It then runs if its live and the node are
+ * under their limits of commands in flight, or waits in the queue of its live. The queues are bounded, a full
+ * queue refuses the command as well, and a command equal to one already waiting or running on the same live,
+ * a double tap or a retry, gets the result of the first one instead of running again. When a command ends, the
+ * next one is taken from the lives with waiting commands in turn, so a live flooded with answers only delays its
+ * own pupils and the other lives keep their share of the node. The commands of the teacher are not admitted
+ * here and never wait behind the pupils.</p>
+ */
+@Component
+public class LiveAdmission {
+    @Value("${microservice.mono.admission.enabled:true}") Boolean ENABLED;
+    @Value("${microservice.mono.admission.live-rate:200}") Double LIVE_RATE;
+    @Value("${microservice.mono.admission.live-burst:400}") Double LIVE_BURST;
+    @Value("${microservice.mono.admission.live-concurrency:8}") Integer LIVE_CONCURRENCY;
+    @Value("${microservice.mono.admission.live-queue:256}") Integer LIVE_QUEUE;
+    @Value("${microservice.mono.admission.node-rate:2000}") Double NODE_RATE;
+    @Value("${microservice.mono.admission.node-burst:4000}") Double NODE_BURST;
+    @Value("${microservice.mono.admission.node-concurrency:256}") Integer NODE_CONCURRENCY;
+    @Value("${microservice.mono.admission.node-queue:4096}") Integer NODE_QUEUE;
+
+    private static final int SWEEP_EVERY = 1024;
+
+    private final Map<String, LiveLane> lanes = new HashMap<>();
+    private final Queue<LiveLane> turns = new ArrayDeque<>();
+    private final Counter admitted;
+    private final Counter queued;
+    private final Counter coalesced;
+    private final MeterRegistry meterRegistry;
+    private TokenBucket bucket;
+    private int running;
+    private int waiting;
+    private int admissions;
+
+    public LiveAdmission(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.admitted = Counter.builder("live.admission.admitted")
+                .description("Pupil commands admitted on this node")
+                .register(meterRegistry);
+        this.queued = Counter.builder("live.admission.queued")
+                .description("Pupil commands that waited in the queue of their live before running")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("live.admission.coalesced")
+                .description("Pupil commands answered with the result of an equal command of the same live")
+                .register(meterRegistry);
+        Gauge.builder("live.admission.waiting", this, LiveAdmission::waiting)
+                .description("Pupil commands waiting in the queues of the lives on this node")
+                .register(meterRegistry);
+        Gauge.builder("live.admission.running", this, LiveAdmission::running)
+                .description("Pupil commands running on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a command of a pupil on a live.
+     *
+     * @param key the canonical key of the live
+     * @param signature what makes two commands of the live equal, so they share one run
+     * @param command the command, only subscribed once admitted
+     * @return a Mono that emits the result of the command, or a 429 error when the live or the node is saturated
+     */
+    public Mono<Live> admit(String key, String signature, Supplier<Mono<Live>> command) {
+        if (!ENABLED) return command.get();
+        return Mono.defer(() -> {
+            Task task;
+            boolean started;
+            synchronized (this) {
+                var now = System.currentTimeMillis();
+                var lane = lanes.computeIfAbsent(key, LiveLane::new);
+                var same = lane.pending.get(signature);
+                if (same != null) {
+                    coalesced.increment();
+                    return same.result.asMono();
+                }
+                if (bucket == null) bucket = new TokenBucket(NODE_RATE, NODE_BURST, now);
+                var wait = lane.bucket.take(now);
+                if (wait > 0) return reject("live-rate", key, wait);
+                wait = bucket.take(now);
+                if (wait > 0) {
+                    lane.bucket.giveBack();
+                    return reject("node-rate", key, wait);
+                }
+                task = new Task(lane, signature, command);
+                started = lane.queue.isEmpty() && lane.running < LIVE_CONCURRENCY && running < NODE_CONCURRENCY;
+                if (started) {
+                    start(task);
+                } else if (lane.queue.size() >= LIVE_QUEUE || waiting >= NODE_QUEUE) {
+                    lane.bucket.giveBack();
+                    bucket.giveBack();
+                    return reject(lane.queue.size() >= LIVE_QUEUE ? "live-queue" : "node-queue", key, 1000);
+                } else {
+                    lane.queue.add(task);
+                    waiting++;
+                    queued.increment();
+                    if (!lane.inTurn) {
+                        lane.inTurn = true;
+                        turns.add(lane);
+                    }
+                }
+                lane.pending.put(signature, task);
+                if (++admissions % SWEEP_EVERY == 0) sweep(now);
+            }
+            if (started) run(task);
+            return task.result.asMono();
+        });
+    }
+
+    private void start(Task task) {
+        task.lane.running++;
+        running++;
+        admitted.increment();
+    }
+
+    private void run(Task task) {
+        Mono.defer(task.command)
+                .doFinally(signal -> release(task))
+                .subscribe(task.result::tryEmitValue, task.result::tryEmitError, task.result::tryEmitEmpty);
+    }
+
+    /**
+     * Ends a command and starts the next ones, taking the lives with waiting commands in turn. A live left out of
+     * the turns while at its limit takes its turn again here, before the next ones are taken.
+     */
+    private void release(Task task) {
+        List<Task> next = new ArrayList<>();
+        synchronized (this) {
+            task.lane.running--;
+            running--;
+            task.lane.pending.remove(task.signature, task);
+            if (!task.lane.queue.isEmpty() && !task.lane.inTurn) {
+                task.lane.inTurn = true;
+                turns.add(task.lane);
+            }
+            for (int checked = turns.size(); checked > 0 && running < NODE_CONCURRENCY; checked--) {
+                var lane = turns.poll();
+                if (lane.running >= LIVE_CONCURRENCY) {
+                    lane.inTurn = false;
+                    continue;
+                }
+                var waiter = lane.queue.poll();
+                waiting--;
+                start(waiter);
+                next.add(waiter);
+                if (lane.queue.isEmpty()) lane.inTurn = false;
+                else turns.add(lane);
+            }
+        }
+        next.forEach(this::run);
+    }
+
+    /**
+     * Drops the lanes of the lives with nothing running nor waiting whose bucket is full again.
+     */
+    private void sweep(long now) {
+        lanes.values().removeIf(lane -> lane.running == 0 && lane.queue.isEmpty() && lane.bucket.isFull(now));
+    }
+
+    private Mono<Live> reject(String reason, String key, long wait) {
+        meterRegistry.counter("live.admission.rejected", "reason", reason).increment();
+        return Mono.error(GlobalException.builder()
+                .status(429)
+                .alert(new CustomAlert(SystemCodeEnum.C134PI))
+                .details("Live " + key + " refused the command: " + reason)
+                .retryAfter(Math.max(1, (wait + 999) / 1000))
+                .build());
+    }
+
+    private synchronized int waiting() { return waiting; }
+    private synchronized int running() { return running; }
+
+    /**
+     * The bucket, queue and commands in flight of a live.
+     */
+    private final class LiveLane {
+        private final TokenBucket bucket;
+        private final Queue<Task> queue = new ArrayDeque<>();
+        private final Map<String, Task> pending = new HashMap<>();
+        private int running;
+        private boolean inTurn;
+
+        private LiveLane(String key) {
+            this.bucket = new TokenBucket(LIVE_RATE, LIVE_BURST, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * An admitted command and the sink of its result, shared with the equal commands.
+     */
+    private record Task(LiveLane lane, String signature, Supplier<Mono<Live>> command, Sinks.One<Live> result) {
+        private Task(LiveLane lane, String signature, Supplier<Mono<Live>> command) {
+            this(lane, signature, command, Sinks.one());
+        }
+    }
+}
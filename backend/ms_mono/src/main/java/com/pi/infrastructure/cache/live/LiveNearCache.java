@@ -0,0 +1,206 @@
+package com.pi.infrastructure.cache.live;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveEvent;
+import com.pi.core_live.core.enums.EventType;
+import com.pi.utils.redis.events.LiveEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Near cache of the lives read on this node.
+ *
+ * <p>Each entry keeps a live with its version, and is bounded by the least recently read when the cache is full.
+ * The cache listens to the change events the live scripts publish on every command, with a single pattern
+ * subscription, and an event newer than an entry drops it. An event touches only the lives cached, and the lives
+ * being read: each of those keeps, while its reads are on their way, the lowest version they may put back, so a
+ * read that started before the event cannot put an older live back. The entries also expire after a while, in
+ * case an event was lost, and the cache is emptied and not used while the subscription is down. The lives cached
+ * are shared between the readers and must not be changed.</p>
+ */
+@Component
+public class LiveNearCache implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveNearCache.class);
+
+    @Value("${microservice.mono.near-cache.enabled:true}") Boolean ENABLED;
+    @Value("${microservice.mono.near-cache.size:10000}") Integer SIZE;
+    @Value("${microservice.mono.near-cache.ttl:30s}") Duration TTL;
+
+    private final LiveEventListener liveEventListener;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= SIZE) return false;
+            evictions.increment();
+            return true;
+        }
+    };
+    private final Map<String, Reads> reads = new ConcurrentHashMap<>();
+    private volatile boolean listening;
+    private Disposable subscription;
+
+    public LiveNearCache(LiveEventListener liveEventListener, MeterRegistry meterRegistry) {
+        this.liveEventListener = liveEventListener;
+        this.hits = Counter.builder("live.near.cache.requests").tag("result", "hit")
+                .description("Reads of a live served by the near cache of this node")
+                .register(meterRegistry);
+        this.misses = Counter.builder("live.near.cache.requests").tag("result", "miss")
+                .description("Reads of a live not found in the near cache of this node")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("live.near.cache.evictions")
+                .description("Lives dropped from the near cache of this node because it was full")
+                .register(meterRegistry);
+        Gauge.builder("live.near.cache.size", this, LiveNearCache::size)
+                .description("Entries in the near cache of this node")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!ENABLED) {
+            LOG.info("Live near cache disabled.");
+            return;
+        }
+        LOG.info("Start live near cache of {} entries for {}.", SIZE, TTL);
+        subscription = liveEventListener.listenAll()
+                .doOnNext(events -> listening = true)
+                .flatMapMany(events -> events)
+                .doOnError(e -> {
+                    LOG.warn("Live near cache lost the events of the lives: {}", e.getMessage());
+                    listening = false;
+                    clear();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(this::invalidate);
+    }
+
+    /**
+     * Reads a live from the cache.
+     *
+     * @param key the canonical key of the live
+     * @return a Mono that emits the live, or an empty Mono if it is not cached
+     */
+    public Mono<Live> get(String key) {
+        return Mono.defer(() -> {
+            if (!listening) return Mono.empty();
+            Entry entry;
+            synchronized (entries) {
+                entry = entries.get(key);
+            }
+            if (entry == null || entry.expires() < System.currentTimeMillis()) {
+                misses.increment();
+                return Mono.empty();
+            }
+            hits.increment();
+            return Mono.just(entry.live());
+        });
+    }
+
+    /**
+     * Reads a live missing from the cache and puts it in the cache, unless an event newer than the live came
+     * while it was read.
+     *
+     * @param key the canonical key of the live
+     * @param read the read of the live, from the copy of its owner or Redis
+     * @return a Mono that emits the live read
+     */
+    public Mono<Live> read(String key, Mono<Live> read) {
+        return Mono.defer(() -> {
+            if (!listening) return read;
+            var pending = reads.compute(key, (k, current) -> (current == null ? new Reads() : current).join());
+            return read.doOnNext(live -> put(key, live, pending))
+                    .doFinally(signal -> reads.computeIfPresent(key, (k, current) -> current.leave()));
+        });
+    }
+
+    private void put(String key, Live live, Reads pending) {
+        if (!listening || live.getVersion() == null) return;
+        var entry = new Entry(live.getVersion(), live, System.currentTimeMillis() + TTL.toMillis());
+        synchronized (entries) {
+            if (pending.floor > entry.version()) return;
+            entries.compute(key, (k, current) -> current != null && current.version() > entry.version() ? current : entry);
+        }
+    }
+
+    private void invalidate(LiveEvent event) {
+        if (event.getKey() == null || event.getVersion() == null) return;
+        var version = event.getType() == EventType.LIVE_ENDED ? Long.MAX_VALUE : event.getVersion();
+        reads.computeIfPresent(event.getKey(), (k, current) -> current.raise(version));
+        synchronized (entries) {
+            entries.computeIfPresent(event.getKey(), (k, current) -> current.version() >= version ? current : null);
+        }
+    }
+
+    private void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void stop() {
+        listening = false;
+        if (Objects.nonNull(subscription)) subscription.dispose();
+        clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(subscription) && !subscription.isDisposed();
+    }
+
+    /**
+     * A live cached with its version.
+     */
+    private record Entry(long version, Live live, long expires) { }
+
+    /**
+     * The reads of a live on their way, and the lowest version they may put in the cache, raised by the events
+     * that came meanwhile. Changed only inside the map of the reads, dropped with the last read.
+     */
+    private static final class Reads {
+        private int count;
+        private volatile long floor = Long.MIN_VALUE;
+
+        private Reads join() {
+            count++;
+            return this;
+        }
+
+        private Reads leave() {
+            return --count == 0 ? null : this;
+        }
+
+        private Reads raise(long version) {
+            floor = Math.max(floor, version);
+            return this;
+        }
+    }
+}
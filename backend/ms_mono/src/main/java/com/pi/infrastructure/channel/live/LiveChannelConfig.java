@@ -0,0 +1,79 @@
+package com.pi.infrastructure.channel.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_live.core.utils.constants.Router;
+import com.pi.infrastructure.redis.live.LiveCommandCacheAdapter;
+import com.pi.infrastructure.redis.live.LiveQueryCacheAdapter;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.web.context.ServletContextAware;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registers the WebSocket channel of the lives on the container of the servlet server.
+ *
+ * <p>The endpoint is registered on the standard {@link ServerContainer} once the server
+ * is started, each connection gets its own {@link LiveChannelEndpoint}.</p>
+ */
+@Configuration
+public class LiveChannelConfig implements ServletContextAware, SmartInitializingSingleton {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveChannelConfig.class);
+
+    private final LiveCommandCacheAdapter liveCommandCacheAdapter;
+    private final LiveQueryCacheAdapter liveQueryCacheAdapter;
+    private final JwtDecoder jwtDecoder;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger connections = new AtomicInteger();
+    private ServletContext servletContext;
+
+    public LiveChannelConfig(LiveCommandCacheAdapter liveCommandCacheAdapter, LiveQueryCacheAdapter liveQueryCacheAdapter, JwtDecoder jwtDecoder, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.liveCommandCacheAdapter = liveCommandCacheAdapter;
+        this.liveQueryCacheAdapter = liveQueryCacheAdapter;
+        this.jwtDecoder = jwtDecoder;
+        this.objectMapper = objectMapper;
+        Gauge.builder("live.channel.connections", connections, AtomicInteger::get)
+                .description("Open connections on the live channel of this node")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        var container = (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+        if (container == null) {
+            LOG.warn("No WebSocket container, the live channel is not available.");
+            return;
+        }
+        var configurator = new LiveChannelConfigurator(jwtDecoder,
+                () -> new LiveChannelEndpoint(liveCommandCacheAdapter, liveQueryCacheAdapter, objectMapper, connections));
+        try {
+            container.addEndpoint(ServerEndpointConfig.Builder
+                    .create(LiveChannelEndpoint.class, Router.ROUTER_LIVE_CHANNEL + "/{keyLive}")
+                    .configurator(configurator)
+                    .build());
+            LOG.info("Live channel registered on {}.", Router.ROUTER_LIVE_CHANNEL);
+        } catch (DeploymentException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to register live channel: " + e.getMessage()).build();
+        }
+    }
+}
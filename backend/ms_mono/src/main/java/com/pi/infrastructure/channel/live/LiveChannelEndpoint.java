@@ -0,0 +1,195 @@
+package com.pi.infrastructure.channel.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_auth.core.utils.models.Response;
+import com.pi.core_live.core.domain.LiveFrame;
+import com.pi.core_live.core.domain.LiveReply;
+import com.pi.core_live.core.dtos.CommandDto;
+import com.pi.core_live.core.dtos.QueryDto;
+import com.pi.core_live.core.enums.QueryType;
+import com.pi.core_live.usecases.CaseGetLiveEventsFlux;
+import com.pi.core_live.usecases.CaseLiveChannelCommandMono;
+import com.pi.infrastructure.redis.live.LiveCommandCacheAdapter;
+import com.pi.infrastructure.redis.live.LiveQueryCacheAdapter;
+import com.pi.utils.constants.Request;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One connection on the WebSocket channel of a live.
+ *
+ * <p>The connection is bound to the live of its path. It pushes the events of the live, a snapshot
+ * first and then the changes, and accepts commands as small JSON frames, see {@link LiveFrame}.
+ * Each command is answered with a {@link LiveReply} on the same connection. Events and replies are
+ * written by a single subscriber, so frames are never written concurrently on the connection.</p>
+ *
+ * <p>The token is checked once, on the handshake, so the connection is closed with
+ * {@link CloseReason.CloseCodes#VIOLATED_POLICY} when it expires, and a frame that comes after
+ * its expiry, before the close, is refused.</p>
+ */
+public class LiveChannelEndpoint extends Endpoint {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveChannelEndpoint.class);
+    private static final int MAX_FRAME_SIZE = 4096;
+
+    private final LiveCommandCacheAdapter liveCommandCacheAdapter;
+    private final LiveQueryCacheAdapter liveQueryCacheAdapter;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger connections;
+    private final Sinks.Many<String> replies = Sinks.many().unicast().onBackpressureBuffer();
+    private Disposable outbound;
+    private Disposable expiry;
+
+    public LiveChannelEndpoint(LiveCommandCacheAdapter liveCommandCacheAdapter, LiveQueryCacheAdapter liveQueryCacheAdapter, ObjectMapper objectMapper, AtomicInteger connections) {
+        this.liveCommandCacheAdapter = liveCommandCacheAdapter;
+        this.liveQueryCacheAdapter = liveQueryCacheAdapter;
+        this.objectMapper = objectMapper;
+        this.connections = connections;
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        var credentials = (Response) config.getUserProperties().get(LiveChannelConfigurator.CREDENTIALS);
+        var token = (String) config.getUserProperties().get(LiveChannelConfigurator.TOKEN);
+        var expiresAt = (Instant) config.getUserProperties().get(LiveChannelConfigurator.EXPIRES_AT);
+        var keyLive = session.getPathParameters().get(Request.KEY_LIVE);
+        if (credentials == null || expired(expiresAt)) {
+            close(session, new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, SystemCodeEnum.C050PI.getProblem()));
+            return;
+        }
+
+        LOG.info("Open live channel {} of live {}.", session.getId(), keyLive);
+        connections.incrementAndGet();
+        session.setMaxTextMessageBufferSize(MAX_FRAME_SIZE);
+        session.addMessageHandler(String.class, (MessageHandler.Whole<String>) frame -> onFrame(frame, credentials, token, expiresAt, keyLive));
+        if (expiresAt != null) {
+            expiry = Mono.delay(Duration.between(Instant.now(), expiresAt))
+                    .subscribe(ignored -> close(session, new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Token expired")));
+        }
+
+        var events = Flux.defer(() -> {
+                    var caseGetLiveEventsFlux = new CaseGetLiveEventsFlux();
+                    caseGetLiveEventsFlux.setServices(liveQueryCacheAdapter);
+                    caseGetLiveEventsFlux.setDto(QueryDto.builder()
+                            .queryType(QueryType.QUERY_GET_LIVE_EVENTS.name())
+                            .keyLive(keyLive)
+                            .build());
+                    return caseGetLiveEventsFlux.call();
+                })
+                .map(this::write)
+                .onErrorResume(GlobalException.class, e -> Mono.just(write(LiveReply.error(null, e))))
+                .doFinally(signal -> replies.tryEmitComplete());
+
+        outbound = Flux.merge(events, replies.asFlux())
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        text -> send(session, text),
+                        error -> close(session, new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, SystemCodeEnum.C001PI.getProblem())),
+                        () -> close(session, new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, "Live ended")));
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        if (outbound == null) return;
+        LOG.info("Close live channel {}: {}.", session.getId(), closeReason.getReasonPhrase());
+        connections.decrementAndGet();
+        outbound.dispose();
+        if (expiry != null) expiry.dispose();
+        replies.tryEmitComplete();
+    }
+
+    @Override
+    public void onError(Session session, Throwable throwable) {
+        LOG.warn("Error on live channel {}: {}", session.getId(), throwable.getMessage());
+    }
+
+    private void onFrame(String text, Response credentials, String token, Instant expiresAt, String keyLive) {
+        if (expired(expiresAt)) {
+            reply(LiveReply.error(null, GlobalException.builder().status(401).alert(new CustomAlert(SystemCodeEnum.C050PI)).details("Token of the live channel expired").build()));
+            return;
+        }
+        LiveFrame frame;
+        try {
+            frame = objectMapper.readValue(text, LiveFrame.class);
+        } catch (JsonProcessingException e) {
+            reply(LiveReply.error(null, GlobalException.builder().status(400).alert(new CustomAlert(SystemCodeEnum.C132PI)).details(e.getOriginalMessage()).build()));
+            return;
+        }
+
+        var caseLiveChannelCommandMono = new CaseLiveChannelCommandMono();
+        var dto = CommandDto.builder()
+                .commandType(frame.getCommandType())
+                .token(token)
+                .login(frame.getLogin())
+                .code(frame.getCode())
+                .keyLive(keyLive)
+                .pupilLogin(frame.getPupilLogin())
+                .pupilCode(frame.getPupilCode())
+                .answerItem(frame.getAnswerItem())
+                .build();
+
+        caseLiveChannelCommandMono.setServices(liveCommandCacheAdapter);
+        caseLiveChannelCommandMono.setCredentials(credentials);
+        caseLiveChannelCommandMono.setDto(dto);
+        Mono.defer(caseLiveChannelCommandMono::call)
+                .map(live -> LiveReply.ok(frame.getId(), live))
+                .onErrorResume(GlobalException.class, e -> Mono.just(LiveReply.error(frame.getId(), e)))
+                .onErrorResume(e -> Mono.just(LiveReply.error(frame.getId(), GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details(e.getMessage()).build())))
+                .subscribe(this::reply);
+    }
+
+    private void reply(LiveReply reply) {
+        replies.emitNext(write(reply), Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+
+    private String write(Object frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to write live channel frame: " + e.getMessage()).build();
+        }
+    }
+
+    private static boolean expired(Instant expiresAt) {
+        return expiresAt != null && !Instant.now().isBefore(expiresAt);
+    }
+
+    private static void send(Session session, String text) {
+        if (!session.isOpen()) return;
+        try {
+            session.getBasicRemote().sendText(text);
+        } catch (IOException e) {
+            LOG.warn("Failed to send on live channel {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static void close(Session session, CloseReason reason) {
+        if (!session.isOpen()) return;
+        try {
+            session.close(reason);
+        } catch (IOException e) {
+            LOG.warn("Failed to close live channel {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
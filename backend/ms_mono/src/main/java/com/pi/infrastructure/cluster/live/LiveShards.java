@@ -0,0 +1,140 @@
+package com.pi.infrastructure.cluster.live;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveFrame;
+import com.pi.utils.cluster.HashRing;
+import com.pi.utils.redis.cluster.LiveCluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Ownership of the lives between the nodes of the service.
+ *
+ * <p>Every node renews its lease in Redis a few times per lease and builds the same {@link HashRing} from the
+ * nodes still alive, so each live has a single owner without any election. The owner keeps the live in
+ * {@link OwnedLives}, runs the commands it receives for it one at a time and answers them, and the reads of the
+ * live on that node, from its copy. A command received by another node runs there, the script of Redis being the
+ * only writer either way, and is answered with the live read back from Redis; it is not forwarded to the owner,
+ * which would still run the same script and only add two hops. When a node stops, or its lease runs out, its lives
+ * move to the next nodes of the ring, that read them again from Redis on their first command. Two nodes that both
+ * think they own a live for the length of a lease only cost a read more, never a lost update. With the cluster
+ * disabled every node runs the commands itself, without keeping the lives.</p>
+ */
+@Component
+public class LiveShards implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveShards.class);
+
+    @Value("${microservice.mono.cluster.enabled:false}") Boolean ENABLED;
+    @Value("${microservice.mono.cluster.lease:10s}") Duration LEASE;
+    @Value("${microservice.mono.cluster.replicas:64}") Integer REPLICAS;
+    @Value("${microservice.mono.cluster.leave-timeout:2s}") Duration LEAVE_TIMEOUT;
+    @Value("${microservice.mono.cluster.idle:5m}") Duration IDLE;
+
+    private final LiveCluster liveCluster;
+    private final OwnedLives ownedLives;
+    private final String node = "node-" + UUID.randomUUID();
+    private volatile HashRing ring = new HashRing(List.of(), 0);
+    private Disposable subscription;
+
+    public LiveShards(LiveCluster liveCluster, OwnedLives ownedLives) {
+        this.liveCluster = liveCluster;
+        this.ownedLives = ownedLives;
+    }
+
+    @Override
+    public void start() {
+        if (!ENABLED) {
+            LOG.info("Live cluster disabled, every node runs the commands of the lives.");
+            return;
+        }
+        LOG.info("Start live cluster node {} with lease {}.", node, LEASE);
+        subscription = Flux.interval(Duration.ZERO, LEASE.dividedBy(3))
+                .onBackpressureDrop()
+                .concatMap(tick -> liveCluster.heartbeat(node, LEASE)
+                        .doOnNext(this::rebuild)
+                        .onErrorResume(e -> {
+                            LOG.warn("Live cluster node {} failed to renew its lease: {}", node, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /**
+     * Runs a command of a live, through the copy of the live when this node owns it.
+     *
+     * @param key the canonical key of the live
+     * @param frame the command
+     * @return a Mono that emits the live after the command, or an empty Mono if the live does not exist
+     */
+    public Mono<Live> execute(String key, LiveFrame frame) {
+        if (!ENABLED) return ownedLives.run(key, frame);
+        var owner = ring.owner(key);
+        return owner == null || owner.equals(node) ? ownedLives.apply(key, frame) : ownedLives.run(key, frame);
+    }
+
+    /**
+     * Reads the copy of a live kept by this node.
+     *
+     * @param key the canonical key of the live
+     * @param version the lowest version the copy must have
+     * @return a Mono that emits the live, or an empty Mono if this node keeps no copy that recent
+     */
+    public Mono<Live> owned(String key, long version) {
+        return ENABLED ? ownedLives.get(key, version) : Mono.empty();
+    }
+
+    private void rebuild(List<String> members) {
+        var next = new HashRing(members, REPLICAS);
+        if (!next.getNodes().equals(ring.getNodes())) LOG.info("Live cluster nodes changed: {}.", next.getNodes());
+        ring = next;
+        ownedLives.release(key -> !node.equals(next.owner(key)), IDLE);
+    }
+
+    @Override
+    public void stop() {
+        stop(() -> { });
+    }
+
+    /**
+     * Leaves the cluster without blocking the thread of the shutdown, which goes on once the lease of the node is
+     * dropped, or after the leave timeout, so the next nodes of the ring take its lives at once.
+     */
+    @Override
+    public void stop(Runnable callback) {
+        if (Objects.isNull(subscription)) {
+            ownedLives.clear();
+            callback.run();
+            return;
+        }
+        subscription.dispose();
+        liveCluster.leave(node)
+                .timeout(LEAVE_TIMEOUT)
+                .onErrorResume(e -> {
+                    LOG.warn("Live cluster node {} failed to leave: {}", node, e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    ownedLives.clear();
+                    callback.run();
+                })
+                .subscribe();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return Objects.nonNull(subscription) && !subscription.isDisposed();
+    }
+}
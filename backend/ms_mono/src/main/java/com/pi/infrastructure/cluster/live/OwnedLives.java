@@ -0,0 +1,296 @@
+package com.pi.infrastructure.cluster.live;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveEvent;
+import com.pi.core_live.core.domain.LiveFrame;
+import com.pi.core_live.core.enums.CommandType;
+import com.pi.core_live.core.enums.EventType;
+import com.pi.infrastructure.timer.live.LiveTimers;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+import com.pi.utils.redis.events.LiveEventListener;
+import com.pi.utils.redis.serializer.LiveFormat;
+import com.pi.utils.redis.serializer.LiveRedisSerializer;
+import com.pi.utils.redis.store.LiveStore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * The lives owned by this node, kept in memory.
+ *
+ * <p>The scripts of Redis stay the only writer of a live, and the events they publish, one per version, are the
+ * log replayed on the copy in memory. The commands of an owned live run one at a time, in the order they came,
+ * and each one answers with the copy once it reached the version written by its script, without reading the
+ * live back from Redis. A gap in the versions, or an event that does not come in time, makes the copy read
+ * again from Redis, so a copy is never ahead of Redis and at worst a read behind; the command waiting on it
+ * answers meanwhile with the live read back from Redis.</p>
+ *
+ * <p>The copy is never handed out: each version of it is written once to a snapshot, read only and shared by
+ * every reply and read of that version, so a burst of commands costs a copy per version, not per reply. The
+ * mailbox of a live takes the commands of any number of threads at once and is bounded, a command that finds it
+ * full is refused as busy.</p>
+ */
+@Component
+public class OwnedLives {
+    private static final Logger LOG = LoggerFactory.getLogger(OwnedLives.class);
+
+    @Value("${microservice.mono.cluster.wait:1s}") Duration WAIT;
+    @Value("${microservice.mono.cluster.mailbox:256}") Integer MAILBOX;
+
+    private final LiveStore liveStore;
+    private final LiveEventListener liveEventListener;
+    private final LiveTimers liveTimers;
+    private final LiveRedisSerializer serializer = new LiveRedisSerializer(LiveFormat.BINARY);
+    private final Map<String, Owned> owned = new ConcurrentHashMap<>();
+
+    public OwnedLives(LiveStore liveStore, LiveEventListener liveEventListener, LiveTimers liveTimers) {
+        this.liveStore = liveStore;
+        this.liveEventListener = liveEventListener;
+        this.liveTimers = liveTimers;
+    }
+
+    /**
+     * Runs a command on a live without keeping it, the path of the lives owned by no node.
+     *
+     * @param key the canonical key of the live
+     * @param frame the command
+     * @return a Mono that emits the live read back from Redis after the command, or an empty Mono if the live
+     *     does not exist
+     */
+    public Mono<Live> run(String key, LiveFrame frame) {
+        return command(key, frame).filter(change -> change.version() > 0).flatMap(change -> liveStore.fetch(key));
+    }
+
+    /**
+     * Runs a command on a live owned by this node, after the commands of the live already waiting.
+     *
+     * @param key the canonical key of the live
+     * @param frame the command
+     * @return a Mono that emits the snapshot of the live after the command, or an empty Mono if the live does not exist
+     */
+    public Mono<Live> apply(String key, LiveFrame frame) {
+        return Mono.defer(() -> {
+            var live = owned.computeIfAbsent(key, Owned::new);
+            var result = Sinks.<Live>one();
+            var offered = live.offer(command(key, frame)
+                    .flatMap(change -> change.version() > 0 ? live.await(change) : Mono.<Live>empty())
+                    .doOnNext(ignored -> live.touched = System.currentTimeMillis())
+                    .doOnSuccess(value -> { if (value == null) result.tryEmitEmpty(); else result.tryEmitValue(value); })
+                    .doOnError(result::tryEmitError)
+                    .onErrorResume(e -> Mono.empty()));
+            if (offered == Sinks.EmitResult.FAIL_OVERFLOW) {
+                return Mono.error(GlobalException.builder().status(429).alert(new CustomAlert(SystemCodeEnum.C134PI)).details("Live " + key + " refused the command: mailbox").retryAfter(1L).build());
+            }
+            if (offered.isFailure()) return run(key, frame);
+            return result.asMono();
+        });
+    }
+
+    /**
+     * Reads the snapshot of an owned live, shared with every other reader and not to be changed.
+     *
+     * @param key the canonical key of the live
+     * @param version the lowest version the snapshot must have
+     * @return a Mono that emits the snapshot of the live, or an empty Mono if this node has no copy that recent
+     */
+    public Mono<Live> get(String key, long version) {
+        return Mono.justOrEmpty(owned.get(key)).flatMap(live -> Mono.justOrEmpty(live.copy(version)));
+    }
+
+    /**
+     * Drops the copies of the lives that moved to another node, or that had no command for a while.
+     *
+     * @param moved tells the lives this node no longer owns
+     * @param idle the longest time a copy is kept without commands
+     */
+    public void release(Predicate<String> moved, Duration idle) {
+        var before = System.currentTimeMillis() - idle.toMillis();
+        owned.values().stream()
+                .filter(live -> moved.test(live.key) || live.touched < before)
+                .toList()
+                .forEach(Owned::close);
+    }
+
+    /**
+     * Drops every copy.
+     */
+    public void clear() {
+        List.copyOf(owned.values()).forEach(Owned::close);
+    }
+
+    private Mono<LiveStore.Change> command(String key, LiveFrame frame) {
+        CommandType type;
+        try {
+            type = CommandType.valueOf(frame.getCommandType());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Mono.error(GlobalException.builder().status(400).alert(new CustomAlert(SystemCodeEnum.C131PI)).details("Invalid command type: " + frame.getCommandType()).build());
+        }
+        return switch (type) {
+            case COMMAND_PATCH_NEXT_POSITION -> liveStore.nextPosition(key).flatMap(change -> schedule(key, change));
+            case COMMAND_PATCH_PREVIOUS_POSITION -> liveStore.previousPosition(key).flatMap(change -> schedule(key, change));
+            case COMMAND_PATCH_ADD_PUPIL_TO_LOBBY -> liveStore.addPupilToLobby(key, frame.getPupilLogin(), frame.getPupilCode());
+            case COMMAND_PATCH_REMOVE_PUPIL_FROM_LOBBY -> liveStore.removePupilFromLobby(key, frame.getPupilLogin(), frame.getPupilCode());
+            case COMMAND_PATCH_ADD_PUPIL_ANSWER_TO_QUIZ -> liveStore.addPupilAnswer(key, frame.getPupilLogin(), frame.getPupilCode(), frame.getAnswerItem());
+            default -> Mono.error(GlobalException.builder().status(400).alert(new CustomAlert(SystemCodeEnum.C131PI)).details("Command not run by the owner of the live: " + type).build());
+        };
+    }
+
+    private Mono<LiveStore.Change> schedule(String key, LiveStore.Change change) {
+        return change.version() > 0 ? liveTimers.schedule(key).thenReturn(change) : Mono.just(change);
+    }
+
+    /**
+     * The copy of a live, its subscription to the events of the live and the mailbox of its commands.
+     */
+    private final class Owned {
+        private final String key;
+        private final FluxSink<Mono<Live>> mailbox;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Sinks.Many<Long> versions = Sinks.many().replay().latest();
+        private final List<LiveEvent> buffered = new ArrayList<>();
+        private final Disposable events;
+        private Live live;
+        private Live snapshot;
+        private boolean fetching;
+        private volatile boolean closed;
+        private volatile long touched = System.currentTimeMillis();
+
+        private Owned(String key) {
+            this.key = key;
+            var sink = new AtomicReference<FluxSink<Mono<Live>>>();
+            Flux.<Mono<Live>>create(sink::set).concatMap(command -> command, 1).subscribe();
+            this.mailbox = sink.get();
+            this.events = liveEventListener.listen(key)
+                    .flatMapMany(flux -> {
+                        refetch();
+                        return flux;
+                    })
+                    .subscribe(this::receive, e -> {
+                        LOG.warn("Lost the events of owned live {}: {}", key, e.getMessage());
+                        close();
+                    });
+            LOG.info("Own live {}.", key);
+        }
+
+        private synchronized void receive(LiveEvent event) {
+            if (event.getType() == EventType.LIVE_ENDED) {
+                close();
+                return;
+            }
+            if (live == null) {
+                buffered.add(event);
+                return;
+            }
+            if (event.getVersion() <= live.getVersion()) return;
+            if (event.getVersion() > live.getVersion() + 1) {
+                refetch();
+                return;
+            }
+            live.apply(event);
+            versions.tryEmitNext(live.getVersion());
+        }
+
+        /**
+         * Reads the live again from Redis, the events received meanwhile are replayed on it.
+         */
+        private synchronized void refetch() {
+            live = null;
+            snapshot = null;
+            if (fetching) return;
+            fetching = true;
+            liveStore.fetch(key)
+                    .doOnNext(this::hydrate)
+                    .switchIfEmpty(Mono.fromRunnable(this::close))
+                    .subscribe(null, e -> {
+                        LOG.warn("Failed to read owned live {}: {}", key, e.getMessage());
+                        close();
+                    });
+        }
+
+        private synchronized void hydrate(Live fetched) {
+            fetching = false;
+            live = fetched;
+            var pending = List.copyOf(buffered);
+            buffered.clear();
+            pending.forEach(this::receive);
+            if (live != null) versions.tryEmitNext(live.getVersion());
+        }
+
+        /**
+         * Queues a command after the commands of the live already waiting. The sink of {@link Flux#create} takes
+         * the commands of many threads at once and runs them in the order they came, so no command is refused for
+         * coming at the same time as another one, only when the mailbox is full or the live released.
+         */
+        private Sinks.EmitResult offer(Mono<Live> command) {
+            if (closed) return Sinks.EmitResult.FAIL_TERMINATED;
+            if (queued.incrementAndGet() > MAILBOX) {
+                queued.decrementAndGet();
+                return Sinks.EmitResult.FAIL_OVERFLOW;
+            }
+            mailbox.next(command.doFinally(signal -> queued.decrementAndGet()));
+            return Sinks.EmitResult.OK;
+        }
+
+        private Mono<Live> await(LiveStore.Change change) {
+            if (closed) return liveStore.fetch(key);
+            return versions.asFlux().filter(current -> current >= change.version()).next()
+                    .timeout(WAIT, Mono.empty())
+                    .publishOn(Schedulers.parallel())
+                    .flatMap(current -> Mono.justOrEmpty(copy(change.version())))
+                    .switchIfEmpty(Mono.defer(() -> {
+                        LOG.warn("Owned live {} did not reach version {} in time, read it again.", key, change.version());
+                        refetch();
+                        return liveStore.fetch(key);
+                    }));
+        }
+
+        /**
+         * The snapshot of the copy, written again only when the copy moved to another version since the last one.
+         * The copy is serialized under the lock, the snapshot is read back out of it.
+         */
+        private Live copy(long version) {
+            byte[] bytes;
+            synchronized (this) {
+                if (live == null || live.getVersion() < version) return null;
+                if (snapshot != null && snapshot.getVersion().equals(live.getVersion())) return snapshot;
+                bytes = serializer.serialize(live);
+            }
+            var copy = serializer.deserialize(bytes);
+            synchronized (this) {
+                if (snapshot == null || snapshot.getVersion() < copy.getVersion()) snapshot = copy;
+            }
+            return copy;
+        }
+
+        /**
+         * Releases the live. The mailbox is left open, a command offered while the live is released still runs,
+         * and is answered with the live read back from Redis.
+         */
+        private void close() {
+            closed = true;
+            if (owned.remove(key, this)) LOG.info("Release live {}.", key);
+            if (Objects.nonNull(events)) events.dispose();
+        }
+    }
+}
@@ -2,17 +2,27 @@ package com.pi.infrastructure.mongo;
 
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.pi.utils.mongo.documents.LiveDocument;
+import com.pi.utils.mongo.documents.QuizDocument;
+import com.pi.utils.mongo.documents.UserDocument;
+import com.pi.utils.mongo.indexes.MongoIndexes;
+import com.pi.utils.mongo.indexes.MongoIndexesEndpoint;
+import com.pi.utils.services.Blocking;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.util.Map;
+
 @Configuration
 public class MongoConfig {
 
+    @Value("${microservice.mono.blocking-check:false}") boolean BLOCKING_CHECK;
     @Value("${spring.data.mongodb.uri}") String URI;
     @Value("${spring.data.mongodb.database}") String DB_NAME;
+    @Value("${spring.data.mongodb.indexes.drop-undeclared:false}") boolean DROP_UNDECLARED;
     @Value("${spring.data.mongodb.collections.users}") String COLLECTION_USERS;
     @Value("${spring.data.mongodb.collections.quizes}") String COLLECTION_QUIZES;
     @Value("${spring.data.mongodb.collections.lives}") String COLLECTION_LIVES;
@@ -28,11 +38,24 @@ public class MongoConfig {
     }
 
     @Bean
-    public ApplicationRunner initCollections(MongoTemplate mongoTemplate) {
+    public ApplicationRunner blockingCheck() {
         return args -> {
-            if (!mongoTemplate.collectionExists(COLLECTION_USERS)) mongoTemplate.createCollection(COLLECTION_USERS);
-            if (!mongoTemplate.collectionExists(COLLECTION_QUIZES)) mongoTemplate.createCollection(COLLECTION_QUIZES);
-            if (!mongoTemplate.collectionExists(COLLECTION_LIVES)) mongoTemplate.createCollection(COLLECTION_LIVES);
+            if (BLOCKING_CHECK) Blocking.detect("lettuce-");
         };
     }
+
+    @Bean
+    public MongoIndexes mongoIndexes(MongoTemplate mongoTemplate) {
+        return new MongoIndexes(mongoTemplate, Map.of(COLLECTION_USERS, UserDocument.class, COLLECTION_QUIZES, QuizDocument.class, COLLECTION_LIVES, LiveDocument.class), DROP_UNDECLARED);
+    }
+
+    @Bean
+    public MongoIndexesEndpoint mongoIndexesEndpoint(MongoIndexes mongoIndexes) {
+        return new MongoIndexesEndpoint(mongoIndexes);
+    }
+
+    @Bean
+    public ApplicationRunner initCollections(MongoIndexes mongoIndexes) {
+        return args -> mongoIndexes.reconcile();
+    }
 }
@@ -7,10 +7,13 @@ import com.pi.utils.exceptions.GlobalException;
 import com.pi.utils.models.CustomAlert;
 import com.pi.utils.mongo.documents.UserDocument;
 import com.pi.utils.services.Crypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.ObjectUtils;
 
@@ -18,8 +21,12 @@ import java.util.EnumSet;
 
 @Repository
 public class AuthDaoQueryAdapter implements IAuthQueryOut {
+    private static final Logger LOG = LoggerFactory.getLogger(AuthDaoQueryAdapter.class);
+
     private static final String LOGIN = "login";
     private static final String CODE = "code";
+    private static final String ID = "_id";
+    private static final String PASSWORD = "password";
     private static final String RESPONSE_NOT_FOUND = "User not found";
     private static final String RESPONSE_PASSWORD_NOT_MATCH = "User password not match";
 
@@ -40,9 +47,25 @@ public class AuthDaoQueryAdapter implements IAuthQueryOut {
         var user = template.findOne(buildQuery(login, code), UserDocument.class);
         validate(ObjectUtils.isEmpty(user), 404, RESPONSE_NOT_FOUND);
         validate(!Crypt.isMatch(password, user.getPassword()), 401, RESPONSE_PASSWORD_NOT_MATCH);
+        rehashIfOutdated(user, password);
         return user;
     }
 
+    /**
+     * Hashes the password again with the configured cost when the stored hash is cheaper, now that the password
+     * is known. The hash is only replaced if it did not change meanwhile, and a failure does not fail the sign-in.
+     */
+    protected void rehashIfOutdated(UserDocument user, String password) {
+        if (!Crypt.isOutdated(user.getPassword())) return;
+        try {
+            var query = new Query(Criteria.where(ID).is(user.getId()).and(PASSWORD).is(user.getPassword()));
+            template.updateFirst(query, new Update().set(PASSWORD, Crypt.encrypt(password)), UserDocument.class);
+            LOG.info("Password of user {} hashed again with the configured cost.", user.getId());
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to hash again the password of user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     protected static void validate(boolean logical, int status, String responsePasswordNotMatch) {
         if (logical)
             throw GlobalException.builder()
@@ -1,29 +1,116 @@
 package com.pi.infrastructure.mongo.live;
 
 import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.StatusLive;
 import com.pi.core_live.ports.out.ILiveCommandPersistOut;
 import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.mongo.checkpoint.LiveCheckpoints;
 import com.pi.utils.mongo.documents.LiveDocument;
+import com.pi.utils.services.Blocking;
+import com.mongodb.ErrorCategory;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 
 @Repository
 public class LiveCommandPersistAdapter implements ILiveCommandPersistOut {
+    private static final String KEY = "key";
+    private static final String VERSION = "version";
+    private static final String STATUS = "status";
+    private static final int CHECKPOINTS = 4096;
+
     @Value("${spring.data.mongodb.collections.lives}") String COLLECTION_NAME;
 
     private final MongoTemplate template;
+    private final LiveCheckpoints checkpoints = new LiveCheckpoints(CHECKPOINTS);
 
     @Autowired
     public LiveCommandPersistAdapter(MongoTemplate template) { this.template = template; }
 
     @Override
     public Mono<Live> persistLive(Live live) throws GlobalException {
-        var document = template.insert(Objects.requireNonNull(LiveDocument.mapperDocument(live)), COLLECTION_NAME);
-        return Mono.just(Objects.requireNonNull(LiveDocument.mapperLive(document)));
+        return Blocking.call(() -> template.insert(Objects.requireNonNull(LiveDocument.mapperDocument(live)), COLLECTION_NAME))
+                .map(document -> Objects.requireNonNull(LiveDocument.mapperLive(document)));
+    }
+
+    /**
+     * Archives a batch of ended lives in a single bulk write. Each live replaces the document with
+     * the same key, so archiving a live again, after a retry of the outbox, keeps one document.
+     *
+     * @param lives the ended lives
+     * @return a Mono that emits the number of lives archived
+     */
+    public Mono<Integer> persistLives(List<Live> lives) {
+        return Blocking.call(() -> {
+            var bulk = template.bulkOps(BulkOperations.BulkMode.UNORDERED, LiveDocument.class, COLLECTION_NAME);
+            lives.forEach(live -> bulk.replaceOne(
+                    new Query(Criteria.where(KEY).is(live.getKey())),
+                    Objects.requireNonNull(LiveDocument.mapperDocument(live)),
+                    FindAndReplaceOptions.options().upsert()));
+            var result = bulk.execute();
+            return result.getMatchedCount() + result.getUpserts().size();
+        });
+    }
+
+    /**
+     * Checkpoints a batch of running lives in a single bulk write. Only the paths of each live that changed
+     * since its last checkpoint are written, see {@link LiveCheckpoints}, and a live without changes is skipped.
+     * A checkpoint only lands on a document of the same or an older version that is not archived, the upsert of
+     * one that comes too late, after a newer checkpoint or the archive of the live, meets the unique key and is
+     * dropped.
+     *
+     * @param lives the running lives
+     * @return a Mono that emits the number of lives checkpointed
+     */
+    public Mono<Integer> checkpointLives(List<Live> lives) {
+        return Blocking.call(() -> {
+            var changed = new ArrayList<LiveCheckpoints.Checkpoint>();
+            var bulk = template.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION_NAME);
+            lives.forEach(live -> {
+                var document = new Document();
+                template.getConverter().write(Objects.requireNonNull(LiveDocument.mapperDocument(live)), document);
+                var checkpoint = checkpoints.prepare(live.getKey(), document);
+                if (checkpoint == null) return;
+                changed.add(checkpoint);
+                bulk.upsert(new Query(Criteria.where(KEY).is(live.getKey())
+                        .and(STATUS).ne(StatusLive.COMPLETED.name())
+                        .orOperator(Criteria.where(VERSION).lte(live.getVersion()), Criteria.where(VERSION).exists(false))), checkpoint.update());
+            });
+            if (changed.isEmpty()) return 0;
+
+            var stale = new HashSet<Integer>();
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                for (var error : e.getErrors()) {
+                    if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) throw e;
+                    stale.add(error.getIndex());
+                }
+            }
+            for (int i = 0; i < changed.size(); i++) {
+                if (!stale.contains(i)) checkpoints.written(changed.get(i));
+            }
+            return changed.size() - stale.size();
+        });
+    }
+
+    /**
+     * Forgets the checkpoints written by this node, when another node may have written the lives since.
+     */
+    public void forgetCheckpoints() {
+        checkpoints.clear();
     }
 }
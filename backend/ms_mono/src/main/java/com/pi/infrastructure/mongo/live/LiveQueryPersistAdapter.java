@@ -1,25 +1,35 @@
 package com.pi.infrastructure.mongo.live;
 
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.StatusLive;
 import com.pi.core_live.ports.out.ILiveQueryPersistOut;
 import com.pi.core_quiz.core.domain.Quiz;
 import com.pi.utils.enums.SystemCodeEnum;
 import com.pi.utils.exceptions.GlobalException;
 import com.pi.utils.models.CustomAlert;
+import com.pi.utils.mongo.checkpoint.LiveCheckpoints;
+import com.pi.utils.mongo.documents.LiveDocument;
 import com.pi.utils.mongo.documents.QuizDocument;
+import com.pi.utils.services.Blocking;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.ObjectUtils;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Objects;
 
 @Repository
 public class LiveQueryPersistAdapter implements ILiveQueryPersistOut {
     private static final String KEY_NOT_FOUND = "Provide existing key quiz";
     private static final String KEY = "key";
+    private static final String STATUS = "status";
+
+    @Value("${spring.data.mongodb.collections.lives}") String COLLECTION_NAME;
 
     private final MongoTemplate template;
 
@@ -28,13 +38,25 @@ public class LiveQueryPersistAdapter implements ILiveQueryPersistOut {
 
     @Override
     public Mono<Quiz> fetchQuiz(String keyQuiz) throws GlobalException {
-        var quiz = template.findOne(new Query(Criteria.where(KEY).is(keyQuiz)), QuizDocument.class);
-        if (ObjectUtils.isEmpty(quiz))
-            throw GlobalException.builder()
-                    .status(404)
-                    .details(KEY_NOT_FOUND)
-                    .alert(new CustomAlert(SystemCodeEnum.C003PI))
-                    .build();
-        return Mono.just(Objects.requireNonNull(QuizDocument.mapperQuiz(quiz)));
+        return Blocking.call(() -> template.findOne(new Query(Criteria.where(KEY).is(keyQuiz)), QuizDocument.class))
+                .switchIfEmpty(Mono.error(GlobalException.builder()
+                        .status(404)
+                        .details(KEY_NOT_FOUND)
+                        .alert(new CustomAlert(SystemCodeEnum.C003PI))
+                        .build()))
+                .map(quiz -> Objects.requireNonNull(QuizDocument.mapperQuiz(quiz)));
+    }
+
+    /**
+     * Reads the checkpoints of the lives that were running, the latest checkpoints first.
+     *
+     * @return a Mono that emits the lives of the checkpoints
+     */
+    public Mono<List<Live>> fetchCheckpoints() {
+        var query = new Query(Criteria.where(LiveCheckpoints.CHECKPOINT_ON).exists(true).and(STATUS).ne(StatusLive.COMPLETED))
+                .with(Sort.by(Sort.Direction.DESC, LiveCheckpoints.CHECKPOINT_ON));
+        return Blocking.call(() -> template.find(query, LiveDocument.class, COLLECTION_NAME).stream()
+                .map(document -> Objects.requireNonNull(LiveDocument.mapperLive(document)))
+                .toList());
     }
 }
@@ -1,20 +1,35 @@
 package com.pi.infrastructure.redis;
 
 import com.pi.core_live.core.domain.Live;
+import com.pi.utils.redis.cluster.LiveCluster;
+import com.pi.utils.redis.events.LiveEventListener;
+import com.pi.utils.redis.outbox.LiveArchiveOutbox;
+import com.pi.utils.redis.registry.LiveRegistry;
+import com.pi.utils.redis.serializer.LiveFormat;
+import com.pi.utils.redis.serializer.LiveRedisSerializer;
+import com.pi.utils.redis.store.LiveStore;
+import com.pi.utils.redis.store.QuizSnapshotStore;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
+    @Value("${spring.data.redis.formats.live:json}") String LIVE_FORMAT;
+    @Value("${microservice.mono.expiry.ttl:6h}") Duration LIVE_TTL;
+    @Value("${microservice.mono.leaderboard.time-weighted:false}") Boolean TIME_WEIGHTED;
 
     @Bean
     public ReactiveRedisTemplate<String, Live> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
-        Jackson2JsonRedisSerializer<Live> serializer = new Jackson2JsonRedisSerializer<>(Live.class);
+        LiveRedisSerializer serializer = new LiveRedisSerializer(LiveFormat.from(LIVE_FORMAT));
 
         RedisSerializationContext.RedisSerializationContextBuilder<String, Live> builder =
                 RedisSerializationContext.newSerializationContext(new StringRedisSerializer());
@@ -25,4 +40,39 @@ public class RedisConfig {
 
         return new ReactiveRedisTemplate<>(connectionFactory, context);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public LiveRegistry liveRegistry(ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        return new LiveRegistry(reactiveStringRedisTemplate);
+    }
+
+    @Bean
+    public QuizSnapshotStore quizSnapshotStore(ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        return new QuizSnapshotStore(reactiveStringRedisTemplate);
+    }
+
+    @Bean
+    public LiveStore liveStore(ReactiveRedisTemplate<String, Live> reactiveRedisTemplate, ReactiveStringRedisTemplate reactiveStringRedisTemplate, QuizSnapshotStore quizSnapshotStore) {
+        return new LiveStore(reactiveRedisTemplate, reactiveStringRedisTemplate, quizSnapshotStore, LIVE_TTL, TIME_WEIGHTED);
+    }
+
+    @Bean
+    public LiveArchiveOutbox liveArchiveOutbox(ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        return new LiveArchiveOutbox(reactiveStringRedisTemplate);
+    }
+
+    @Bean
+    public ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveRedisMessageListenerContainer(connectionFactory);
+    }
+
+    @Bean
+    public LiveEventListener liveEventListener(ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer) {
+        return new LiveEventListener(reactiveRedisMessageListenerContainer);
+    }
+
+    @Bean
+    public LiveCluster liveCluster(ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        return new LiveCluster(reactiveStringRedisTemplate);
+    }
+}
@@ -0,0 +1,121 @@
+package com.pi.infrastructure.stream.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pi.core_live.core.domain.Live;
+import com.pi.utils.enums.SystemCodeEnum;
+import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CustomAlert;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multicast hub of the live streams of this node.
+ *
+ * <p>All the local subscribers of a live share one upstream: the live is read from Redis once per
+ * change and serialized once, and the same bytes are written to every connection. The upstream is
+ * subscribed with the first subscriber and cancelled when the last one leaves. New subscribers
+ * receive the last emitted live right away.</p>
+ *
+ * <p>The hubs are kept by the canonical key of the live, so the alias and the key of a live share a hub. A hub
+ * counts its subscribers under the lock of its entry in the map, so a subscriber joining and the last one leaving
+ * never race: the hub is dropped only by the leave that brings it to zero, or when its upstream ends.</p>
+ */
+@Component
+public class LiveStreamHub {
+    private static final Logger LOG = LoggerFactory.getLogger(LiveStreamHub.class);
+
+    private final Map<String, Hub> hubs = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+
+    public LiveStreamHub(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        Gauge.builder("live.stream.hubs", hubs, Map::size)
+                .description("Lives with at least one stream subscriber on this node")
+                .register(meterRegistry);
+        Gauge.builder("live.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Stream subscribers of the lives on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the shared stream of a live.
+     *
+     * @param key the canonical key of the live
+     * @param upstream the stream of the live, only subscribed when no hub exists for the key yet
+     * @return a Flux that emits the serialized live on subscribe and after each change
+     */
+    public Flux<byte[]> subscribe(String key, Flux<Live> upstream) {
+        return Flux.defer(() -> {
+            var hub = hubs.compute(key, (ignored, current) -> (current == null ? new Hub(key, upstream) : current).join());
+            subscribers.incrementAndGet();
+            return hub.shared.doFinally(signal -> {
+                subscribers.decrementAndGet();
+                hubs.computeIfPresent(key, (ignored, current) -> current == hub ? current.leave() : current);
+            });
+        });
+    }
+
+    /**
+     * Returns the number of subscribers of a live on this node.
+     *
+     * @param key the canonical key of the live
+     * @return the number of subscribers, 0 when the live has no hub
+     */
+    public int subscribers(String key) {
+        var hub = hubs.get(key);
+        return hub == null ? 0 : hub.subscribers;
+    }
+
+    private byte[] serialize(Live live) {
+        try {
+            return objectMapper.writeValueAsBytes(live);
+        } catch (JsonProcessingException e) {
+            throw GlobalException.builder().status(500).alert(new CustomAlert(SystemCodeEnum.C001PI)).details("Failed to serialize live: " + e.getMessage()).build();
+        }
+    }
+
+    /**
+     * The shared stream of a live, its subscribers are only counted inside the compute of its entry in the map.
+     */
+    private final class Hub {
+        private final String key;
+        private final Flux<byte[]> shared;
+        private volatile int subscribers;
+
+        private Hub(String key, Flux<Live> upstream) {
+            LOG.info("Open stream hub of live {}.", key);
+            this.key = key;
+            this.shared = upstream
+                    .map(LiveStreamHub.this::serialize)
+                    .doFinally(signal -> {
+                        if (hubs.remove(key, this)) LOG.info("Close stream hub of live {}, its stream ended.", key);
+                    })
+                    .replay(1)
+                    .refCount();
+        }
+
+        private Hub join() {
+            subscribers++;
+            return this;
+        }
+
+        private Hub leave() {
+            if (--subscribers > 0) return this;
+            LOG.info("Close stream hub of live {}.", key);
+            return null;
+        }
+    }
+}
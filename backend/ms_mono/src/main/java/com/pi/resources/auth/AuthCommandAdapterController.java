@@ -4,25 +4,32 @@ import com.pi.core_auth.core.domains.Token;
 import com.pi.core_auth.core.dtos.CommandDto;
 import com.pi.core_auth.ports.in.IAuthCommandIn;
 import com.pi.core_auth.usecases.CasePostAnonymousToken;
+import com.pi.core_auth.usecases.CasePostPupilToken;
 import com.pi.core_auth.usecases.CasePostSignInToken;
 import com.pi.infrastructure.mongo.auth.AuthDaoQueryAdapter;
 import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.security.PupilTokens;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 public class AuthCommandAdapterController implements IAuthCommandIn {
 
     private final CasePostSignInToken casePostSignInToken;
     private final CasePostAnonymousToken casePostAnonymousToken;
+    private final PupilTokens pupilTokens;
 
     public AuthCommandAdapterController(
             CasePostSignInToken casePostSignInToken,
             CasePostAnonymousToken casePostAnonymousToken,
+            PupilTokens pupilTokens,
             AuthDaoQueryAdapter userDaoAdapter
     ) {
         this.casePostSignInToken = casePostSignInToken;
         this.casePostAnonymousToken = casePostAnonymousToken;
+        this.pupilTokens = pupilTokens;
         this.casePostSignInToken.setServices(userDaoAdapter);
     }
 
@@ -49,4 +56,29 @@ public class AuthCommandAdapterController implements IAuthCommandIn {
         casePostAnonymousToken.setCommandDto(dto);
         return ResponseEntity.status(201).body(casePostAnonymousToken.call());
     }
+
+    @Override
+    public ResponseEntity<Token> postPupilToken(String commandType, String keyLive) throws GlobalException {
+        var casePostPupilToken = new CasePostPupilToken(pupilTokens);
+        var dto = CommandDto.builder()
+                .commandType(commandType)
+                .keyLive(keyLive)
+                .build();
+
+        casePostPupilToken.setCommandDto(dto);
+        return ResponseEntity.status(201).body(casePostPupilToken.call().getFirst());
+    }
+
+    @Override
+    public ResponseEntity<List<Token>> postPupilTokens(String commandType, String authorization, String keyLive, Integer count) throws GlobalException {
+        var casePostPupilToken = new CasePostPupilToken(pupilTokens);
+        var dto = CommandDto.builder()
+                .commandType(commandType)
+                .keyLive(keyLive)
+                .count(count)
+                .build();
+
+        casePostPupilToken.setCommandDto(dto);
+        return ResponseEntity.status(201).body(casePostPupilToken.call());
+    }
 }
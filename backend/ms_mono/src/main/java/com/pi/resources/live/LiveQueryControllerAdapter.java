@@ -1,24 +1,38 @@
 package com.pi.resources.live;
 
+import com.pi.core_live.core.domain.Leaderboard;
 import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.domain.LiveEvent;
 import com.pi.core_live.core.dtos.QueryDto;
 import com.pi.core_live.ports.in.ILiveQueryIn;
+import com.pi.core_live.usecases.CaseGetActiveLivesMono;
+import com.pi.core_live.usecases.CaseGetLeaderboardMono;
+import com.pi.core_live.usecases.CaseGetLiveEventsFlux;
 import com.pi.core_live.usecases.CaseGetLiveMono;
+import com.pi.core_live.usecases.CaseGetLiveStreamFlux;
 import com.pi.infrastructure.redis.live.LiveQueryCacheAdapter;
+import com.pi.infrastructure.stream.live.LiveStreamHub;
 import com.pi.utils.exceptions.GlobalException;
+import com.pi.utils.models.CursorPageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-
 @RestController
 public class LiveQueryControllerAdapter implements ILiveQueryIn {
 
     private final LiveQueryCacheAdapter liveQueryCacheAdapter;
+    private final LiveStreamHub liveStreamHub;
+    private final JwtDecoder jwtDecoder;
 
-    public LiveQueryControllerAdapter(LiveQueryCacheAdapter liveQueryCacheAdapter) { this.liveQueryCacheAdapter = liveQueryCacheAdapter; }
+    public LiveQueryControllerAdapter(LiveQueryCacheAdapter liveQueryCacheAdapter, LiveStreamHub liveStreamHub, JwtDecoder jwtDecoder) {
+        this.liveQueryCacheAdapter = liveQueryCacheAdapter;
+        this.liveStreamHub = liveStreamHub;
+        this.jwtDecoder = jwtDecoder;
+    }
 
     @Override
     public Mono<ResponseEntity<Live>> getLive(String queryType, String keyLive, String authorization) throws GlobalException {
@@ -35,20 +49,68 @@ public class LiveQueryControllerAdapter implements ILiveQueryIn {
     }
 
     @Override
-    public Flux<Live> getLiveStream(String queryType, String keyLive) throws GlobalException {
-        return Flux.interval(Duration.ofSeconds(3))
-                .flatMap(tick -> {
-                    var caseGetLiveMono = new CaseGetLiveMono();
-                    var dto = QueryDto.builder()
-                            .queryType(queryType)
-                            .keyLive(keyLive)
-                            .build();
-
-                    caseGetLiveMono.setServices(liveQueryCacheAdapter);
-                    caseGetLiveMono.setDto(dto);
-                    return caseGetLiveMono.call();
-                })
-                .distinctUntilChanged(Live::getUpdateOn)
-                .doOnCancel(() -> {});
+    public Flux<byte[]> getLiveStream(String queryType, String keyLive) throws GlobalException {
+        var caseGetLiveStreamFlux = new CaseGetLiveStreamFlux();
+        var dto = QueryDto.builder()
+                .queryType(queryType)
+                .keyLive(keyLive)
+                .build();
+
+        caseGetLiveStreamFlux.setServices(liveQueryCacheAdapter);
+        caseGetLiveStreamFlux.setDto(dto);
+        var upstream = caseGetLiveStreamFlux.call();
+        return liveQueryCacheAdapter.resolve(keyLive).flatMapMany(key -> liveStreamHub.subscribe(key, upstream));
+    }
+
+    @Override
+    public Flux<ServerSentEvent<LiveEvent>> getLiveEvents(String queryType, String keyLive) throws GlobalException {
+        var caseGetLiveEventsFlux = new CaseGetLiveEventsFlux();
+        var dto = QueryDto.builder()
+                .queryType(queryType)
+                .keyLive(keyLive)
+                .build();
+
+        caseGetLiveEventsFlux.setServices(liveQueryCacheAdapter);
+        caseGetLiveEventsFlux.setDto(dto);
+        return caseGetLiveEventsFlux.call().map(event -> ServerSentEvent.<LiveEvent>builder()
+                .id(String.valueOf(event.getVersion()))
+                .event(event.getType().name())
+                .data(event)
+                .build());
+    }
+
+    @Override
+    public Mono<ResponseEntity<CursorPageable<Live>>> getActiveLives(String queryType, String authorization, String login, String code, String cursor, Integer size) throws GlobalException {
+        var caseGetActiveLivesMono = new CaseGetActiveLivesMono();
+        var dto = QueryDto.builder()
+                .queryType(queryType)
+                .token(authorization)
+                .login(login)
+                .code(code)
+                .cursor(cursor)
+                .size(size)
+                .build();
+
+        caseGetActiveLivesMono.setServices(liveQueryCacheAdapter);
+        caseGetActiveLivesMono.setDecoder(jwtDecoder);
+        caseGetActiveLivesMono.setDto(dto);
+        return caseGetActiveLivesMono.call().map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Leaderboard>> getLeaderboard(String queryType, String keyLive, String authorization, Integer size, String pupilLogin, String pupilCode) throws GlobalException {
+        var caseGetLeaderboardMono = new CaseGetLeaderboardMono();
+        var dto = QueryDto.builder()
+                .queryType(queryType)
+                .keyLive(keyLive)
+                .token(authorization)
+                .size(size)
+                .pupilLogin(pupilLogin)
+                .pupilCode(pupilCode)
+                .build();
+
+        caseGetLeaderboardMono.setServices(liveQueryCacheAdapter);
+        caseGetLeaderboardMono.setDto(dto);
+        return caseGetLeaderboardMono.call().map(ResponseEntity::ok);
     }
 }
@@ -0,0 +1,146 @@
+package com.pi.unitary;
+
+import com.pi.core_live.core.domain.Live;
+import com.pi.infrastructure.admission.live.LiveAdmission;
+import com.pi.utils.exceptions.GlobalException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class LiveAdmissionTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private LiveAdmission admission;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admission = new LiveAdmission(meterRegistry);
+        ReflectionTestUtils.setField(admission, "ENABLED", true);
+        ReflectionTestUtils.setField(admission, "LIVE_RATE", 0.001);
+        ReflectionTestUtils.setField(admission, "LIVE_BURST", 100d);
+        ReflectionTestUtils.setField(admission, "LIVE_CONCURRENCY", 1);
+        ReflectionTestUtils.setField(admission, "LIVE_QUEUE", 8);
+        ReflectionTestUtils.setField(admission, "NODE_RATE", 0.001);
+        ReflectionTestUtils.setField(admission, "NODE_BURST", 100d);
+        ReflectionTestUtils.setField(admission, "NODE_CONCURRENCY", 8);
+        ReflectionTestUtils.setField(admission, "NODE_QUEUE", 64);
+    }
+
+    @Test
+    public void rejectionGivesTheTokensBack() {
+        ReflectionTestUtils.setField(admission, "LIVE_BURST", 2d);
+        ReflectionTestUtils.setField(admission, "LIVE_QUEUE", 0);
+        var first = Sinks.<Live>one();
+
+        var running = admission.admit("live", "first", () -> first.asMono()).toFuture();
+        var refused = Assertions.assertThrows(GlobalException.class, () -> admission.admit("live", "second", () -> Mono.just(live(2))).block(TIMEOUT));
+        Assertions.assertEquals(429, refused.getStatus());
+        Assertions.assertEquals(1, meterRegistry.counter("live.admission.rejected", "reason", "live-queue").count());
+
+        first.tryEmitValue(live(1));
+        Assertions.assertEquals(1L, running.join().getVersion());
+        Assertions.assertEquals(3L, admission.admit("live", "third", () -> Mono.just(live(3))).block(TIMEOUT).getVersion());
+        Assertions.assertEquals(0, meterRegistry.counter("live.admission.rejected", "reason", "live-rate").count());
+    }
+
+    @Test
+    public void emptyBucketRejectsOnlyItsLive() {
+        ReflectionTestUtils.setField(admission, "LIVE_BURST", 1d);
+        admission.admit("live", "first", () -> Mono.just(live(1))).block(TIMEOUT);
+
+        var refused = Assertions.assertThrows(GlobalException.class, () -> admission.admit("live", "second", () -> Mono.just(live(2))).block(TIMEOUT));
+        Assertions.assertEquals(429, refused.getStatus());
+        Assertions.assertTrue(refused.getRetryAfter() >= 1);
+        Assertions.assertEquals(1, meterRegistry.counter("live.admission.rejected", "reason", "live-rate").count());
+        Assertions.assertEquals(1L, admission.admit("other", "first", () -> Mono.just(live(1))).block(TIMEOUT).getVersion());
+    }
+
+    @Test
+    public void laneAtItsLimitIsResumed() {
+        var first = Sinks.<Live>one();
+        var other = Sinks.<Live>one();
+        var started = new AtomicInteger();
+
+        var running = admission.admit("live", "first", counted(started, first::asMono)).toFuture();
+        var waiting = admission.admit("live", "second", counted(started, () -> Mono.just(live(2)))).toFuture();
+        var elsewhere = admission.admit("other", "first", counted(started, other::asMono)).toFuture();
+        Assertions.assertEquals(2, started.get());
+
+        other.tryEmitValue(live(10));
+        Assertions.assertEquals(10L, elsewhere.join().getVersion());
+        Assertions.assertFalse(waiting.isDone());
+
+        first.tryEmitValue(live(1));
+        Assertions.assertEquals(1L, running.join().getVersion());
+        Assertions.assertEquals(2L, waiting.orTimeout(TIMEOUT.toSeconds(), TimeUnit.SECONDS).join().getVersion());
+        Assertions.assertEquals(3, started.get());
+    }
+
+    @Test
+    public void lanesTakeTurns() {
+        ReflectionTestUtils.setField(admission, "LIVE_CONCURRENCY", 8);
+        ReflectionTestUtils.setField(admission, "NODE_CONCURRENCY", 1);
+        var first = Sinks.<Live>one();
+        var order = new StringBuilder();
+
+        admission.admit("busy", "0", () -> first.asMono()).subscribe();
+        for (int i = 1; i <= 3; i++) {
+            var signature = String.valueOf(i);
+            admission.admit("busy", signature, () -> Mono.fromSupplier(() -> live(order.append("busy").length()))).subscribe();
+        }
+        var quiet = admission.admit("quiet", "1", () -> Mono.fromSupplier(() -> live(order.append("quiet").length()))).toFuture();
+
+        first.tryEmitValue(live(0));
+        quiet.orTimeout(TIMEOUT.toSeconds(), TimeUnit.SECONDS).join();
+        Assertions.assertTrue(order.toString().startsWith("busyquiet"), order.toString());
+    }
+
+    @Test
+    public void equalCommandsShareOneRun() {
+        var first = Sinks.<Live>one();
+        var runs = new AtomicInteger();
+
+        var one = admission.admit("live", "same", counted(runs, first::asMono)).toFuture();
+        var two = admission.admit("live", "same", counted(runs, first::asMono)).toFuture();
+        Assertions.assertEquals(1, meterRegistry.counter("live.admission.coalesced").count());
+
+        first.tryEmitValue(live(1));
+        Assertions.assertSame(one.join(), two.join());
+        Assertions.assertEquals(1, runs.get());
+
+        admission.admit("live", "same", counted(runs, () -> Mono.just(live(2)))).block(TIMEOUT);
+        Assertions.assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void disabledRunsTheCommandDirectly() {
+        ReflectionTestUtils.setField(admission, "ENABLED", false);
+        ReflectionTestUtils.setField(admission, "LIVE_BURST", 0d);
+        Assertions.assertEquals(1L, admission.admit("live", "first", () -> Mono.just(live(1))).block(TIMEOUT).getVersion());
+    }
+
+    private static Supplier<Mono<Live>> counted(AtomicInteger runs, Supplier<Mono<Live>> command) {
+        return () -> {
+            runs.incrementAndGet();
+            return command.get();
+        };
+    }
+
+    private static Live live(long version) {
+        return Live.builder().key("live").version(version);
+    }
+}
@@ -0,0 +1,165 @@
+package com.pi.unitary;
+
+import com.pi.core_auth.core.utils.constants.Claim;
+import com.pi.core_live.core.domain.Live;
+import com.pi.core_live.core.dtos.CommandDto;
+import com.pi.core_live.core.enums.CommandType;
+import com.pi.core_live.usecases.CaseCreateLiveMono;
+import com.pi.core_live.usecases.CaseEndLiveMono;
+import com.pi.core_quiz.core.domain.Quiz;
+import com.pi.infrastructure.admission.live.LiveAdmission;
+import com.pi.infrastructure.cluster.live.LiveShards;
+import com.pi.infrastructure.mongo.live.LiveCommandPersistAdapter;
+import com.pi.infrastructure.mongo.live.LiveQueryPersistAdapter;
+import com.pi.infrastructure.redis.live.LiveCommandCacheAdapter;
+import com.pi.utils.mongo.documents.QuizDocument;
+import com.pi.utils.redis.outbox.LiveArchiveOutbox;
+import com.pi.utils.redis.registry.LiveRegistry;
+import com.pi.utils.redis.store.LiveStore;
+import com.pi.utils.services.Blocking;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the creation and the end of a live through the adapters on a thread named as the event loop of Lettuce,
+ * with the check of {@link Blocking#detect(String...)} enabled, as {@code BLOCKING_CHECK=true} does. The replies of
+ * Redis come on that thread and every call of the {@link MongoTemplate} checks the thread it runs on, so a
+ * {@code block()} or a Mongo call not run through {@link Blocking#call} on the path fails the test.
+ */
+public class LiveBlockingTest {
+    private static final String LOGIN = "TEACHERLOGIN";
+    private static final String CODE = "123456";
+    private static final String TOKEN = "Bearer token";
+    private static final String KEY_QUIZ = "Quiz-key";
+
+    private static Scheduler loop;
+
+    private MongoTemplate template;
+    private LiveStore liveStore;
+    private LiveRegistry liveRegistry;
+    private LiveArchiveOutbox liveArchiveOutbox;
+    private JwtDecoder jwtDecoder;
+    private LiveCommandCacheAdapter adapter;
+
+    @BeforeAll
+    public static void detect() {
+        Blocking.detect("lettuce-");
+        loop = Schedulers.fromExecutorService(Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "lettuce-nioEventLoop-4-1")));
+    }
+
+    @AfterAll
+    public static void reset() {
+        loop.dispose();
+        Schedulers.resetNonBlockingThreadPredicate();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        var quiz = new QuizDocument();
+        quiz.key(KEY_QUIZ).login(LOGIN).code(CODE).name("Quiz").categories(new HashSet<>()).quizes(new HashSet<>());
+        var bulk = mock(BulkOperations.class, Answers.RETURNS_DEEP_STUBS);
+        template = mock(MongoTemplate.class, invocation -> {
+            Blocking.check();
+            return switch (invocation.getMethod().getName()) {
+                case "findOne" -> quiz;
+                case "insert" -> invocation.getArgument(0);
+                case "bulkOps" -> bulk;
+                default -> null;
+            };
+        });
+
+        liveStore = mock(LiveStore.class);
+        liveRegistry = mock(LiveRegistry.class);
+        liveArchiveOutbox = mock(LiveArchiveOutbox.class);
+        jwtDecoder = mock(JwtDecoder.class);
+        when(jwtDecoder.decode(anyString())).thenReturn(Jwt.withTokenValue("token").header("alg", "none")
+                .claim(Claim.LOGIN, LOGIN).claim(Claim.CODE, CODE).build());
+
+        adapter = new LiveCommandCacheAdapter(liveStore, liveRegistry, new LiveQueryPersistAdapter(template), liveArchiveOutbox,
+                mock(LiveShards.class), mock(LiveAdmission.class), jwtDecoder);
+    }
+
+    @Test
+    public void blockOnTheEventLoopFails() {
+        var blocked = Mono.fromCallable(() -> Mono.delay(Duration.ofMillis(1)).block()).subscribeOn(loop);
+        Assertions.assertThrows(IllegalStateException.class, blocked::block);
+    }
+
+    @Test
+    public void unguardedMongoCallOnTheEventLoopFails() {
+        var unguarded = Mono.fromCallable(() -> template.findOne(new Query(), QuizDocument.class)).subscribeOn(loop);
+        Assertions.assertThrows(IllegalStateException.class, unguarded::block);
+    }
+
+    @Test
+    public void createLiveDoesNotBlockTheEventLoop() {
+        when(liveStore.create(any(Live.class))).thenReturn(onLoop(true));
+        when(liveRegistry.register(any(Live.class))).thenAnswer(invocation -> onLoop(invocation.<Live>getArgument(0).getKey()));
+        when(liveStore.delete(anyString())).thenReturn(onLoop(0L));
+
+        var useCase = new CaseCreateLiveMono();
+        useCase.setServices(adapter);
+        useCase.setDecoder(jwtDecoder);
+        useCase.setDto(CommandDto.builder().commandType(CommandType.COMMAND_POST_NEW_LIVE.name()).token(TOKEN)
+                .login(LOGIN).code(CODE).keyQuiz(KEY_QUIZ).build());
+
+        var live = Mono.defer(useCase::call).subscribeOn(loop).block(Duration.ofSeconds(5));
+
+        Assertions.assertNotNull(live);
+        Assertions.assertEquals(KEY_QUIZ, live.getQuiz().getKey());
+    }
+
+    @Test
+    public void endLiveDoesNotBlockTheEventLoop() {
+        var live = new Live(LOGIN, CODE, Quiz.builder().key(KEY_QUIZ).quizes(new HashSet<>()));
+        when(liveRegistry.resolve(anyString())).thenReturn(onLoop(live.getKey()));
+        when(liveArchiveOutbox.close(anyString())).thenReturn(onLoop(true));
+        when(liveStore.fetch(anyString())).thenReturn(onLoop(live));
+        when(liveArchiveOutbox.persistLive(any(Live.class))).thenAnswer(invocation -> onLoop(invocation.<Live>getArgument(0)));
+
+        var useCase = new CaseEndLiveMono();
+        useCase.setServices(adapter);
+        useCase.setDecoder(jwtDecoder);
+        useCase.setDto(CommandDto.builder().commandType(CommandType.COMMAND_PATCH_END_LIVE.name()).token(TOKEN)
+                .login(LOGIN).code(CODE).keyLive(live.getKey()).build());
+
+        var ended = Mono.defer(useCase::call)
+                .flatMap(result -> new LiveCommandPersistAdapter(template).persistLives(List.of(result)).thenReturn(result))
+                .subscribeOn(loop)
+                .block(Duration.ofSeconds(5));
+
+        Assertions.assertNotNull(ended);
+        Assertions.assertNotNull(ended.getCompletedOn());
+    }
+
+    /**
+     * A reply of Redis, delivered on the event loop as Lettuce does.
+     */
+    private static <T> Mono<T> onLoop(T value) {
+        return Mono.just(value).publishOn(loop);
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.ObjectUtils;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Repository
@@ -65,9 +66,7 @@ public class QuizDaoQueryAdapter implements IQuizQueryOut {
         if (ObjectUtils.isEmpty(quiz))
             throw GlobalException.builder().status(404).details(KEY_NOT_FOUND).alert(new CustomAlert(SystemCodeEnum.C003PI)).build();
 
-        return quiz.getQuizes().stream()
-                .filter(item -> item.getPosition().equals(position))
-                .findFirst()
+        return Optional.ofNullable(quiz.getQuizItem(position))
                 .orElseThrow(() -> GlobalException.builder().status(404).details(POSITION_NOT_FOUND).alert(new CustomAlert(SystemCodeEnum.C003PI)).build());
     }
 
@@ -2,17 +2,23 @@ package com.pi.infrasctructure.mongo;
 
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.pi.utils.mongo.documents.UserDocument;
+import com.pi.utils.mongo.indexes.MongoIndexes;
+import com.pi.utils.mongo.indexes.MongoIndexesEndpoint;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.util.Map;
+
 @Configuration
 public class MongoConfig {
 
     @Value("${spring.data.mongodb.uri}") String URI;
     @Value("${spring.data.mongodb.database}") String DB_NAME;
+    @Value("${spring.data.mongodb.indexes.drop-undeclared:false}") boolean DROP_UNDECLARED;
     @Value("${spring.data.mongodb.collections.users}") String COLLECTION_NAME;
 
     @Bean
@@ -26,9 +32,17 @@ public class MongoConfig {
     }
 
     @Bean
-    public ApplicationRunner initCollections(MongoTemplate mongoTemplate) {
-        return args -> {
-            if (!mongoTemplate.collectionExists(COLLECTION_NAME)) mongoTemplate.createCollection(COLLECTION_NAME);
-        };
+    public MongoIndexes mongoIndexes(MongoTemplate mongoTemplate) {
+        return new MongoIndexes(mongoTemplate, Map.of(COLLECTION_NAME, UserDocument.class), DROP_UNDECLARED);
+    }
+
+    @Bean
+    public MongoIndexesEndpoint mongoIndexesEndpoint(MongoIndexes mongoIndexes) {
+        return new MongoIndexesEndpoint(mongoIndexes);
+    }
+
+    @Bean
+    public ApplicationRunner initCollections(MongoIndexes mongoIndexes) {
+        return args -> mongoIndexes.reconcile();
     }
 }